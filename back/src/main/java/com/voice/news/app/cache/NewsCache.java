@@ -0,0 +1,323 @@
+package com.voice.news.app.cache;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.voice.news.app.common.CursorResult;
+import com.voice.news.app.config.RedisSubscriptions;
+import com.voice.news.app.dto.NewsListItem;
+import com.voice.news.app.entity.News;
+import com.voice.news.app.event.NewsChangedEvent;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * 新闻详情与最新列表首页的两级读缓存
+ *
+ * L1 为进程内 Caffeine（按条数上限与 TTL 淘汰），L2 为 Redis（JSON 字符串）。
+ * 新闻写入提交后按 NewsChangedEvent 精确失效本机 L1 与共享 L2，并通过 Redis pub/sub
+ * 通知其他节点清理各自的 L1。Redis 不可用时自动降级为只用 L1 + 数据库。
+ *
+ * 回填与失效的竞争：读请求未命中后查库期间若有写入提交并完成失效，读请求随后的回填会把旧值写回缓存。
+ * 本机用失效代数防护——查库前记下代数，回填前后代数有变化就放弃或撤销回填；
+ * 其他节点的回填本机无法感知，因此写入方在 news.cache.invalidate-delay-ms 后再删除一次 L2 并广播失效。
+ * L1 保存的是副本，读取时也返回副本，调用方修改返回的实体不会影响缓存。
+ *
+ * 命中率等指标通过 actuator 的 cache.* 与 news.cache.* 指标暴露。
+ */
+@Component
+public class NewsCache implements MessageListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(NewsCache.class);
+
+    public static final String INVALIDATE_CHANNEL = "news:cache:invalidate";
+
+    private static final String DETAIL_KEY_PREFIX = "news:detail:"; // news:detail:{id} -> News JSON
+    private static final String LATEST_KEY = "news:latest"; // hash: {limit} -> 首页 JSON
+    private static final String LATEST_MESSAGE = "latest";
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final TaskScheduler taskScheduler;
+    private final JavaType detailType;
+    private final JavaType latestType;
+    private final Cache<Long, News> detailCache;
+    private final Cache<Integer, CursorResult<NewsListItem>> latestCache;
+    private final Duration detailRemoteTtl;
+    private final Duration latestRemoteTtl;
+    private final Duration invalidateDelay;
+    // 失效代数：每次本机或远端失效时递增，回填前后比较以丢弃查库期间已被失效的旧值
+    private final AtomicLong detailGeneration = new AtomicLong();
+    private final AtomicLong latestGeneration = new AtomicLong();
+    private final Counter remoteHits;
+    private final Counter remoteMisses;
+    private final Counter remoteErrors;
+    private final Counter invalidations;
+
+    public NewsCache(StringRedisTemplate redisTemplate,
+                     ObjectMapper objectMapper,
+                     MeterRegistry meterRegistry,
+                     RedisSubscriptions redisSubscriptions,
+                     TaskScheduler taskScheduler,
+                     @Value("${news.cache.detail.max-size:10000}") long detailMaxSize,
+                     @Value("${news.cache.detail.local-ttl-seconds:300}") long detailLocalTtl,
+                     @Value("${news.cache.detail.remote-ttl-seconds:3600}") long detailRemoteTtl,
+                     @Value("${news.cache.latest.local-ttl-seconds:10}") long latestLocalTtl,
+                     @Value("${news.cache.latest.remote-ttl-seconds:60}") long latestRemoteTtl,
+                     @Value("${news.cache.invalidate-delay-ms:1000}") long invalidateDelayMs) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.taskScheduler = taskScheduler;
+        this.detailType = objectMapper.constructType(News.class);
+        this.latestType = objectMapper.constructType(new TypeReference<CursorResult<NewsListItem>>() {});
+        this.detailCache = Caffeine.newBuilder()
+                .maximumSize(detailMaxSize)
+                .expireAfterWrite(Duration.ofSeconds(detailLocalTtl))
+                .recordStats()
+                .build();
+        this.latestCache = Caffeine.newBuilder()
+                .maximumSize(32)
+                .expireAfterWrite(Duration.ofSeconds(latestLocalTtl))
+                .recordStats()
+                .build();
+        this.detailRemoteTtl = Duration.ofSeconds(detailRemoteTtl);
+        this.latestRemoteTtl = Duration.ofSeconds(latestRemoteTtl);
+        this.invalidateDelay = Duration.ofMillis(invalidateDelayMs);
+
+        CaffeineCacheMetrics.monitor(meterRegistry, detailCache, "news.detail");
+        CaffeineCacheMetrics.monitor(meterRegistry, latestCache, "news.latest");
+        this.remoteHits = meterRegistry.counter("news.cache.remote", "result", "hit");
+        this.remoteMisses = meterRegistry.counter("news.cache.remote", "result", "miss");
+        this.remoteErrors = meterRegistry.counter("news.cache.remote", "result", "error");
+        this.invalidations = meterRegistry.counter("news.cache.invalidations");
+
+        redisSubscriptions.subscribe(this, INVALIDATE_CHANNEL);
+    }
+
+    /**
+     * 读取新闻详情，依次查 L1、L2，都未命中时调用 loader 并回填
+     * @return 新闻副本，调用方可以修改
+     */
+    public Optional<News> getNews(Long id, Supplier<Optional<News>> loader) {
+        News local = detailCache.getIfPresent(id);
+        if (local != null) {
+            return Optional.of(copy(local));
+        }
+        long generation = detailGeneration.get();
+        News remote = readRemote(DETAIL_KEY_PREFIX + id, null, detailType);
+        if (remote != null) {
+            fillLocal(detailCache, id, copy(remote), detailGeneration, generation);
+            return Optional.of(remote);
+        }
+        Optional<News> loaded = loader.get();
+        loaded.ifPresent(news -> {
+            fillLocal(detailCache, id, copy(news), detailGeneration, generation);
+            fillRemote(DETAIL_KEY_PREFIX + id, null, news, detailRemoteTtl, detailGeneration, generation);
+        });
+        return loaded;
+    }
+
+    /**
+     * 只查本机 L1 中的新闻详情，未命中时返回 null，不访问 Redis 与数据库
+     * @return 新闻副本
+     */
+    public News peek(Long id) {
+        News local = detailCache.getIfPresent(id);
+        return local == null ? null : copy(local);
+    }
+
+    /**
+     * 读取最新新闻首页（不带游标的请求），依次查 L1、L2，都未命中时调用 loader 并回填
+     * @return 结果副本，调用方修改不影响 L1 中的缓存
+     */
+    public CursorResult<NewsListItem> getLatest(int limit, Supplier<CursorResult<NewsListItem>> loader) {
+        CursorResult<NewsListItem> local = latestCache.getIfPresent(limit);
+        if (local != null) {
+            return copy(local);
+        }
+        long generation = latestGeneration.get();
+        CursorResult<NewsListItem> remote = readRemote(LATEST_KEY, String.valueOf(limit), latestType);
+        if (remote != null) {
+            fillLocal(latestCache, limit, copy(remote), latestGeneration, generation);
+            return remote;
+        }
+        CursorResult<NewsListItem> loaded = loader.get();
+        fillLocal(latestCache, limit, copy(loaded), latestGeneration, generation);
+        fillRemote(LATEST_KEY, String.valueOf(limit), loaded, latestRemoteTtl, latestGeneration, generation);
+        return loaded;
+    }
+
+    /**
+     * 新闻写入提交后失效相关缓存：新增只影响最新列表，更新与删除同时影响详情
+     * 延迟一段时间后再失效一次，清除其他节点在失效前查库、失效后才回填到 L2 的旧值
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onNewsChanged(NewsChangedEvent event) {
+        invalidations.increment();
+        boolean detailChanged = event.getType() != NewsChangedEvent.Type.CREATED;
+        invalidate(event.getIds(), detailChanged);
+        if (!invalidateDelay.isZero()) {
+            taskScheduler.schedule(() -> invalidate(event.getIds(), detailChanged),
+                    Instant.now().plus(invalidateDelay));
+        }
+    }
+
+    private void invalidate(Collection<Long> ids, boolean detailChanged) {
+        evictLocal(ids, detailChanged);
+        try {
+            if (detailChanged) {
+                redisTemplate.delete(ids.stream().map(id -> DETAIL_KEY_PREFIX + id).collect(Collectors.toList()));
+            }
+            redisTemplate.delete(LATEST_KEY);
+            String message = detailChanged
+                    ? ids.stream().map(String::valueOf).collect(Collectors.joining(","))
+                    : LATEST_MESSAGE;
+            redisTemplate.convertAndSend(INVALIDATE_CHANNEL, message);
+        } catch (Exception e) {
+            remoteErrors.increment();
+            logger.warn("Failed to invalidate remote news cache for ids {}", ids, e);
+        }
+    }
+
+    /**
+     * 处理其他节点广播的失效消息："latest" 或逗号分隔的新闻ID（同时失效最新列表）
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        latestGeneration.incrementAndGet();
+        latestCache.invalidateAll();
+        if (LATEST_MESSAGE.equals(body)) {
+            return;
+        }
+        detailGeneration.incrementAndGet();
+        for (String id : body.split(",")) {
+            try {
+                detailCache.invalidate(Long.valueOf(id));
+            } catch (NumberFormatException e) {
+                logger.warn("Ignoring malformed news cache invalidation message: {}", body);
+                return;
+            }
+        }
+    }
+
+    private void evictLocal(Collection<Long> ids, boolean detailChanged) {
+        latestGeneration.incrementAndGet();
+        latestCache.invalidateAll();
+        if (detailChanged) {
+            detailGeneration.incrementAndGet();
+            detailCache.invalidateAll(ids);
+        }
+    }
+
+    /**
+     * 查库期间没有发生失效时才回填 L1；写入后再检查一次，期间发生失效则撤销本次回填
+     */
+    private static <K, V> void fillLocal(Cache<K, V> cache, K key, V value, AtomicLong generation, long expected) {
+        if (generation.get() != expected) {
+            return;
+        }
+        cache.put(key, value);
+        if (generation.get() != expected) {
+            cache.invalidate(key);
+        }
+    }
+
+    /**
+     * 与 fillLocal 相同的代数检查，撤销时删除整个键
+     */
+    private void fillRemote(String key, String field, Object value, Duration ttl, AtomicLong generation, long expected) {
+        if (generation.get() != expected) {
+            return;
+        }
+        writeRemote(key, field, value, ttl);
+        if (generation.get() != expected) {
+            try {
+                redisTemplate.delete(key);
+            } catch (Exception e) {
+                remoteErrors.increment();
+            }
+        }
+    }
+
+    private static CursorResult<NewsListItem> copy(CursorResult<NewsListItem> result) {
+        List<NewsListItem> items = result.getList().stream()
+                .map(item -> new NewsListItem(item.getId(), item.getTitle(), item.getSummary(), item.getTags(),
+                        item.getSource(), item.getUrl(), item.getPublishedAt()))
+                .collect(Collectors.toList());
+        return CursorResult.of(items, result.getNextCursor());
+    }
+
+    private static News copy(News news) {
+        News copy = new News();
+        copy.setId(news.getId());
+        copy.setTitle(news.getTitle());
+        copy.setSummary(news.getSummary());
+        copy.setContent(news.getContent());
+        copy.setTags(news.getTags());
+        copy.setSource(news.getSource());
+        copy.setUrl(news.getUrl());
+        copy.setUrlHash(news.getUrlHash());
+        copy.setPublishedAt(news.getPublishedAt());
+        copy.setCreatedAt(news.getCreatedAt());
+        copy.setUpdatedAt(news.getUpdatedAt());
+        return copy;
+    }
+
+    private <T> T readRemote(String key, String field, JavaType type) {
+        try {
+            String json = field == null
+                    ? redisTemplate.opsForValue().get(key)
+                    : (String) redisTemplate.<String, String>opsForHash().get(key, field);
+            if (json == null) {
+                remoteMisses.increment();
+                return null;
+            }
+            remoteHits.increment();
+            return objectMapper.readValue(json, type);
+        } catch (Exception e) {
+            remoteErrors.increment();
+            logger.debug("Remote news cache read failed for key {}", key, e);
+            return null;
+        }
+    }
+
+    private void writeRemote(String key, String field, Object value, Duration ttl) {
+        try {
+            String json = objectMapper.writeValueAsString(value);
+            if (field == null) {
+                redisTemplate.opsForValue().set(key, json, ttl);
+            } else {
+                redisTemplate.opsForHash().put(key, field, json);
+                redisTemplate.expire(key, ttl);
+            }
+        } catch (Exception e) {
+            remoteErrors.increment();
+            logger.debug("Remote news cache write failed for key {}", key, e);
+        }
+    }
+}
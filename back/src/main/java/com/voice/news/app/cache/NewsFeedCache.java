@@ -0,0 +1,298 @@
+package com.voice.news.app.cache;
+
+import java.nio.charset.StandardCharsets;
+import java.text.Normalizer;
+import java.time.Duration;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.function.IntFunction;
+import java.util.regex.Pattern;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.voice.news.app.dto.NewsListItem;
+import com.voice.news.app.entity.News;
+import com.voice.news.app.event.NewsChangedEvent;
+import com.voice.news.app.service.NewsTagIndexer;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * 按标签、按来源的"最新 N 条"预计算 feed，存放在 Redis 有序集合中
+ *
+ * news:feed:tag:{tag} / news:feed:source:{source} 为 ZSET，score 为发布时间毫秒数，
+ * member 为补零的新闻ID（同一时刻发布时按ID倒序），每个 feed 最多保留 news.feed.size 条；
+ * 列表项 JSON 单独存放在 news:feed:item:{id}。读取首页只需 ZREVRANGE + MGET，
+ * 耗时与页大小成正比，与新闻总量无关。
+ *
+ * feed 在首次读取时从数据库加载，新闻新增或更新提交后按 NewsChangedEvent 增量写入已存在的 feed；
+ * 读到已删除或已不属于该 feed 的条目时整条 feed 作废重建。feed 带 TTL，
+ * 即使漏掉某次增量更新，陈旧时间也不超过 news.feed.ttl-seconds。Redis 不可用时直接查库。
+ *
+ * 每个 feed 有一个版本号 news:feed:version:{feed key}，增量写入时递增。加载前先读版本号，
+ * 回填与版本号核对在同一个 Lua 脚本中完成：查库期间有新闻写入该 feed 时放弃回填，
+ * 避免用旧快照覆盖掉期间提交的条目。
+ *
+ * 标签、来源名按 utf8mb4_unicode_ci 的比较规则归一化后作为 key（见 normalize），
+ * 大小写或全半角不同但数据库视为相等的名称共用同一个 feed。
+ */
+@Component
+public class NewsFeedCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(NewsFeedCache.class);
+
+    private static final String TAG_KEY_PREFIX = "news:feed:tag:";
+    private static final String SOURCE_KEY_PREFIX = "news:feed:source:";
+    private static final String ITEM_KEY_PREFIX = "news:feed:item:";
+    private static final String VERSION_KEY_PREFIX = "news:feed:version:";
+
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+
+    /**
+     * 递增 feed 版本号，并且仅向已存在的 feed 追加并裁剪到上限，避免与首次加载交错时生成不完整的 feed
+     * KEYS: feed, 版本号；ARGV: score, member, feed 上限, 版本号 TTL
+     */
+    private static final byte[] ADD_IF_EXISTS_SCRIPT = (
+            "redis.call('INCR', KEYS[2]) "
+            + "redis.call('EXPIRE', KEYS[2], ARGV[4]) "
+            + "if redis.call('EXISTS', KEYS[1]) == 1 then "
+            + "redis.call('ZADD', KEYS[1], ARGV[1], ARGV[2]) "
+            + "redis.call('ZREMRANGEBYRANK', KEYS[1], 0, -tonumber(ARGV[3]) - 1) "
+            + "end "
+            + "return 0").getBytes(StandardCharsets.UTF_8);
+
+    /**
+     * 版本号与加载前读到的一致时重建 feed 并写入列表项，否则不回填
+     * KEYS: feed, 版本号；ARGV: 加载前的版本号（不存在为空串）, feed TTL, 列表项 TTL,
+     * 之后每条新闻依次为 score, member, 列表项 key, 列表项 JSON
+     */
+    private static final byte[] POPULATE_SCRIPT = (
+            "if (redis.call('GET', KEYS[2]) or '') ~= ARGV[1] then return 0 end "
+            + "redis.call('DEL', KEYS[1]) "
+            + "for i = 4, #ARGV, 4 do "
+            + "redis.call('ZADD', KEYS[1], ARGV[i], ARGV[i + 1]) "
+            + "redis.call('SET', ARGV[i + 2], ARGV[i + 3], 'EX', ARGV[3]) "
+            + "end "
+            + "redis.call('EXPIRE', KEYS[1], ARGV[2]) "
+            + "return 1").getBytes(StandardCharsets.UTF_8);
+
+    public enum Kind {
+        TAG, SOURCE
+    }
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final int feedSize;
+    private final Duration feedTtl;
+    private final Duration itemTtl;
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter stale;
+    private final Counter errors;
+
+    public NewsFeedCache(StringRedisTemplate redisTemplate,
+                         ObjectMapper objectMapper,
+                         MeterRegistry meterRegistry,
+                         @Value("${news.feed.size:200}") int feedSize,
+                         @Value("${news.feed.ttl-seconds:600}") long feedTtl) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.feedSize = feedSize;
+        this.feedTtl = Duration.ofSeconds(feedTtl);
+        // 列表项比 feed 存活更久，保证 feed 内的成员总能取到内容
+        this.itemTtl = this.feedTtl.multipliedBy(6);
+        this.hits = meterRegistry.counter("news.feed", "result", "hit");
+        this.misses = meterRegistry.counter("news.feed", "result", "miss");
+        this.stale = meterRegistry.counter("news.feed", "result", "stale");
+        this.errors = meterRegistry.counter("news.feed", "result", "error");
+    }
+
+    /**
+     * 读取 feed 的前 count 条
+     * @param kind feed 类型
+     * @param name 标签名或来源名
+     * @param count 需要的条数，超过 feed 上限时直接查库
+     * @param loader 从数据库按 (publishedAt, id) 倒序取前 n 条
+     * @return 按发布时间倒序的列表项
+     */
+    public List<NewsListItem> read(Kind kind, String name, int count, IntFunction<List<NewsListItem>> loader) {
+        if (count > feedSize) {
+            return loader.apply(count);
+        }
+        String key = key(kind, name);
+        String version;
+        try {
+            Set<String> members = redisTemplate.opsForZSet().reverseRange(key, 0, count - 1);
+            if (members != null && !members.isEmpty()) {
+                List<NewsListItem> items = readItems(kind, name, members);
+                if (items != null) {
+                    hits.increment();
+                    return items;
+                }
+                stale.increment();
+                redisTemplate.delete(key);
+            } else {
+                misses.increment();
+            }
+            version = redisTemplate.opsForValue().get(VERSION_KEY_PREFIX + key);
+        } catch (Exception e) {
+            errors.increment();
+            logger.debug("News feed read failed for key {}", key, e);
+            return loader.apply(count);
+        }
+
+        List<NewsListItem> loaded = loader.apply(feedSize);
+        populate(key, version, loaded);
+        return loaded.size() > count ? loaded.subList(0, count) : loaded;
+    }
+
+    /**
+     * 新闻新增或更新提交后写入相关 feed；删除只清理列表项，feed 在下次读到时自行作废
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onNewsChanged(NewsChangedEvent event) {
+        try {
+            if (event.getType() == NewsChangedEvent.Type.DELETED) {
+                redisTemplate.delete(event.getIds().stream().map(id -> ITEM_KEY_PREFIX + id).toList());
+                return;
+            }
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                for (News news : event.getNews()) {
+                    if (news.getPublishedAt() == null) {
+                        continue;
+                    }
+                    NewsListItem item = toItem(news);
+                    writeItem(connection, item);
+                    String member = member(item.getId());
+                    String score = String.valueOf(score(item));
+                    for (String tag : NewsTagIndexer.parseTags(news.getTags())) {
+                        addIfExists(connection, key(Kind.TAG, tag), score, member);
+                    }
+                    if (news.getSource() != null) {
+                        addIfExists(connection, key(Kind.SOURCE, news.getSource()), score, member);
+                    }
+                }
+                return null;
+            });
+        } catch (Exception e) {
+            errors.increment();
+            logger.warn("Failed to update news feeds for ids {}", event.getIds(), e);
+        }
+    }
+
+    /**
+     * 取回成员对应的列表项；有成员已删除或已不属于该 feed（标签、来源被修改）时返回 null
+     */
+    private List<NewsListItem> readItems(Kind kind, String name, Set<String> members) throws Exception {
+        List<String> keys = members.stream().map(m -> ITEM_KEY_PREFIX + Long.parseLong(m)).toList();
+        List<String> values = redisTemplate.opsForValue().multiGet(keys);
+        if (values == null) {
+            return null;
+        }
+        List<NewsListItem> items = new ArrayList<>(values.size());
+        for (String json : values) {
+            if (json == null) {
+                return null;
+            }
+            NewsListItem item = objectMapper.readValue(json, NewsListItem.class);
+            String normalized = normalize(name);
+            boolean belongs = kind == Kind.TAG
+                    ? NewsTagIndexer.parseTags(item.getTags()).stream().anyMatch(tag -> normalize(tag).equals(normalized))
+                    : item.getSource() != null && normalize(item.getSource()).equals(normalized);
+            if (!belongs) {
+                return null;
+            }
+            items.add(item);
+        }
+        return items;
+    }
+
+    private void populate(String key, String version, List<NewsListItem> items) {
+        try {
+            List<byte[]> args = new ArrayList<>(4 + items.size() * 4);
+            args.add((VERSION_KEY_PREFIX + key).getBytes(StandardCharsets.UTF_8));
+            args.add((version == null ? "" : version).getBytes(StandardCharsets.UTF_8));
+            args.add(String.valueOf(feedTtl.getSeconds()).getBytes(StandardCharsets.UTF_8));
+            args.add(String.valueOf(itemTtl.getSeconds()).getBytes(StandardCharsets.UTF_8));
+            for (NewsListItem item : items) {
+                args.add(String.valueOf(score(item)).getBytes(StandardCharsets.UTF_8));
+                args.add(member(item.getId()).getBytes(StandardCharsets.UTF_8));
+                args.add((ITEM_KEY_PREFIX + item.getId()).getBytes(StandardCharsets.UTF_8));
+                args.add(objectMapper.writeValueAsBytes(item));
+            }
+            byte[][] keysAndArgs = new byte[args.size() + 1][];
+            keysAndArgs[0] = key.getBytes(StandardCharsets.UTF_8);
+            for (int i = 0; i < args.size(); i++) {
+                keysAndArgs[i + 1] = args.get(i);
+            }
+            Long populated = redisTemplate.execute((RedisCallback<Long>) connection -> connection.scriptingCommands()
+                    .eval(POPULATE_SCRIPT, ReturnType.INTEGER, 2, keysAndArgs));
+            if (populated != null && populated == 0) {
+                logger.debug("News feed {} changed while loading, skipped populate", key);
+            }
+        } catch (Exception e) {
+            errors.increment();
+            logger.debug("News feed populate failed for key {}", key, e);
+        }
+    }
+
+    private void writeItem(RedisConnection connection, NewsListItem item) {
+        try {
+            connection.stringCommands().setEx((ITEM_KEY_PREFIX + item.getId()).getBytes(StandardCharsets.UTF_8),
+                    itemTtl.getSeconds(), objectMapper.writeValueAsBytes(item));
+        } catch (Exception e) {
+            throw new IllegalStateException("Failed to serialize news feed item " + item.getId(), e);
+        }
+    }
+
+    private void addIfExists(RedisConnection connection, String key, String score, String member) {
+        connection.scriptingCommands().eval(ADD_IF_EXISTS_SCRIPT, ReturnType.INTEGER, 2,
+                key.getBytes(StandardCharsets.UTF_8),
+                (VERSION_KEY_PREFIX + key).getBytes(StandardCharsets.UTF_8),
+                score.getBytes(StandardCharsets.UTF_8),
+                member.getBytes(StandardCharsets.UTF_8),
+                String.valueOf(feedSize).getBytes(StandardCharsets.UTF_8),
+                String.valueOf(feedTtl.getSeconds()).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String key(Kind kind, String name) {
+        return (kind == Kind.TAG ? TAG_KEY_PREFIX : SOURCE_KEY_PREFIX) + normalize(name);
+    }
+
+    /**
+     * 近似 utf8mb4_unicode_ci 的相等判断：兼容分解（全角转半角）、去掉附加符号、大小写折叠、忽略尾部空格
+     */
+    private static String normalize(String name) {
+        String decomposed = Normalizer.normalize(name, Normalizer.Form.NFKD);
+        return COMBINING_MARKS.matcher(decomposed).replaceAll("").toLowerCase(Locale.ROOT).stripTrailing();
+    }
+
+    /**
+     * 补零到固定宽度，同分数成员按字典序倒排即按ID倒序
+     */
+    private static String member(Long id) {
+        return String.format("%019d", id);
+    }
+
+    private static double score(NewsListItem item) {
+        return item.getPublishedAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private static NewsListItem toItem(News news) {
+        return new NewsListItem(news.getId(), news.getTitle(), news.getSummary(), news.getTags(),
+                news.getSource(), news.getUrl(), news.getPublishedAt());
+    }
+}
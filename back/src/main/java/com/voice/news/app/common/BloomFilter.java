@@ -0,0 +1,58 @@
+package com.voice.news.app.common;
+
+import java.util.HexFormat;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 线程安全的布隆过滤器，元素为十六进制哈希串（如 url_hash）
+ *
+ * 元素本身已是均匀分布的哈希值，直接取其前 16 字节作为两个 64 位基哈希，
+ * 用双重哈希 h1 + i * h2 生成 k 个位置。mightContain 返回 false 表示一定不存在。
+ */
+public class BloomFilter {
+
+    private final AtomicLongArray bits;
+    private final long bitSize;
+    private final int hashCount;
+
+    /**
+     * @param expectedInsertions 预计元素个数
+     * @param falsePositiveRate 期望误判率，例如 0.01
+     */
+    public BloomFilter(long expectedInsertions, double falsePositiveRate) {
+        long n = Math.max(1, expectedInsertions);
+        long m = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        this.bitSize = Math.max(64, (m + 63) / 64 * 64);
+        this.bits = new AtomicLongArray(Math.toIntExact(bitSize / 64));
+        this.hashCount = Math.max(1, (int) Math.round((double) bitSize / n * Math.log(2)));
+    }
+
+    public void put(String hexHash) {
+        long h1 = HexFormat.fromHexDigitsToLong(hexHash, 0, 16);
+        long h2 = HexFormat.fromHexDigitsToLong(hexHash, 16, 32);
+        for (int i = 0; i < hashCount; i++) {
+            long index = Math.floorMod(h1 + i * h2, bitSize);
+            int word = (int) (index >>> 6);
+            long mask = 1L << index;
+            long current;
+            do {
+                current = bits.get(word);
+                if ((current & mask) != 0) {
+                    break;
+                }
+            } while (!bits.compareAndSet(word, current, current | mask));
+        }
+    }
+
+    public boolean mightContain(String hexHash) {
+        long h1 = HexFormat.fromHexDigitsToLong(hexHash, 0, 16);
+        long h2 = HexFormat.fromHexDigitsToLong(hexHash, 16, 32);
+        for (int i = 0; i < hashCount; i++) {
+            long index = Math.floorMod(h1 + i * h2, bitSize);
+            if ((bits.get((int) (index >>> 6)) & (1L << index)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,24 @@
+package com.voice.news.app.common;
+
+import java.util.List;
+
+import lombok.Data;
+
+/**
+ * 游标分页结果，nextCursor 为空表示没有下一页
+ */
+@Data
+public class CursorResult<T> {
+
+    private List<T> list;
+    private String nextCursor;
+    private boolean hasMore;
+
+    public static <T> CursorResult<T> of(List<T> list, String nextCursor) {
+        CursorResult<T> r = new CursorResult<>();
+        r.setList(list);
+        r.setNextCursor(nextCursor);
+        r.setHasMore(nextCursor != null);
+        return r;
+    }
+}
@@ -0,0 +1,64 @@
+package com.voice.news.app.common;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.HexFormat;
+
+import com.voice.news.app.dto.NewsListItem;
+import com.voice.news.app.entity.News;
+
+/**
+ * 新闻接口 HTTP 条件请求所用的 ETag 与 Last-Modified
+ *
+ * 详情的强 ETag 由新闻ID与毫秒精度的最后修改时间组成，判断是否变化只需读取时间列；
+ * 列表的强 ETag 是本页各条目与下一页游标的摘要，列表项本身来自缓存，计算摘要不访问数据库。
+ */
+public final class HttpCaching {
+
+    private HttpCaching() {
+    }
+
+    /**
+     * 新闻的最后修改时间，旧数据没有 updatedAt 时以抓取时间代替
+     */
+    public static LocalDateTime lastModified(News news) {
+        return news.getUpdatedAt() != null ? news.getUpdatedAt() : news.getCreatedAt();
+    }
+
+    public static long epochMillis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    public static String newsEtag(Long id, LocalDateTime lastModified) {
+        return "\"" + id + "-" + epochMillis(lastModified) + "\"";
+    }
+
+    public static String listEtag(CursorResult<NewsListItem> page) {
+        MessageDigest digest = sha256();
+        for (NewsListItem item : page.getList()) {
+            update(digest, item.getId(), item.getTitle(), item.getSummary(), item.getTags(),
+                    item.getSource(), item.getUrl(), item.getPublishedAt());
+        }
+        update(digest, page.getNextCursor());
+        // 取前 128 位即可避免碰撞，缩短响应头
+        return "\"" + HexFormat.of().formatHex(digest.digest(), 0, 16) + "\"";
+    }
+
+    private static void update(MessageDigest digest, Object... values) {
+        for (Object value : values) {
+            digest.update(String.valueOf(value).getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.voice.news.app.common;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import org.springframework.util.StringUtils;
+
+import com.voice.news.app.exception.ErrorCode;
+import com.voice.news.app.exception.ServiceException;
+
+/**
+ * (publishedAt, id) 键集游标，对外以 Base64URL 编码的不透明字符串传递
+ */
+public final class KeysetCursor {
+
+    /**
+     * 首页使用的哨兵游标，比任何真实数据都"新"，这样首页与后续页可以共用同一条查询
+     */
+    public static final KeysetCursor FIRST = new KeysetCursor(LocalDateTime.of(9999, 12, 31, 23, 59, 59), Long.MAX_VALUE);
+
+    private final LocalDateTime publishedAt;
+    private final Long id;
+
+    public KeysetCursor(LocalDateTime publishedAt, Long id) {
+        this.publishedAt = publishedAt;
+        this.id = id;
+    }
+
+    public LocalDateTime getPublishedAt() {
+        return publishedAt;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String encode() {
+        String raw = publishedAt + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 解析客户端传入的游标，为空时返回首页游标
+     */
+    public static KeysetCursor decode(String cursor) {
+        if (!StringUtils.hasText(cursor)) {
+            return FIRST;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int sep = raw.indexOf('|');
+            LocalDateTime publishedAt = LocalDateTime.parse(raw.substring(0, sep));
+            long id = Long.parseLong(raw.substring(sep + 1));
+            return new KeysetCursor(publishedAt, id);
+        } catch (RuntimeException e) {
+            throw new ServiceException(ErrorCode.PARAM_ERROR.code, "分页游标无效");
+        }
+    }
+}
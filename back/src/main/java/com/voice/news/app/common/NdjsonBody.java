@@ -0,0 +1,60 @@
+package com.voice.news.app.common;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+/**
+ * NDJSON 流式响应：数据源逐行回调，每行序列化后立即写入固定大小的缓冲区
+ *
+ * 响应体在 MVC 异步线程中写出，不经过 ResponseWrapAdvice 的 R 包装，也不会在内存中拼出完整结果。
+ * 客户端中途断开时写入抛出的 IOException 会终止数据源的遍历。
+ */
+public final class NdjsonBody {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private NdjsonBody() {
+    }
+
+    /**
+     * @param objectMapper 序列化使用的 ObjectMapper
+     * @param type 行对象类型
+     * @param filename 下载文件名
+     * @param source 数据源，把每一行交给传入的回调
+     */
+    public static <T> ResponseEntity<StreamingResponseBody> of(ObjectMapper objectMapper, Class<T> type, String filename,
+                                                              Consumer<Consumer<T>> source) {
+        ObjectWriter writer = objectMapper.writerFor(type);
+        StreamingResponseBody body = out -> {
+            OutputStream buffered = new BufferedOutputStream(out, BUFFER_SIZE);
+            try {
+                source.accept(row -> {
+                    try {
+                        buffered.write(writer.writeValueAsBytes(row));
+                        buffered.write('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            buffered.flush();
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=" + filename)
+                .body(body);
+    }
+}
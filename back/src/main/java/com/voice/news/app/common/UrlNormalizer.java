@@ -0,0 +1,90 @@
+package com.voice.news.app.common;
+
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+import org.springframework.util.StringUtils;
+
+/**
+ * 新闻链接归一化与哈希，用于按原文链接去重
+ *
+ * 同一篇文章常以不同形式出现（大小写不同的域名、锚点、utm 跟踪参数、参数顺序不同），
+ * 归一化后再取 SHA-256，得到定长的 url_hash 作为唯一索引键。
+ */
+public final class UrlNormalizer {
+
+    private UrlNormalizer() {
+    }
+
+    /**
+     * 归一化链接：scheme/host 转小写，去掉默认端口、锚点、跟踪参数与路径末尾的 "/"，查询参数按字典序排列
+     * 无法解析的链接只做首尾空白裁剪
+     */
+    public static String normalize(String url) {
+        String trimmed = url.trim();
+        try {
+            URI uri = new URI(trimmed);
+            if (uri.getScheme() == null || uri.getHost() == null) {
+                return trimmed;
+            }
+            String scheme = uri.getScheme().toLowerCase(Locale.ROOT);
+            String host = uri.getHost().toLowerCase(Locale.ROOT);
+            int port = uri.getPort();
+            if (("http".equals(scheme) && port == 80) || ("https".equals(scheme) && port == 443)) {
+                port = -1;
+            }
+            String path = uri.getRawPath();
+            if (path == null || path.isEmpty()) {
+                path = "/";
+            } else if (path.length() > 1 && path.endsWith("/")) {
+                path = path.substring(0, path.length() - 1);
+            }
+            String query = uri.getRawQuery();
+            if (query != null) {
+                query = Arrays.stream(query.split("&"))
+                        .filter(p -> !p.isEmpty() && !isTrackingParam(p))
+                        .sorted()
+                        .collect(Collectors.joining("&"));
+            }
+            StringBuilder sb = new StringBuilder(scheme).append("://").append(host);
+            if (port != -1) {
+                sb.append(':').append(port);
+            }
+            sb.append(path);
+            if (StringUtils.hasLength(query)) {
+                sb.append('?').append(query);
+            }
+            return sb.toString();
+        } catch (URISyntaxException e) {
+            return trimmed;
+        }
+    }
+
+    /**
+     * 计算归一化链接的 SHA-256（64位十六进制），链接为空时返回 null
+     */
+    public static String hash(String url) {
+        if (!StringUtils.hasText(url)) {
+            return null;
+        }
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(normalize(url).getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static boolean isTrackingParam(String param) {
+        String name = param.contains("=") ? param.substring(0, param.indexOf('=')) : param;
+        name = name.toLowerCase(Locale.ROOT);
+        return name.startsWith("utm_") || name.equals("spm") || name.equals("from") || name.equals("fbclid") || name.equals("gclid");
+    }
+}
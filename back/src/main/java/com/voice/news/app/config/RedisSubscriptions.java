@@ -0,0 +1,84 @@
+package com.voice.news.app.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+/**
+ * Redis pub/sub 订阅管理，用于多节点间广播缓存失效等消息
+ *
+ * 监听容器不注册为 Spring Bean 生命周期的一部分：Redis 不可用时不阻断应用启动，
+ * 而是在启动完成后由后台线程等待 Redis 可用再开始订阅。
+ */
+@Component
+public class RedisSubscriptions implements DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(RedisSubscriptions.class);
+
+    private final RedisConnectionFactory connectionFactory;
+    private final RedisMessageListenerContainer container;
+    private final long retryIntervalMs;
+
+    public RedisSubscriptions(RedisConnectionFactory connectionFactory,
+                              @Value("${app.redis.subscribe-retry-ms:5000}") long retryIntervalMs) {
+        this.connectionFactory = connectionFactory;
+        this.container = new RedisMessageListenerContainer();
+        this.container.setConnectionFactory(connectionFactory);
+        this.container.afterPropertiesSet();
+        this.retryIntervalMs = retryIntervalMs;
+    }
+
+    /**
+     * 订阅频道，可在启动前或运行中调用
+     */
+    public void subscribe(MessageListener listener, String channel) {
+        container.addMessageListener(listener, new ChannelTopic(channel));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        Thread worker = new Thread(() -> {
+            // 容器首次启动失败后无法再次 start，因此先探测 Redis 可用再启动
+            while (!isRedisReachable()) {
+                try {
+                    Thread.sleep(retryIntervalMs);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+            try {
+                container.start();
+                logger.info("Redis pub/sub listener started");
+            } catch (Exception e) {
+                logger.error("Redis pub/sub listener failed to start", e);
+            }
+        }, "redis-subscriptions");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    private boolean isRedisReachable() {
+        try (RedisConnection connection = connectionFactory.getConnection()) {
+            connection.ping();
+            return true;
+        } catch (Exception e) {
+            logger.warn("Redis unavailable, pub/sub subscription retry in {} ms: {}", retryIntervalMs, e.getMessage());
+            return false;
+        }
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        container.destroy();
+    }
+}
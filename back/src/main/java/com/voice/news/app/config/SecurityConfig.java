@@ -2,15 +2,16 @@ package com.voice.news.app.config;
 
 import java.util.Arrays;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
@@ -18,9 +19,14 @@ import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
+import com.voice.news.app.security.AccessTokenDenylist;
+import com.voice.news.app.security.ConfigurableBCryptPasswordEncoder;
 import com.voice.news.app.security.CustomUserDetailsService;
 import com.voice.news.app.security.JwtAuthenticationFilter;
+import com.voice.news.app.security.JwtProperties;
 import com.voice.news.app.security.JwtUtil;
+import com.voice.news.app.security.UserRoles;
+import com.voice.news.app.security.UserStateCache;
 
 @Configuration
 @EnableMethodSecurity
@@ -28,21 +34,34 @@ public class SecurityConfig {
 
     private final JwtUtil jwtUtil;
     private final CustomUserDetailsService userDetailsService;
+    private final JwtProperties jwtProperties;
+    private final UserStateCache userStateCache;
+    private final AccessTokenDenylist accessTokenDenylist;
 
-    public SecurityConfig(JwtUtil jwtUtil, CustomUserDetailsService userDetailsService) {
+    public SecurityConfig(JwtUtil jwtUtil, CustomUserDetailsService userDetailsService,
+                          JwtProperties jwtProperties, UserStateCache userStateCache,
+                          AccessTokenDenylist accessTokenDenylist) {
         this.jwtUtil = jwtUtil;
         this.userDetailsService = userDetailsService;
+        this.jwtProperties = jwtProperties;
+        this.userStateCache = userStateCache;
+        this.accessTokenDenylist = accessTokenDenylist;
     }
 
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
-        JwtAuthenticationFilter jwtFilter = new JwtAuthenticationFilter(jwtUtil, userDetailsService);
+        JwtAuthenticationFilter jwtFilter = new JwtAuthenticationFilter(jwtUtil, userDetailsService, jwtProperties, userStateCache, accessTokenDenylist);
 
         http
             .csrf(csrf -> csrf.disable())
                 .cors(cors -> {})
             .sessionManagement(sess -> sess.sessionCreationPolicy(SessionCreationPolicy.STATELESS)) // 无状态
             .authorizeHttpRequests(auth -> auth
+                    // 管理接口，规则按顺序匹配，需放在下面的 permitAll 之前
+                    .requestMatchers("/api/users/import", "/api/users/export").hasRole(UserRoles.ADMIN)
+                    .requestMatchers(HttpMethod.GET, "/api/users").hasRole(UserRoles.ADMIN)
+                    .requestMatchers("/actuator/health/**").authenticated()
+                    .requestMatchers("/actuator/**").hasRole(UserRoles.ADMIN)
                     .requestMatchers(
                             "/api/auth/**",
                             "/api/users/**"
@@ -57,8 +76,8 @@ public class SecurityConfig {
     }
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${security.password.bcrypt-strength:10}") int strength) {
+        return new ConfigurableBCryptPasswordEncoder(strength);
     }
 
     // 如果需要显式 AuthenticationManager（例如在 service 中做密码校验）
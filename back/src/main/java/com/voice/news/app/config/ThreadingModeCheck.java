@@ -0,0 +1,43 @@
+package com.voice.news.app.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * 启动时报告请求处理所用的线程模型
+ *
+ * spring.threads.virtual.enabled=true 且运行在 Java 21+ 时，Spring Boot 让 Tomcat 请求处理、
+ * MVC 异步执行器（NDJSON 导出等）与 @Scheduled 调度全部运行在虚拟线程上，阻塞在 MySQL/Redis 上的请求
+ * 不再占住固定大小的 Tomcat 线程池。BCrypt 仍在 PasswordHashingExecutor 的有界平台线程池中执行，
+ * 以限制 CPU 密集任务的并发。Java 21 以下该配置不生效，这里给出告警，避免误以为已经启用。
+ */
+@Component
+public class ThreadingModeCheck {
+
+    private static final Logger logger = LoggerFactory.getLogger(ThreadingModeCheck.class);
+
+    private static final int VIRTUAL_THREADS_MIN_JAVA = 21;
+
+    private final boolean virtualThreadsRequested;
+
+    public ThreadingModeCheck(@Value("${spring.threads.virtual.enabled:false}") boolean virtualThreadsRequested) {
+        this.virtualThreadsRequested = virtualThreadsRequested;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void report() {
+        int javaVersion = Runtime.version().feature();
+        if (!virtualThreadsRequested) {
+            logger.info("Request handling runs on the platform Tomcat thread pool (Java {})", javaVersion);
+        } else if (javaVersion < VIRTUAL_THREADS_MIN_JAVA) {
+            logger.warn("spring.threads.virtual.enabled is set but Java {} has no virtual threads, "
+                    + "falling back to the platform Tomcat thread pool", javaVersion);
+        } else {
+            logger.info("Request handling, async MVC and scheduling run on virtual threads (Java {})", javaVersion);
+        }
+    }
+}
@@ -1,14 +1,22 @@
 package com.voice.news.app.controller;
 
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 
+import org.springframework.beans.factory.annotation.Qualifier;
+
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.DisabledException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.Authentication;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -17,6 +25,7 @@ import com.voice.news.app.exception.ErrorCode;
 import com.voice.news.app.model.User;
 import com.voice.news.app.repository.UserRepository;
 import com.voice.news.app.security.AuthTokens;
+import com.voice.news.app.security.PasswordHashingExecutor;
 import com.voice.news.app.security.TokenService;
 
 import jakarta.validation.Valid;
@@ -31,113 +40,129 @@ public class AuthController {
     private final TokenService tokenService;
     private final PasswordEncoder passwordEncoder;
     private final UserRepository userRepository;
+    private final PasswordHashingExecutor passwordHashingExecutor;
+    // 哈希完成后的数据库、Redis 操作交给 MVC 异步执行器，不占用有界的哈希线程
+    private final Executor taskExecutor;
 
     public AuthController(AuthenticationManager authenticationManager,
                           TokenService tokenService,
                           PasswordEncoder passwordEncoder,
-                          UserRepository userRepository) {
+                          UserRepository userRepository,
+                          PasswordHashingExecutor passwordHashingExecutor,
+                          @Qualifier("applicationTaskExecutor") Executor taskExecutor) {
       this.authenticationManager = authenticationManager;
       this.tokenService = tokenService;
       this.passwordEncoder = passwordEncoder;
       this.userRepository = userRepository;
+      this.passwordHashingExecutor = passwordHashingExecutor;
+      this.taskExecutor = taskExecutor;
     }
 
     // 登录：username + password -> 返回 access + refresh
+    // BCrypt 校验在密码哈希线程池中异步执行，不占用请求线程；排队已满时直接返回 429
+    // 令牌签发（查库 + Redis）在 MVC 异步执行器上继续，哈希线程只做哈希
     @PostMapping("/login")
-    public R<Map<String, String>> login(@RequestBody @Valid LoginRequest req) {
-      try {
-        // 1. 进行身份验证
-        Authentication auth = authenticationManager.authenticate(
-          new UsernamePasswordAuthenticationToken(req.getUsername(), req.getPassword())
-        );
-
-        // 2. 生成令牌
-        AuthTokens tokens = tokenService.createTokens(req.getUsername());
-        
-        // 3. 返回成功响应
-        return R.ok(Map.of(
-            "accessToken", tokens.getAccessToken(),
-            "refreshToken", tokens.getRefreshToken()
-        ));
-      } catch (BadCredentialsException ex) {
-        // 处理认证失败的情况
-        return R.error(ErrorCode.UNAUTHORIZED.code, "用户名或密码错误");
-      } catch (Exception ex) {
-        // 处理其他所有异常，包括Redis连接问题、令牌生成问题等
-        // 记录异常日志
-        ex.printStackTrace();
-        // 返回友好的错误信息
-        return R.error(ErrorCode.SERVER_ERROR.code, "服务器内部错误，请稍后重试");
-      }
+    public CompletableFuture<R<Map<String, String>>> login(@RequestBody @Valid LoginRequest req) {
+      // 1. 进行身份验证
+      return passwordHashingExecutor.submit("login", () -> authenticationManager.authenticate(
+              new UsernamePasswordAuthenticationToken(req.getUsername(), req.getPassword())))
+          .thenApplyAsync(auth -> {
+            // 2. 生成令牌
+            AuthTokens tokens = tokenService.createTokens(req.getUsername());
+
+            // 3. 返回成功响应
+            return R.<Map<String, String>>ok(Map.of(
+                "accessToken", tokens.getAccessToken(),
+                "refreshToken", tokens.getRefreshToken()
+            ));
+          }, taskExecutor)
+          .exceptionally(failure -> {
+            Throwable ex = failure instanceof CompletionException && failure.getCause() != null ? failure.getCause() : failure;
+            if (ex instanceof BadCredentialsException) {
+              // 处理认证失败的情况
+              return R.error(ErrorCode.UNAUTHORIZED.code, "用户名或密码错误");
+            }
+            if (ex instanceof DisabledException) {
+              return R.error(ErrorCode.UNAUTHORIZED.code, "账号已被禁用");
+            }
+            // 处理其他所有异常，包括Redis连接问题、令牌生成问题等
+            // 记录异常日志
+            ex.printStackTrace();
+            // 返回友好的错误信息
+            return R.error(ErrorCode.SERVER_ERROR.code, "服务器内部错误，请稍后重试");
+          });
     }
 
-    // 刷新 access token：传 refreshToken -> 返回新 accessToken (并可返回新 refreshToken，下面做同样逻辑)
+    // 刷新 access token：传 refreshToken -> 返回新 accessToken 与新 refreshToken
+    // 旧 refresh 的校验与消费在一次原子操作中完成，同一个 refreshToken 只能成功刷新一次
     @PostMapping("/refresh")
     public R<Map<String, String>> refresh(@RequestBody Map<String, String> body) {
         String refreshToken = body.get("refreshToken");
-        if (refreshToken == null || !tokenService.validateRefreshToken(refreshToken)) {
+        AuthTokens tokens = refreshToken == null ? null : tokenService.rotateTokens(refreshToken);
+        if (tokens == null) {
             return R.error(ErrorCode.UNAUTHORIZED.code, "Refresh token 无效或已过期");
         }
-        String username = tokenService.getUsernameFromRefreshToken(refreshToken);
-
-        // 先撤销旧 refresh
-        tokenService.revokeRefreshToken(refreshToken);
-        // 生成新的一组 tokens
-        AuthTokens tokens = tokenService.createTokens(username);
         return R.ok(Map.of(
                 "accessToken", tokens.getAccessToken(),
                 "refreshToken", tokens.getRefreshToken()
         ));
     }
 
-    // 登出：撤销传入的 refresh token（前端应把 access token 删掉）
+    // 登出：撤销传入的 refresh token，并吊销请求头中的 access token（剩余有效期内不可再用）
     @PostMapping("/logout")
-    public R<Map<String, String>> logout(@RequestBody Map<String, String> body) {
+    public R<Map<String, String>> logout(@RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization,
+                                         @RequestBody Map<String, String> body) {
         String refreshToken = body.get("refreshToken");
         if (refreshToken != null) {
             tokenService.revokeRefreshToken(refreshToken);
         }
+        if (authorization != null && authorization.startsWith("Bearer ")) {
+            tokenService.revokeAccessToken(authorization.substring(7));
+        }
         // 如果想登出当前用户全部设备，可调用 tokenService.revokeAllForUser(username)
         return R.ok(Map.of("status", "ok"));
     }
 
     // 注册示例（简化）
+    // 密码加密在哈希线程池中执行，保存用户在 MVC 异步执行器上继续，请求线程不等待
     @PostMapping("/register")
-    public R<Map<String, String>> register(@RequestBody @Valid RegisterRequest req) {
-        // 检查用户名唯一性
-        if (userRepository.findByUsername(req.getUsername()).isPresent()) {
-          return R.error(ErrorCode.PARAM_ERROR.code, "用户名已存在");
-        }
-        // 检查邮箱唯一性
-        if (userRepository.findByEmail(req.getEmail()).isPresent()) {
-          return R.error(ErrorCode.PARAM_ERROR.code, "邮箱已存在");
-        }
-        // 检查手机号唯一性
-        if (userRepository.findByPhone(req.getPhone()).isPresent()) {
-          return R.error(ErrorCode.PARAM_ERROR.code, "手机号已存在");
-        }
-        
+    public CompletableFuture<R<Map<String, String>>> register(@RequestBody @Valid RegisterRequest req) {
         // 密码复杂度验证
         if (req.getPassword().length() < 6) {
-            return R.error(ErrorCode.PARAM_ERROR.code, "密码长度不能少于6位");
+            return CompletableFuture.completedFuture(R.error(ErrorCode.PARAM_ERROR.code, "密码长度不能少于6位"));
+        }
+
+        // 一次查询检查用户名、邮箱、手机号唯一性
+        String conflict = userRepository.findConflictMessage(req.getUsername(), req.getEmail(), req.getPhone());
+        if (conflict != null) {
+          return CompletableFuture.completedFuture(R.error(ErrorCode.PARAM_ERROR.code, conflict));
         }
         
-        // 创建用户对象并设置属性
-        User u = new User();
-        u.setUsername(req.getUsername());
-        u.setPassword(passwordEncoder.encode(req.getPassword()));
-        u.setEmail(req.getEmail());
-        u.setPhone(req.getPhone());
-        
-        // 保存用户到数据库
-        User savedUser = userRepository.save(u);
-        
-        // 返回成功响应，不包含敏感信息
-        return R.ok(Map.of(
-            "status", "created",
-            "username", savedUser.getUsername(),
-            "message", "用户注册成功"
-        ));
+        return passwordHashingExecutor.submit("encode", () -> passwordEncoder.encode(req.getPassword()))
+            .thenApplyAsync(passwordHash -> {
+              // 创建用户对象并设置属性
+              User u = new User();
+              u.setUsername(req.getUsername());
+              u.setPassword(passwordHash);
+              u.setEmail(req.getEmail());
+              u.setPhone(req.getPhone());
+
+              // 保存用户到数据库；并发注册时由唯一约束兜底，冲突后再查一次定位具体字段
+              User savedUser;
+              try {
+                savedUser = userRepository.save(u);
+              } catch (DataIntegrityViolationException e) {
+                String clash = userRepository.findConflictMessage(req.getUsername(), req.getEmail(), req.getPhone());
+                return R.<Map<String, String>>error(ErrorCode.PARAM_ERROR.code, clash != null ? clash : "用户名、邮箱或手机号已存在");
+              }
+
+              // 返回成功响应，不包含敏感信息
+              return R.ok(Map.of(
+                  "status", "created",
+                  "username", savedUser.getUsername(),
+                  "message", "用户注册成功"
+              ));
+            }, taskExecutor);
     }
 
     // DTOs
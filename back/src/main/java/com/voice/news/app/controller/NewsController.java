@@ -1,10 +1,23 @@
 package com.voice.news.app.controller;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -14,11 +27,31 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.voice.news.app.common.CursorResult;
+import com.voice.news.app.common.HttpCaching;
+import com.voice.news.app.common.NdjsonBody;
 import com.voice.news.app.common.R;
+import com.voice.news.app.dto.BulkIngestResult;
+import com.voice.news.app.dto.IngestMode;
+import com.voice.news.app.dto.NewsDeleteFilter;
+import com.voice.news.app.dto.NewsDeleteJobStatus;
+import com.voice.news.app.dto.NewsListItem;
 import com.voice.news.app.entity.News;
 import com.voice.news.app.exception.ErrorCode;
+import com.voice.news.app.exception.ServiceException;
+import com.voice.news.app.job.NewsDeleteJobRunner;
 import com.voice.news.app.service.NewsService;
+import com.voice.news.app.tts.NewsAudioRenderer;
+import com.voice.news.app.tts.RenderedAudio;
+
+import jakarta.servlet.http.HttpServletResponse;
 
 /**
  * 新闻相关的RESTful API控制器
@@ -30,66 +63,154 @@ public class NewsController {
     @Autowired
     private NewsService newsService;
     
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    @Autowired
+    private NewsDeleteJobRunner newsDeleteJobRunner;
+    
+    @Autowired
+    private NewsAudioRenderer newsAudioRenderer;
+    
+    /**
+     * 最新列表允许客户端缓存的秒数，过期后凭 ETag 重新验证
+     */
+    @Value("${news.http.latest-max-age-seconds:10}")
+    private long latestMaxAge;
+    
+    /**
+     * 新闻详情允许客户端缓存的秒数
+     */
+    @Value("${news.http.detail-max-age-seconds:60}")
+    private long detailMaxAge;
+    
+    /**
+     * 新闻音频允许客户端缓存的秒数，音频随文本变化而换 ETag
+     */
+    @Value("${news.tts.http-max-age-seconds:86400}")
+    private long audioMaxAge;
+    
     /**
      * 获取最新新闻列表
-     * @param limit 查询数量限制，默认10条
-     * @return 新闻列表
+     * 响应带强 ETag，客户端轮询时携带 If-None-Match，内容未变化返回 304 且不发送响应体
+     * @param cursor 上一页返回的游标，首页不传
+     * @param limit 每页数量，默认10条
+     * @return 新闻分页结果
      */
     @GetMapping("/latest")
-    public R<List<News>> getLatestNews(@RequestParam(defaultValue = "10") int limit) {
-        List<News> newsList = newsService.getLatestNews(limit);
-        return R.ok(newsList);
+    public R<CursorResult<NewsListItem>> getLatestNews(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int limit,
+            ServletWebRequest request) {
+        CursorResult<NewsListItem> page = newsService.getLatestNews(cursor, limit);
+        setCacheControl(request, latestMaxAge);
+        if (request.checkNotModified(HttpCaching.listEtag(page))) {
+            return null;
+        }
+        return R.ok(page);
     }
     
     /**
      * 根据标签查询新闻
      * @param tag 标签名称
-     * @return 匹配的新闻列表
+     * @param cursor 上一页返回的游标，首页不传
+     * @param limit 每页数量，默认10条
+     * @return 新闻分页结果
      */
     @GetMapping("/by-tag")
-    public R<List<News>> getNewsByTag(@RequestParam String tag) {
-        List<News> newsList = newsService.getNewsByTag(tag);
-        return R.ok(newsList);
+    public R<CursorResult<NewsListItem>> getNewsByTag(
+            @RequestParam String tag,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int limit) {
+        return R.ok(newsService.getNewsByTag(tag, cursor, limit));
     }
     
     /**
-     * 根据标题关键词搜索新闻
+     * 搜索新闻
      * @param keyword 关键词
-     * @return 匹配的新闻列表
+     * @param mode 搜索模式：title 按标题匹配并按时间倒序（默认）；fulltext 全文检索并按相关度排序
+     * @param cursor 上一页返回的游标，仅 title 模式使用
+     * @param offset 跳过的命中数，仅 fulltext 模式使用
+     * @param limit 每页数量，默认10条
+     * @return title 模式返回新闻分页结果，fulltext 模式返回带高亮摘录的命中列表
      */
     @GetMapping("/search")
-    public R<List<News>> searchNewsByTitle(@RequestParam String keyword) {
-        List<News> newsList = newsService.searchNewsByTitle(keyword);
-        return R.ok(newsList);
+    public R<?> searchNews(
+            @RequestParam String keyword,
+            @RequestParam(defaultValue = "title") String mode,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "0") int offset,
+            @RequestParam(defaultValue = "10") int limit) {
+        if ("fulltext".equals(mode)) {
+            return R.ok(newsService.searchNews(keyword, offset, limit));
+        }
+        if (!"title".equals(mode)) {
+            return R.error(ErrorCode.PARAM_ERROR.code, "不支持的搜索模式: " + mode);
+        }
+        return R.ok(newsService.searchNewsByTitle(keyword, cursor, limit));
     }
     
     /**
      * 根据时间范围查询新闻
      * @param startDate 开始日期（格式：yyyy-MM-dd HH:mm:ss）
      * @param endDate 结束日期（格式：yyyy-MM-dd HH:mm:ss）
-     * @return 时间范围内的新闻列表
+     * @param cursor 上一页返回的游标，首页不传
+     * @param limit 每页数量，默认10条
+     * @return 时间范围内的新闻分页结果
      */
     @GetMapping("/by-date-range")
-    public R<List<News>> getNewsByDateRange(
+    public R<CursorResult<NewsListItem>> getNewsByDateRange(
             @RequestParam String startDate, 
+            @RequestParam String endDate,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int limit) {
+        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+        LocalDateTime start = LocalDateTime.parse(startDate, formatter);
+        LocalDateTime end = LocalDateTime.parse(endDate, formatter);
+        
+        return R.ok(newsService.getNewsByPublishTimeRange(start, end, cursor, limit));
+    }
+    
+    /**
+     * 以 NDJSON（每行一条含正文的新闻）流式导出时间范围内的全部新闻，请求头 Accept: application/x-ndjson 时生效
+     * @param startDate 开始时间，格式 yyyy-MM-dd HH:mm:ss
+     * @param endDate 结束时间，格式 yyyy-MM-dd HH:mm:ss
+     */
+    @GetMapping(value = "/by-date-range", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamNewsByDateRange(
+            @RequestParam String startDate,
             @RequestParam String endDate) {
         DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
         LocalDateTime start = LocalDateTime.parse(startDate, formatter);
         LocalDateTime end = LocalDateTime.parse(endDate, formatter);
         
-        List<News> newsList = newsService.getNewsByPublishTimeRange(start, end);
-        return R.ok(newsList);
+        return NdjsonBody.of(objectMapper, News.class, "news.ndjson",
+                consumer -> newsService.streamNewsByPublishTimeRange(start, end, consumer));
     }
     
     /**
      * 根据来源查询新闻
      * @param source 新闻来源
-     * @return 来自指定来源的新闻列表
+     * @param cursor 上一页返回的游标，首页不传
+     * @param limit 每页数量，默认10条
+     * @return 来自指定来源的新闻分页结果
      */
     @GetMapping("/by-source")
-    public R<List<News>> getNewsBySource(@RequestParam String source) {
-        List<News> newsList = newsService.getNewsBySource(source);
-        return R.ok(newsList);
+    public R<CursorResult<NewsListItem>> getNewsBySource(
+            @RequestParam String source,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int limit) {
+        return R.ok(newsService.getNewsBySource(source, cursor, limit));
+    }
+    
+    /**
+     * 以 NDJSON（每行一条含正文的新闻）流式导出指定来源的全部新闻，请求头 Accept: application/x-ndjson 时生效
+     * @param source 新闻来源
+     */
+    @GetMapping(value = "/by-source", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamNewsBySource(@RequestParam String source) {
+        return NdjsonBody.of(objectMapper, News.class, "news.ndjson",
+                consumer -> newsService.streamNewsBySource(source, consumer));
     }
     
     /**
@@ -98,10 +219,58 @@ public class NewsController {
      * @return 新闻对象
      */
     @GetMapping("/{id}")
-    public R<News> getNewsById(@PathVariable Long id) {
-        return newsService.getNewsById(id)
-                .map(R::ok)
-                .orElseGet(() -> R.build(ErrorCode.NOT_FOUND));
+    public R<News> getNewsById(@PathVariable Long id, ServletWebRequest request) {
+        // 条件请求先只查最后修改时间，未变化时直接返回 304，不加载正文
+        Optional<LocalDateTime> lastModified = newsService.getNewsLastModified(id);
+        if (lastModified.isEmpty()) {
+            return R.build(ErrorCode.NOT_FOUND);
+        }
+        setCacheControl(request, detailMaxAge);
+        if (request.checkNotModified(HttpCaching.newsEtag(id, lastModified.get()),
+                HttpCaching.epochMillis(lastModified.get()))) {
+            return null;
+        }
+        Optional<News> news = newsService.getNewsById(id);
+        if (news.isEmpty()) {
+            return R.build(ErrorCode.NOT_FOUND);
+        }
+        // 以实际返回的版本为准，缓存中的副本可能与刚查到的时间不一致
+        LocalDateTime version = HttpCaching.lastModified(news.get());
+        HttpServletResponse response = request.getResponse();
+        response.setHeader(HttpHeaders.ETAG, HttpCaching.newsEtag(id, version));
+        response.setDateHeader(HttpHeaders.LAST_MODIFIED, HttpCaching.epochMillis(version));
+        return R.ok(news.get());
+    }
+    
+    /**
+     * 获取新闻的播报音频，首次请求时在服务端合成并缓存，之后直接返回缓存文件
+     * 支持 Range 请求（拖动进度）与 If-None-Match 条件请求
+     * @param id 新闻ID
+     * @param voice 音色，不传使用默认音色
+     * @param format 音频格式扩展名，默认 wav
+     * @return 音频文件
+     */
+    @GetMapping("/{id}/audio")
+    public ResponseEntity<Resource> getNewsAudio(@PathVariable Long id,
+                                                 @RequestParam(required = false) String voice,
+                                                 @RequestParam(defaultValue = "wav") String format,
+                                                 ServletWebRequest request) {
+        News news = newsService.getNewsById(id)
+                .orElseThrow(() -> new ServiceException(ErrorCode.NOT_FOUND.code, "新闻不存在"));
+        // 缓存键即文本内容的哈希，未变化时直接返回 304，不读取也不合成音频；没有可播报文本时 key 直接报错
+        String etag = "\"" + newsAudioRenderer.key(news, voice, format) + "\"";
+        setCacheControl(request, audioMaxAge);
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        RenderedAudio audio = newsAudioRenderer.render(news, voice, format);
+        // 响应写完（请求结束）后才释放占用，文件在发送期间不会被缓存淘汰删除
+        RequestContextHolder.currentRequestAttributes().registerDestructionCallback(
+                "newsAudio", () -> newsAudioRenderer.release(audio), RequestAttributes.SCOPE_REQUEST);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(audio.getFormat().mimeType))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "inline; filename=\"news-" + id + "." + audio.getFormat().extension + "\"")
+                .body(new FileSystemResource(audio.getFile()));
     }
     
     /**
@@ -115,6 +284,51 @@ public class NewsController {
         return R.ok(savedNews);
     }
     
+    /**
+     * 批量导入新闻，供爬虫批量提交使用
+     * 请求体可以是 JSON 数组，也可以是 NDJSON（每行一个 JSON 对象），均为流式解析
+     * @param mode 原文链接已存在时的处理方式：skip 跳过（默认），merge 覆盖已有记录
+     * @param body 请求体
+     * @return 各状态计数及失败条目的明细
+     */
+    @PostMapping(value = "/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public R<?> createNewsBulk(@RequestParam(defaultValue = "skip") String mode, InputStream body) throws IOException {
+        IngestMode ingestMode;
+        try {
+            ingestMode = IngestMode.valueOf(mode.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return R.error(ErrorCode.PARAM_ERROR.code, "不支持的导入模式: " + mode);
+        }
+        try (MappingIterator<News> items = objectMapper.readerFor(News.class).readValues(body)) {
+            return R.ok(newsService.saveNewsBulk(items, ingestMode));
+        }
+    }
+    
+    /**
+     * 批量导入新闻并以 NDJSON 逐条返回结果，请求头 Accept: application/x-ndjson 时生效
+     * 每行一条 BulkItemResult（含新建或合并记录的ID，按批次写入顺序），最后一行为各状态计数
+     * @param mode 原文链接已存在时的处理方式：skip 跳过（默认），merge 覆盖已有记录
+     * @param body 请求体，格式同 POST /bulk
+     */
+    @PostMapping(value = "/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE},
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamNewsBulk(@RequestParam(defaultValue = "skip") String mode,
+                                                                InputStream body) {
+        IngestMode ingestMode;
+        try {
+            ingestMode = IngestMode.valueOf(mode.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new ServiceException(ErrorCode.PARAM_ERROR.code, "不支持的导入模式: " + mode);
+        }
+        return NdjsonBody.of(objectMapper, Object.class, "bulk-result.ndjson", consumer -> {
+            try (MappingIterator<News> items = objectMapper.readerFor(News.class).readValues(body)) {
+                consumer.accept(newsService.saveNewsBulk(items, ingestMode, consumer::accept));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+    
     /**
      * 更新新闻
      * @param id 新闻ID
@@ -130,6 +344,8 @@ public class NewsController {
         try {
             News updatedNews = newsService.updateNews(news);
             return R.ok(updatedNews);
+        } catch (ServiceException e) {
+            throw e;
         } catch (RuntimeException e) {
             return R.error(ErrorCode.NOT_FOUND.code, e.getMessage());
         }
@@ -164,4 +380,45 @@ public class NewsController {
             return R.error(ErrorCode.NOT_FOUND.code, e.getMessage());
         }
     }
+    
+    /**
+     * 提交按条件删除任务（来源、标签、发布时间范围），后台分批执行
+     * @param filter 删除条件，至少指定一项
+     * @return 任务状态，含用于查询进度的 jobId
+     */
+    @PostMapping("/delete-jobs")
+    public R<NewsDeleteJobStatus> submitDeleteJob(@RequestBody NewsDeleteFilter filter) {
+        return R.ok(newsDeleteJobRunner.submit(filter));
+    }
+    
+    /**
+     * 查询按条件删除任务的进度
+     * @param jobId 任务ID
+     * @return 任务状态
+     */
+    @GetMapping("/delete-jobs/{jobId}")
+    public R<?> getDeleteJob(@PathVariable String jobId) {
+        NewsDeleteJobStatus status = newsDeleteJobRunner.get(jobId);
+        if (status == null) {
+            return R.error(ErrorCode.NOT_FOUND.code, "删除任务不存在: " + jobId);
+        }
+        return R.ok(status);
+    }
+    
+    /**
+     * 列出最近的按条件删除任务
+     * @return 任务状态列表，最新的在前
+     */
+    @GetMapping("/delete-jobs")
+    public R<List<NewsDeleteJobStatus>> listDeleteJobs() {
+        return R.ok(newsDeleteJobRunner.list());
+    }
+    
+    /**
+     * 新闻接口需要认证，响应只允许客户端自己缓存（private），CDN 与共享代理不得缓存后转发给其他请求方
+     */
+    private static void setCacheControl(ServletWebRequest request, long maxAgeSeconds) {
+        request.getResponse().setHeader(HttpHeaders.CACHE_CONTROL,
+                CacheControl.maxAge(Duration.ofSeconds(maxAgeSeconds)).cachePrivate().getHeaderValue());
+    }
 }
@@ -1,8 +1,12 @@
 package com.voice.news.app.controller;
 
-import java.util.List;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.CompletableFuture;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -11,9 +15,19 @@ import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.voice.news.app.common.CursorResult;
+import com.voice.news.app.common.NdjsonBody;
 import com.voice.news.app.common.R;
+import com.voice.news.app.dto.BulkIngestResult;
+import com.voice.news.app.dto.UserFilter;
+import com.voice.news.app.dto.UserImportItem;
+import com.voice.news.app.dto.UserListItem;
 import com.voice.news.app.exception.ErrorCode;
 import com.voice.news.app.model.User;
 import com.voice.news.app.security.JwtUtil;
@@ -33,10 +47,33 @@ public class UserController {
     @Autowired
     private JwtUtil jwtUtil;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /**
+     * 键集分页查询用户列表，按注册时间倒序，可按注册时间、性别、年龄范围过滤
+     * 需要 ADMIN 角色：列表项包含用户的邮箱与手机号
+     * @param filter 过滤条件，以查询参数传入（createdFrom/createdTo 格式为 yyyy-MM-dd HH:mm:ss）
+     * @param cursor 上一页返回的游标，首页不传
+     * @param limit 每页数量，默认20条，最多100条
+     */
     @GetMapping("/users")
     @Operation(summary = "获取用户列表")
-    public R<List<User>> getAllUsers() {
-        return R.ok(userService.getAllUsers());
+    public R<CursorResult<UserListItem>> listUsers(UserFilter filter,
+                                                 @RequestParam(required = false) String cursor,
+                                                 @RequestParam(defaultValue = "20") int limit) {
+        return R.ok(userService.listUsers(filter, cursor, limit));
+    }
+
+    /**
+     * 以 NDJSON（每行一个用户）导出满足条件的全部用户，边查边写，内存占用与用户数无关
+     * 需要 ADMIN 角色：导出内容包含全部用户的邮箱与手机号
+     */
+    @GetMapping(value = "/users/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "导出用户列表")
+    public ResponseEntity<StreamingResponseBody> exportUsers(UserFilter filter) {
+        return NdjsonBody.of(objectMapper, UserListItem.class, "users.ndjson",
+                consumer -> userService.exportUsers(filter, consumer));
     }
 
     @GetMapping("/users/{id}")
@@ -49,18 +86,27 @@ public class UserController {
 
     @PostMapping("/users")
     @Operation(summary = "创建新用户")
-    public R<User> createUser(@RequestBody User user) {
-        return R.ok(userService.createUser(user));
+    public CompletableFuture<R<User>> createUser(@RequestBody User user) {
+        return userService.createUser(user).thenApply(R::ok);
+    }
+
+    /**
+     * 批量导入用户，请求体为 JSON 数组或 NDJSON（每行一个用户），流式解析并按批写入
+     * 需要 ADMIN 角色：条目可携带预先计算的密码哈希，不能对匿名调用方开放
+     */
+    @PostMapping(value = "/users/import", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    @Operation(summary = "批量导入用户")
+    public R<BulkIngestResult> importUsers(InputStream body) throws IOException {
+        try (MappingIterator<UserImportItem> items = objectMapper.readerFor(UserImportItem.class).readValues(body)) {
+            return R.ok(userService.importUsers(items));
+        }
     }
 
     @PutMapping("/users/{id}")
     @Operation(summary = "更新用户信息")
-    public R<User> updateUser(@PathVariable Long id, @RequestBody User user) {
-        User updated = userService.updateUser(id, user);
-        if (updated == null) {
-            return R.build(ErrorCode.NOT_FOUND);
-        }
-        return R.ok(updated);
+    public CompletableFuture<R<User>> updateUser(@PathVariable Long id, @RequestBody User user) {
+        return userService.updateUser(id, user)
+                .thenApply(updated -> updated == null ? R.<User>build(ErrorCode.NOT_FOUND) : R.ok(updated));
     }
 
     @DeleteMapping("/users/{id}")
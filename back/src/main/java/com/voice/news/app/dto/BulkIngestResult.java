@@ -0,0 +1,60 @@
+package com.voice.news.app.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import lombok.Data;
+
+/**
+ * 批量导入汇总结果
+ *
+ * 只保留各状态计数与未写入记录（失败、带原因的冲突）的明细，成功条目不逐条返回，
+ * 百万级导入时结果大小不随请求条数增长；明细最多保留 MAX_FAILURES 条，超出部分只计入 failuresOmitted。
+ * 需要逐条结果（如新建记录的ID）时传入 listener，每条结果处理完即交给它（按批次顺序，不按序号排序），
+ * 此时不再保留失败明细。
+ */
+@Data
+public class BulkIngestResult {
+
+    public static final int MAX_FAILURES = 1000;
+
+    private int total;
+    private int created;
+    private int duplicated;
+    private int merged;
+    private int failed;
+    private List<BulkItemResult> failures = new ArrayList<>();
+    private int failuresOmitted;
+    @JsonIgnore
+    private final transient Consumer<BulkItemResult> listener;
+
+    public BulkIngestResult() {
+        this(null);
+    }
+
+    public BulkIngestResult(Consumer<BulkItemResult> listener) {
+        this.listener = listener;
+    }
+
+    public void add(BulkItemResult item) {
+        total++;
+        switch (item.getStatus()) {
+            case CREATED -> created++;
+            case DUPLICATE -> duplicated++;
+            case MERGED -> merged++;
+            case FAILED -> failed++;
+        }
+        if (listener != null) {
+            listener.accept(item);
+        } else if (item.getStatus() == BulkItemResult.Status.FAILED || item.getMessage() != null) {
+            if (failures.size() < MAX_FAILURES) {
+                failures.add(item);
+            } else {
+                failuresOmitted++;
+            }
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.voice.news.app.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 批量导入中单条记录（新闻、用户）的处理结果
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkItemResult {
+
+    public enum Status {
+        CREATED,
+        DUPLICATE,
+        MERGED,
+        FAILED
+    }
+
+    /**
+     * 在请求中的序号，从0开始
+     */
+    private int index;
+    private Status status;
+    private Long id;
+    private String message;
+
+    public static BulkItemResult created(int index, Long id) {
+        return new BulkItemResult(index, Status.CREATED, id, null);
+    }
+
+    public static BulkItemResult duplicate(int index, Long id) {
+        return new BulkItemResult(index, Status.DUPLICATE, id, null);
+    }
+
+    /**
+     * 与已有记录冲突，message 说明冲突的字段
+     */
+    public static BulkItemResult conflict(int index, String message) {
+        return new BulkItemResult(index, Status.DUPLICATE, null, message);
+    }
+
+    public static BulkItemResult merged(int index, Long id) {
+        return new BulkItemResult(index, Status.MERGED, id, null);
+    }
+
+    public static BulkItemResult failed(int index, String message) {
+        return new BulkItemResult(index, Status.FAILED, null, message);
+    }
+}
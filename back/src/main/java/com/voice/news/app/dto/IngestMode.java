@@ -0,0 +1,17 @@
+package com.voice.news.app.dto;
+
+/**
+ * 批量导入遇到重复链接（url_hash 冲突）时的处理方式
+ */
+public enum IngestMode {
+
+    /**
+     * 保留已有记录，重复条目标记为 DUPLICATE
+     */
+    SKIP,
+
+    /**
+     * 用新数据覆盖已有记录（保留原抓取时间），条目标记为 MERGED
+     */
+    MERGE
+}
@@ -0,0 +1,39 @@
+package com.voice.news.app.dto;
+
+import java.time.LocalDateTime;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import lombok.Data;
+
+/**
+ * 按条件删除新闻的过滤条件，各条件之间为 AND，至少需要指定一项
+ */
+@Data
+public class NewsDeleteFilter {
+
+    /**
+     * 新闻来源（精确匹配）
+     */
+    private String source;
+
+    /**
+     * 标签名称（精确匹配）
+     */
+    private String tag;
+
+    /**
+     * 发布时间下界（含）
+     */
+    private LocalDateTime start;
+
+    /**
+     * 发布时间上界（含）
+     */
+    private LocalDateTime end;
+
+    @JsonIgnore
+    public boolean isEmpty() {
+        return source == null && tag == null && start == null && end == null;
+    }
+}
@@ -0,0 +1,29 @@
+package com.voice.news.app.dto;
+
+import java.time.LocalDateTime;
+
+import lombok.Data;
+
+/**
+ * 按条件删除任务的进度快照
+ */
+@Data
+public class NewsDeleteJobStatus {
+
+    public enum State {
+        PENDING, RUNNING, COMPLETED, FAILED
+    }
+
+    private String jobId;
+    private NewsDeleteFilter filter;
+    private State state;
+
+    /**
+     * 任务开始时满足条件的新闻数，仅用于估算进度
+     */
+    private long estimatedTotal;
+    private long deleted;
+    private LocalDateTime submittedAt;
+    private LocalDateTime finishedAt;
+    private String error;
+}
@@ -0,0 +1,27 @@
+package com.voice.news.app.dto;
+
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 新闻列表项，只包含列表页展示所需字段，不含正文 content
+ *
+ * 由 NewsRepository 中的 JPQL 构造器表达式直接投影生成，SQL 只查询这些列；
+ * 正文只通过 GET /api/news/{id} 获取。
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class NewsListItem {
+
+    private Long id;
+    private String title;
+    private String summary;
+    private String tags;
+    private String source;
+    private String url;
+    private LocalDateTime publishedAt;
+}
@@ -0,0 +1,23 @@
+package com.voice.news.app.dto;
+
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 全文检索命中项，snippet 为带 <em> 高亮的摘录
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class NewsSearchHit {
+
+    private Long id;
+    private String title;
+    private String source;
+    private LocalDateTime publishedAt;
+    private float score;
+    private String snippet;
+}
@@ -0,0 +1,40 @@
+package com.voice.news.app.dto;
+
+import java.time.LocalDateTime;
+
+import org.springframework.format.annotation.DateTimeFormat;
+
+import com.voice.news.app.model.Gender;
+
+import lombok.Data;
+
+/**
+ * 用户列表与导出的过滤条件，各条件之间为 AND，均可不填
+ */
+@Data
+public class UserFilter {
+
+    /**
+     * 注册时间下界（含）
+     */
+    @DateTimeFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    private LocalDateTime createdFrom;
+
+    /**
+     * 注册时间上界（含）
+     */
+    @DateTimeFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    private LocalDateTime createdTo;
+
+    private Gender gender;
+
+    /**
+     * 年龄下界（含）
+     */
+    private Integer minAge;
+
+    /**
+     * 年龄上界（含）
+     */
+    private Integer maxAge;
+}
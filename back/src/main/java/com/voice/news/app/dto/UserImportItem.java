@@ -0,0 +1,24 @@
+package com.voice.news.app.dto;
+
+import com.voice.news.app.model.Gender;
+
+import lombok.Data;
+
+/**
+ * 批量导入的单个用户
+ *
+ * password 与 passwordHash 二选一：迁移老用户时直接带上原有的 BCrypt 哈希（原样写入，无需重新计算），
+ * 只有明文密码的条目在导入时按当前 cost 加密。
+ */
+@Data
+public class UserImportItem {
+
+    private String username;
+    private String email;
+    private String phone;
+    private String password;
+    private String passwordHash;
+    private Gender gender;
+    private Integer age;
+    private Double height;
+}
@@ -0,0 +1,27 @@
+package com.voice.news.app.dto;
+
+import java.time.LocalDateTime;
+
+import com.voice.news.app.model.Gender;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 用户列表项，只包含列表与导出所需字段，不含密码哈希与令牌状态
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserListItem {
+
+    private Long id;
+    private String username;
+    private Gender gender;
+    private Integer age;
+    private Double height;
+    private String email;
+    private String phone;
+    private LocalDateTime createdAt;
+}
@@ -1,12 +1,18 @@
 package com.voice.news.app.entity;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+import com.voice.news.app.common.UrlNormalizer;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
 import lombok.Data;
 
@@ -15,7 +21,12 @@ import lombok.Data;
  */
 @Data
 @Entity
-@Table(name = "news")
+@Table(name = "news", indexes = {
+        @Index(name = "idx_published_at_id", columnList = "published_at DESC, id DESC"),
+        @Index(name = "idx_source_published_at_id", columnList = "source, published_at DESC, id DESC"),
+        @Index(name = "uk_url_hash", columnList = "url_hash", unique = true),
+        @Index(name = "idx_updated_at_id", columnList = "updated_at, id")
+})
 public class News {
     
     /**
@@ -63,9 +74,15 @@ public class News {
     private String url;
     
     /**
-     * 新闻实际发布时间
+     * 归一化原文链接的 SHA-256，唯一索引，用于去重
+     */
+    @Column(name = "url_hash", length = 64, columnDefinition = "CHAR(64) COMMENT '归一化原文链接的SHA-256'")
+    private String urlHash;
+    
+    /**
+     * 新闻实际发布时间，未提供时写入抓取时间；列表键集分页以其为排序键，不能为空
      */
-    @Column(name = "published_at", columnDefinition = "DATETIME COMMENT '新闻实际发布时间'")
+    @Column(name = "published_at", nullable = false, columnDefinition = "DATETIME NOT NULL COMMENT '新闻实际发布时间'")
     private LocalDateTime publishedAt;
     
     /**
@@ -73,4 +90,18 @@ public class News {
      */
     @Column(name = "created_at", nullable = false, columnDefinition = "DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '抓取时间'")
     private LocalDateTime createdAt;
+    
+    /**
+     * 最后修改时间（毫秒精度），用于生成 ETag 与 Last-Modified；早于该字段写入的旧数据为空，以抓取时间代替
+     */
+    @Column(name = "updated_at", columnDefinition = "DATETIME(3) COMMENT '最后修改时间'")
+    private LocalDateTime updatedAt;
+    
+    // 写入前根据原文链接计算去重哈希，并记录修改时间
+    @PrePersist
+    @PreUpdate
+    public void beforeWrite() {
+        this.urlHash = UrlNormalizer.hash(url);
+        this.updatedAt = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+    }
 }
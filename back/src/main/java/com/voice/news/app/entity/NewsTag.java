@@ -0,0 +1,60 @@
+package com.voice.news.app.entity;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 新闻标签索引表，每个 (新闻, 标签) 一行
+ *
+ * publishedAt 冗余自 news 表，使按标签分页可以只走 (tag, published_at, news_id) 索引，
+ * 不再对 news.tags 做 LIKE 全表扫描。内容以 News.tags 为准，由 NewsTagIndexer 维护。
+ */
+@Data
+@NoArgsConstructor
+@Entity
+@Table(name = "news_tag",
+        uniqueConstraints = @UniqueConstraint(name = "uk_news_tag", columnNames = {"news_id", "tag"}),
+        indexes = @Index(name = "idx_tag_published_at", columnList = "tag, published_at DESC, news_id DESC"))
+public class NewsTag {
+
+    /**
+     * 主键ID
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * 新闻ID
+     */
+    @Column(name = "news_id", nullable = false)
+    private Long newsId;
+
+    /**
+     * 标签名称
+     */
+    @Column(name = "tag", nullable = false, length = 50)
+    private String tag;
+
+    /**
+     * 新闻发布时间（冗余字段）
+     */
+    @Column(name = "published_at", nullable = false)
+    private LocalDateTime publishedAt;
+
+    public NewsTag(Long newsId, String tag, LocalDateTime publishedAt) {
+        this.newsId = newsId;
+        this.tag = tag;
+        this.publishedAt = publishedAt;
+    }
+}
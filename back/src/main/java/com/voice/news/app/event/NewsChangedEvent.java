@@ -0,0 +1,68 @@
+package com.voice.news.app.event;
+
+import java.util.Collection;
+import java.util.List;
+
+import com.voice.news.app.entity.News;
+
+/**
+ * 新闻数据变更事件，由 NewsService 在写操作中发布
+ *
+ * 监听方应使用 @TransactionalEventListener 在事务提交后处理，避免回滚的数据进入索引或缓存。
+ */
+public class NewsChangedEvent {
+
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+
+    private final Type type;
+    private final List<News> news;
+    private final List<Long> ids;
+
+    private NewsChangedEvent(Type type, List<News> news, List<Long> ids) {
+        this.type = type;
+        this.news = news;
+        this.ids = ids;
+    }
+
+    public static NewsChangedEvent created(News news) {
+        return new NewsChangedEvent(Type.CREATED, List.of(news), List.of(news.getId()));
+    }
+
+    public static NewsChangedEvent created(List<News> news) {
+        return new NewsChangedEvent(Type.CREATED, List.copyOf(news), news.stream().map(News::getId).toList());
+    }
+
+    public static NewsChangedEvent updated(News news) {
+        return new NewsChangedEvent(Type.UPDATED, List.of(news), List.of(news.getId()));
+    }
+
+    public static NewsChangedEvent updated(List<News> news) {
+        return new NewsChangedEvent(Type.UPDATED, List.copyOf(news), news.stream().map(News::getId).toList());
+    }
+
+    public static NewsChangedEvent deleted(Collection<Long> ids) {
+        return new NewsChangedEvent(Type.DELETED, List.of(), List.copyOf(ids));
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    /**
+     * 变更后的新闻，DELETED 事件为空列表
+     */
+    public List<News> getNews() {
+        return news;
+    }
+
+    /**
+     * 受影响的新闻ID
+     */
+    public List<Long> getIds() {
+        return ids;
+    }
+}
@@ -7,6 +7,7 @@ public enum ErrorCode {
     NOT_FOUND(404, "资源未找到"),
     UNAUTHORIZED(401, "未授权访问"),
     FORBIDDEN(403, "无权限访问"),
+    TOO_MANY_REQUESTS(429, "请求过于频繁，请稍后重试"),
     SERVER_ERROR(500, "服务器内部错误"),
     BUSINESS_ERROR(600, "业务异常");
 
@@ -3,16 +3,23 @@ package com.voice.news.app.exception;
 import com.voice.news.app.common.R;
 
 
+import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
+import jakarta.servlet.http.HttpServletResponse;
+
 @RestControllerAdvice
 public class GlobalExceptionHandler {
 
     // ⚠️ 处理业务异常
     @ExceptionHandler(ServiceException.class)
-    public R<?> handleServiceException(ServiceException e){
+    public R<?> handleServiceException(ServiceException e, HttpServletResponse response){
+        // 限流类错误同时返回 HTTP 429，便于网关与客户端退避重试
+        if (e.getCode() == ErrorCode.TOO_MANY_REQUESTS.code) {
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        }
         return R.error(e.getCode(), e.getMessage());
     }
 
@@ -3,6 +3,8 @@ package com.voice.news.app.exception;
 import org.springframework.core.MethodParameter;
 import org.springframework.http.MediaType;
 import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.ResourceHttpMessageConverter;
+import org.springframework.http.converter.ResourceRegionHttpMessageConverter;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
 
@@ -14,7 +16,9 @@ public class ResponseWrapAdvice implements ResponseBodyAdvice<Object> {
     @Override
     public boolean supports(MethodParameter returnType,
                            Class<? extends HttpMessageConverter<?>> converterType) {
-        return true;
+        // 文件下载（音频、JFR 导出）及其 Range 分段原样输出
+        return !ResourceHttpMessageConverter.class.isAssignableFrom(converterType)
+                && !ResourceRegionHttpMessageConverter.class.isAssignableFrom(converterType);
     }
 
     @Override
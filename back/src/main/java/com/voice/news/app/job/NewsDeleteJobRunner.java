@@ -0,0 +1,250 @@
+package com.voice.news.app.job;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.ToIntFunction;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.voice.news.app.dto.NewsDeleteFilter;
+import com.voice.news.app.dto.NewsDeleteJobStatus;
+import com.voice.news.app.event.NewsChangedEvent;
+import com.voice.news.app.exception.ErrorCode;
+import com.voice.news.app.exception.ServiceException;
+import com.voice.news.app.repository.NewsJdbcRepository;
+import com.voice.news.app.service.NewsArchive;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * 按来源、标签或发布时间范围异步删除新闻
+ *
+ * 任务在单个后台线程中排队执行，按主键顺序每次取一批ID，一批一个短事务
+ * （DELETE ... WHERE id IN），批次之间可配置停顿，避免长事务持锁拖住在线读写。
+ * 每批提交后发布 NewsChangedEvent，由搜索索引与缓存各自清理。
+ * 热表删完后按同样方式删除归档表中满足条件的新闻（未开启冷热分层时跳过）。
+ * 任务进度只保存在本机内存中，保留最近 news.delete.job-history 个任务。
+ */
+@Component
+public class NewsDeleteJobRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(NewsDeleteJobRunner.class);
+
+    private final NewsJdbcRepository newsJdbcRepository;
+    private final NewsArchive newsArchive;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int chunkSize;
+    private final long pauseMillis;
+    private final int historySize;
+    private final ExecutorService executor;
+    private final Map<String, NewsDeleteJobStatus> jobs;
+    // 用显式锁而不是 synchronized：虚拟线程模式下持有监视器会把载体线程钉住
+    private final ReentrantLock jobsLock = new ReentrantLock();
+
+    public NewsDeleteJobRunner(NewsJdbcRepository newsJdbcRepository,
+                               NewsArchive newsArchive,
+                               TransactionTemplate transactionTemplate,
+                               ApplicationEventPublisher eventPublisher,
+                               @Value("${news.delete.chunk-size:1000}") int chunkSize,
+                               @Value("${news.delete.pause-ms:50}") long pauseMillis,
+                               @Value("${news.delete.job-queue-size:16}") int queueSize,
+                               @Value("${news.delete.job-history:100}") int historySize) {
+        this.newsJdbcRepository = newsJdbcRepository;
+        this.newsArchive = newsArchive;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.chunkSize = chunkSize;
+        this.pauseMillis = pauseMillis;
+        this.historySize = historySize;
+        this.executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(queueSize),
+                r -> {
+                    Thread thread = new Thread(r, "news-delete-job");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.jobs = new LinkedHashMap<>();
+    }
+
+    /**
+     * 提交删除任务
+     * @param filter 删除条件，不能为空
+     * @return 任务初始状态，jobId 用于查询进度
+     */
+    public NewsDeleteJobStatus submit(NewsDeleteFilter filter) {
+        if (filter == null || filter.isEmpty()) {
+            throw new ServiceException(ErrorCode.PARAM_ERROR.code, "删除条件不能为空");
+        }
+        if (filter.getStart() != null && filter.getEnd() != null && filter.getStart().isAfter(filter.getEnd())) {
+            throw new ServiceException(ErrorCode.PARAM_ERROR.code, "开始时间不能晚于结束时间");
+        }
+        NewsDeleteJobStatus status = new NewsDeleteJobStatus();
+        status.setJobId(UUID.randomUUID().toString());
+        status.setFilter(filter);
+        status.setState(NewsDeleteJobStatus.State.PENDING);
+        status.setSubmittedAt(LocalDateTime.now());
+        remember(status);
+        try {
+            executor.execute(() -> run(status));
+        } catch (RejectedExecutionException e) {
+            jobsLock.lock();
+            try {
+                jobs.remove(status.getJobId());
+            } finally {
+                jobsLock.unlock();
+            }
+            throw new ServiceException(ErrorCode.BUSINESS_ERROR.code, "删除任务排队已满，请稍后再试");
+        }
+        return get(status.getJobId());
+    }
+
+    /**
+     * 查询任务进度
+     * @param jobId 任务ID
+     * @return 进度快照，任务不存在或已过期时为 null
+     */
+    public NewsDeleteJobStatus get(String jobId) {
+        jobsLock.lock();
+        try {
+            NewsDeleteJobStatus status = jobs.get(jobId);
+            return status == null ? null : snapshot(status);
+        } finally {
+            jobsLock.unlock();
+        }
+    }
+
+    /**
+     * 列出最近的任务，最新的在前
+     */
+    public List<NewsDeleteJobStatus> list() {
+        jobsLock.lock();
+        try {
+            List<NewsDeleteJobStatus> result = new ArrayList<>();
+            jobs.values().forEach(status -> result.add(0, snapshot(status)));
+            return result;
+        } finally {
+            jobsLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void run(NewsDeleteJobStatus status) {
+        NewsDeleteFilter filter = status.getFilter();
+        update(status, s -> s.setState(NewsDeleteJobStatus.State.RUNNING));
+        try {
+            long estimatedTotal = newsJdbcRepository.countByFilter(filter) + newsArchive.countByFilter(filter);
+            update(status, s -> s.setEstimatedTotal(estimatedTotal));
+            logger.info("News delete job {} started, filter {}, ~{} rows", status.getJobId(), filter, estimatedTotal);
+            deleteChunks(status, (afterId, limit) -> newsJdbcRepository.findIdsByFilter(filter, afterId, limit),
+                    newsJdbcRepository::deleteByIds);
+            deleteChunks(status, (afterId, limit) -> newsArchive.findIdsByFilter(filter, afterId, limit),
+                    newsArchive::deleteByIds);
+            update(status, s -> {
+                s.setState(NewsDeleteJobStatus.State.COMPLETED);
+                s.setFinishedAt(LocalDateTime.now());
+            });
+            logger.info("News delete job {} finished, {} rows deleted", status.getJobId(), status.getDeleted());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            fail(status, "任务被中断", e);
+        } catch (Exception e) {
+            fail(status, e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 按主键顺序逐批取ID并删除，一批一个事务，批次之间停顿
+     */
+    private void deleteChunks(NewsDeleteJobStatus status, BiFunction<Long, Integer, List<Long>> nextIds,
+                              ToIntFunction<List<Long>> delete) throws InterruptedException {
+        long afterId = 0;
+        while (!Thread.currentThread().isInterrupted()) {
+            List<Long> ids = nextIds.apply(afterId, chunkSize);
+            if (ids.isEmpty()) {
+                return;
+            }
+            Integer deleted = transactionTemplate.execute(tx -> {
+                int count = delete.applyAsInt(ids);
+                eventPublisher.publishEvent(NewsChangedEvent.deleted(ids));
+                return count;
+            });
+            afterId = ids.get(ids.size() - 1);
+            update(status, s -> s.setDeleted(s.getDeleted() + (deleted == null ? 0 : deleted)));
+            if (pauseMillis > 0) {
+                Thread.sleep(pauseMillis);
+            }
+        }
+        throw new InterruptedException();
+    }
+
+    private void fail(NewsDeleteJobStatus status, String error, Exception e) {
+        update(status, s -> {
+            s.setState(NewsDeleteJobStatus.State.FAILED);
+            s.setError(error);
+            s.setFinishedAt(LocalDateTime.now());
+        });
+        logger.error("News delete job {} aborted after {} rows", status.getJobId(), status.getDeleted(), e);
+    }
+
+    private void remember(NewsDeleteJobStatus status) {
+        jobsLock.lock();
+        try {
+            jobs.put(status.getJobId(), status);
+            Iterator<NewsDeleteJobStatus> it = jobs.values().iterator();
+            while (jobs.size() > historySize && it.hasNext()) {
+                NewsDeleteJobStatus oldest = it.next();
+                if (oldest.getState() == NewsDeleteJobStatus.State.COMPLETED
+                        || oldest.getState() == NewsDeleteJobStatus.State.FAILED) {
+                    it.remove();
+                }
+            }
+        } finally {
+            jobsLock.unlock();
+        }
+    }
+
+    private void update(NewsDeleteJobStatus status, Consumer<NewsDeleteJobStatus> change) {
+        jobsLock.lock();
+        try {
+            change.accept(status);
+        } finally {
+            jobsLock.unlock();
+        }
+    }
+
+    private static NewsDeleteJobStatus snapshot(NewsDeleteJobStatus status) {
+        NewsDeleteJobStatus copy = new NewsDeleteJobStatus();
+        copy.setJobId(status.getJobId());
+        copy.setFilter(status.getFilter());
+        copy.setState(status.getState());
+        copy.setEstimatedTotal(status.getEstimatedTotal());
+        copy.setDeleted(status.getDeleted());
+        copy.setSubmittedAt(status.getSubmittedAt());
+        copy.setFinishedAt(status.getFinishedAt());
+        copy.setError(status.getError());
+        return copy;
+    }
+}
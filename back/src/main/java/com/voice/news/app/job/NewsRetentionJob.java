@@ -0,0 +1,93 @@
+package com.voice.news.app.job;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.voice.news.app.event.NewsChangedEvent;
+import com.voice.news.app.repository.NewsArchiveRepository;
+import com.voice.news.app.repository.NewsJdbcRepository;
+import com.voice.news.app.service.NewsArchive;
+
+/**
+ * 定时把超过保留期的新闻从热表迁入归档表
+ *
+ * 通过 news.retention.enabled=true 开启，按 news.retention.cron 执行。每批一个事务：
+ * INSERT IGNORE ... SELECT 复制到 news_archive，再按ID删除热表行与标签索引，
+ * 中途失败时下次执行会从剩余的行继续，已复制的行不会重复写入。
+ * 迁出的新闻从全文索引和列表缓存中移除，详情仍可通过 getNewsById 从归档表读取。
+ */
+@Component
+@ConditionalOnProperty(name = "news.retention.enabled", havingValue = "true")
+public class NewsRetentionJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(NewsRetentionJob.class);
+
+    private final NewsJdbcRepository newsJdbcRepository;
+    private final NewsArchiveRepository newsArchiveRepository;
+    private final NewsArchive newsArchive;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int batchSize;
+    private final long pauseMillis;
+
+    public NewsRetentionJob(NewsJdbcRepository newsJdbcRepository,
+                            NewsArchiveRepository newsArchiveRepository,
+                            NewsArchive newsArchive,
+                            TransactionTemplate transactionTemplate,
+                            ApplicationEventPublisher eventPublisher,
+                            @Value("${news.retention.batch-size:1000}") int batchSize,
+                            @Value("${news.retention.pause-ms:50}") long pauseMillis) {
+        this.newsJdbcRepository = newsJdbcRepository;
+        this.newsArchiveRepository = newsArchiveRepository;
+        this.newsArchive = newsArchive;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.batchSize = batchSize;
+        this.pauseMillis = pauseMillis;
+    }
+
+    @Scheduled(cron = "${news.retention.cron:0 30 3 * * *}")
+    public void run() {
+        LocalDateTime cutoff = newsArchive.boundary();
+        long archived = 0;
+        try {
+            LocalDateTime oldest = newsJdbcRepository.findOldestPublishedAt();
+            if (oldest == null || !oldest.isBefore(cutoff)) {
+                return;
+            }
+            logger.info("News retention started, archiving news published before {}", cutoff);
+            newsArchive.preparePartitions(oldest.toLocalDate());
+            while (true) {
+                List<Long> ids = newsJdbcRepository.findIdsPublishedBefore(cutoff, batchSize);
+                if (ids.isEmpty()) {
+                    break;
+                }
+                transactionTemplate.executeWithoutResult(status -> {
+                    newsArchiveRepository.copyFromNews(ids);
+                    newsJdbcRepository.deleteByIds(ids);
+                    eventPublisher.publishEvent(NewsChangedEvent.deleted(ids));
+                });
+                archived += ids.size();
+                logger.debug("News retention progress: {} rows archived", archived);
+                if (pauseMillis > 0) {
+                    Thread.sleep(pauseMillis);
+                }
+            }
+            logger.info("News retention finished, {} news archived", archived);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logger.warn("News retention interrupted after {} rows", archived);
+        } catch (Exception e) {
+            logger.error("News retention aborted after {} rows", archived, e);
+        }
+    }
+}
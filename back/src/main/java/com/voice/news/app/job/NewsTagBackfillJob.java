@@ -0,0 +1,77 @@
+package com.voice.news.app.job;
+
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.voice.news.app.dto.NewsListItem;
+import com.voice.news.app.repository.NewsRepository;
+import com.voice.news.app.service.NewsTagIndexer;
+
+/**
+ * 为存量新闻回填 news_tag 标签索引
+ *
+ * 通过 news.tag-backfill.enabled=true 开启，应用启动完成后在后台线程按主键分批执行，
+ * 每批一个事务，重复执行是幂等的。回填完成后即可关闭该开关。
+ */
+@Component
+@ConditionalOnProperty(name = "news.tag-backfill.enabled", havingValue = "true")
+public class NewsTagBackfillJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(NewsTagBackfillJob.class);
+
+    private final NewsRepository newsRepository;
+    private final NewsTagIndexer newsTagIndexer;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+
+    public NewsTagBackfillJob(NewsRepository newsRepository,
+                              NewsTagIndexer newsTagIndexer,
+                              TransactionTemplate transactionTemplate,
+                              @Value("${news.tag-backfill.batch-size:500}") int batchSize) {
+        this.newsRepository = newsRepository;
+        this.newsTagIndexer = newsTagIndexer;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        Thread worker = new Thread(this::run, "news-tag-backfill");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    public void run() {
+        logger.info("News tag backfill started, batch size {}", batchSize);
+        long afterId = 0;
+        long processed = 0;
+        try {
+            while (true) {
+                List<NewsListItem> batch = newsRepository.findPageAfterId(afterId, PageRequest.ofSize(batchSize));
+                if (batch.isEmpty()) {
+                    break;
+                }
+                transactionTemplate.executeWithoutResult(status -> {
+                    for (NewsListItem item : batch) {
+                        newsTagIndexer.reindex(item.getId(), item.getTags(), item.getPublishedAt());
+                    }
+                });
+                afterId = batch.get(batch.size() - 1).getId();
+                processed += batch.size();
+                logger.debug("News tag backfill progress: {} rows, last id {}", processed, afterId);
+            }
+            logger.info("News tag backfill finished, {} news reindexed", processed);
+        } catch (Exception e) {
+            logger.error("News tag backfill aborted after {} rows, last id {}", processed, afterId, e);
+        }
+    }
+}
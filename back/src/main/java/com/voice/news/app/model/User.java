@@ -9,12 +9,15 @@ import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
 
 @Entity
-@Table(name = "users") // 数据库表名
+@Table(name = "users", indexes = { // 数据库表名
+        @Index(name = "idx_created_at_id", columnList = "created_at DESC, id DESC")
+})
 public class User {
 
     @Id
@@ -43,6 +46,12 @@ public class User {
     @Column(nullable = false, length = 100)
     private String password; // 密码
 
+    @Column(nullable = false, columnDefinition = "BIT(1) NOT NULL DEFAULT 1")
+    private boolean enabled = true; // 是否启用，禁用后已签发的访问令牌随状态缓存刷新失效
+
+    @Column(name = "token_version", nullable = false, columnDefinition = "INT NOT NULL DEFAULT 0")
+    private int tokenVersion; // 令牌版本，递增后此前签发的访问令牌全部失效
+
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt; // 创建时间
 
@@ -100,6 +109,14 @@ public class User {
         return password;
     }
 
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public int getTokenVersion() {
+        return tokenVersion;
+    }
+
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
@@ -141,6 +158,14 @@ public class User {
         this.password = password;
     }
 
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public void setTokenVersion(int tokenVersion) {
+        this.tokenVersion = tokenVersion;
+    }
+
     public void setCreatedAt(LocalDateTime createdAt) {
         this.createdAt = createdAt;
     }
@@ -0,0 +1,28 @@
+package com.voice.news.app.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Threshold;
+
+/**
+ * JFR 事件：一次 Hibernate flush（显式、事务提交前或查询前的自动 flush）
+ */
+@Name("com.voice.news.HibernateFlush")
+@Label("Hibernate Flush")
+@Category({"Voice News", "Database"})
+@Description("脏检查并写出持久化上下文中的变更；自动 flush 在查询涉及的表有未写出变更时发生")
+@Threshold("1 ms")
+public class HibernateFlushEvent extends Event {
+
+    @Label("Auto")
+    public boolean auto;
+
+    @Label("Entities")
+    public int entities;
+
+    @Label("Collections")
+    public int collections;
+}
@@ -0,0 +1,74 @@
+package com.voice.news.app.monitoring;
+
+import java.util.List;
+import java.util.Map;
+
+import org.hibernate.boot.Metadata;
+import org.hibernate.boot.spi.BootstrapContext;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.AutoFlushEvent;
+import org.hibernate.event.spi.AutoFlushEventListener;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.FlushEvent;
+import org.hibernate.event.spi.FlushEventListener;
+import org.hibernate.integrator.spi.Integrator;
+import org.hibernate.jpa.boot.spi.IntegratorProvider;
+import org.hibernate.service.spi.SessionFactoryServiceRegistry;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.stereotype.Component;
+
+/**
+ * 为每次 Hibernate flush 发出 HibernateFlushEvent
+ *
+ * 在 FLUSH 与 AUTO_FLUSH 监听器组的首尾各注册一个监听器：首个监听器开始计时，Hibernate 默认监听器执行 flush，
+ * 末尾监听器读取处理的实体与集合数并提交事件。会话只在单个线程内使用，进行中的事件放在 ThreadLocal 中；
+ * flush 抛出异常时该次事件丢弃。
+ */
+@Component
+public class HibernateFlushEvents implements HibernatePropertiesCustomizer, Integrator {
+
+    private final ThreadLocal<HibernateFlushEvent> current = new ThreadLocal<>();
+
+    @Override
+    public void customize(Map<String, Object> hibernateProperties) {
+        hibernateProperties.put("hibernate.integrator_provider", (IntegratorProvider) () -> List.of(this));
+    }
+
+    @Override
+    public void integrate(Metadata metadata, BootstrapContext bootstrapContext, SessionFactoryImplementor sessionFactory) {
+        EventListenerRegistry registry = sessionFactory.getServiceRegistry().requireService(EventListenerRegistry.class);
+        registry.prependListeners(EventType.FLUSH, (FlushEventListener) event -> begin(false));
+        registry.appendListeners(EventType.FLUSH, (FlushEventListener) this::end);
+        registry.prependListeners(EventType.AUTO_FLUSH, (AutoFlushEventListener) event -> begin(true));
+        registry.appendListeners(EventType.AUTO_FLUSH, (AutoFlushEventListener) this::end);
+    }
+
+    @Override
+    public void disintegrate(SessionFactoryImplementor sessionFactory, SessionFactoryServiceRegistry serviceRegistry) {
+    }
+
+    private void begin(boolean auto) {
+        HibernateFlushEvent event = new HibernateFlushEvent();
+        if (!event.isEnabled()) {
+            return;
+        }
+        event.auto = auto;
+        event.begin();
+        current.set(event);
+    }
+
+    private void end(FlushEvent flushEvent) {
+        HibernateFlushEvent event = current.get();
+        if (event == null) {
+            return;
+        }
+        current.remove();
+        event.end();
+        if (event.shouldCommit() && (!(flushEvent instanceof AutoFlushEvent autoFlush) || autoFlush.isFlushRequired())) {
+            event.entities = flushEvent.getNumberOfEntitiesProcessed();
+            event.collections = flushEvent.getNumberOfCollectionsProcessed();
+            event.commit();
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.voice.news.app.monitoring;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.core.io.Resource;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+/**
+ * actuator 端点 /actuator/jfr：
+ * GET 列出记录；POST 开启记录；GET /{id} 导出当前内容（.jfr 文件下载，记录继续运行）；DELETE /{id} 停止并释放
+ * 导出内容包含系统属性与环境变量，SecurityConfig 只允许 ADMIN 角色访问
+ */
+@Component
+@Endpoint(id = "jfr")
+public class JfrEndpoint {
+
+    private final JfrRecordings recordings;
+
+    public JfrEndpoint(JfrRecordings recordings) {
+        this.recordings = recordings;
+    }
+
+    @ReadOperation
+    public List<Map<String, Object>> recordings() {
+        return recordings.list();
+    }
+
+    /**
+     * @param settings default（默认，适合持续运行）或 profile
+     * @param thresholdMs 应用自定义事件的阈值，传 0 记录每一次调用
+     * @param durationSeconds 自动停止的时长，不传使用 monitoring.jfr.default-duration-minutes
+     * @param maxSizeMb 磁盘上保留的最大体积，不传或超过 monitoring.jfr.max-size-mb 时取该上限
+     */
+    @WriteOperation
+    public Map<String, Object> start(@Nullable String name, @Nullable String settings, @Nullable Long thresholdMs,
+                                     @Nullable Long durationSeconds, @Nullable Long maxAgeSeconds,
+                                     @Nullable Long maxSizeMb) {
+        return JfrRecordings.describe(recordings.start(
+                name == null ? "on-demand" : name,
+                settings == null ? "default" : settings,
+                thresholdMs,
+                durationSeconds == null ? null : Duration.ofSeconds(durationSeconds),
+                maxAgeSeconds == null ? null : Duration.ofSeconds(maxAgeSeconds),
+                maxSizeMb));
+    }
+
+    /**
+     * 导出文件在响应写完、流关闭时删除
+     */
+    @ReadOperation
+    public Resource dump(@Selector long id) throws IOException {
+        return new InputStreamResource(recordings.openDump(id));
+    }
+
+    @DeleteOperation
+    public Map<String, Object> stop(@Selector long id) {
+        return recordings.stop(id);
+    }
+}
@@ -0,0 +1,98 @@
+package com.voice.news.app.monitoring;
+
+import java.lang.reflect.Proxy;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.ClassFilter;
+import org.springframework.aop.ProxyMethodInvocation;
+import org.springframework.aop.framework.autoproxy.AbstractBeanFactoryAwareAdvisingPostProcessor;
+import org.springframework.aop.support.ClassFilters;
+import org.springframework.aop.support.ComposablePointcut;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.RootClassFilter;
+import org.springframework.aop.support.annotation.AnnotationClassFilter;
+import org.springframework.stereotype.Component;
+import org.springframework.stereotype.Repository;
+import org.springframework.util.ClassUtils;
+
+import com.voice.news.app.service.NewsService;
+
+/**
+ * 为仓库层与 NewsService 的方法调用发出 JFR 事件
+ *
+ * 与 Spring 的 PersistenceExceptionTranslationPostProcessor 相同的方式织入：标注 @Repository 的 JDBC 仓库
+ * 与 Spring Data 仓库（其实现类 SimpleJpaRepository 带 @Repository）发出 RepositoryCallEvent，
+ * NewsService 实现发出 ServiceCallEvent。拦截器排在已有通知之前，服务调用事件覆盖事务的提交。
+ * 未开启记录时每次调用只多一次事件对象的创建与 shouldCommit 判断。
+ */
+@Component
+public class JfrEventPostProcessor extends AbstractBeanFactoryAwareAdvisingPostProcessor {
+
+    public JfrEventPostProcessor() {
+        ClassFilter classFilter = ClassFilters.union(
+                new AnnotationClassFilter(Repository.class, true), new RootClassFilter(NewsService.class));
+        this.advisor = new DefaultPointcutAdvisor(new ComposablePointcut(classFilter), new EventInterceptor());
+        setBeforeExistingAdvisors(true);
+        setProxyTargetClass(true);
+    }
+
+    private static final class EventInterceptor implements MethodInterceptor {
+
+        @Override
+        public Object invoke(MethodInvocation invocation) throws Throwable {
+            return invocation.getThis() instanceof NewsService
+                    ? traceService(invocation)
+                    : traceRepository(invocation);
+        }
+
+        private static Object traceRepository(MethodInvocation invocation) throws Throwable {
+            RepositoryCallEvent event = new RepositoryCallEvent();
+            event.begin();
+            boolean succeeded = false;
+            try {
+                Object result = invocation.proceed();
+                succeeded = true;
+                return result;
+            } finally {
+                event.end();
+                if (event.shouldCommit()) {
+                    event.repository = repositoryName(invocation);
+                    event.method = invocation.getMethod().getName();
+                    event.succeeded = succeeded;
+                    event.commit();
+                }
+            }
+        }
+
+        private static Object traceService(MethodInvocation invocation) throws Throwable {
+            ServiceCallEvent event = new ServiceCallEvent();
+            event.begin();
+            boolean succeeded = false;
+            try {
+                Object result = invocation.proceed();
+                succeeded = true;
+                return result;
+            } finally {
+                event.end();
+                if (event.shouldCommit()) {
+                    event.service = ClassUtils.getUserClass(invocation.getThis()).getSimpleName();
+                    event.method = invocation.getMethod().getName();
+                    event.succeeded = succeeded;
+                    event.commit();
+                }
+            }
+        }
+
+        /**
+         * Spring Data 仓库是以仓库接口为首个接口的 JDK 代理，取接口名而不是 SimpleJpaRepository
+         */
+        private static String repositoryName(MethodInvocation invocation) {
+            if (invocation instanceof ProxyMethodInvocation proxyInvocation
+                    && Proxy.isProxyClass(proxyInvocation.getProxy().getClass())) {
+                return proxyInvocation.getProxy().getClass().getInterfaces()[0].getSimpleName();
+            }
+            return ClassUtils.getUserClass(invocation.getThis()).getSimpleName();
+        }
+    }
+}
@@ -0,0 +1,236 @@
+package com.voice.news.app.monitoring;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Event;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+
+/**
+ * 按需管理 JFR 记录，并可选地在启动后开启一个常驻的低开销记录
+ *
+ * 记录使用 JDK 自带的 default（持续运行，开销约 1%）或 profile（更多采样）配置，
+ * 应用自定义事件（com.voice.news.*）默认只记录超过各自 @Threshold 的调用，可在开启记录时统一改为其他阈值。
+ * 导出的 .jfr 文件写入 monitoring.jfr.dump-dir，可用 JDK Mission Control 或 jfr print 查看。
+ *
+ * 按需开启的记录总有时长与体积上限：未指定时长时 monitoring.jfr.default-duration-minutes 后自动停止，
+ * 磁盘体积不超过 monitoring.jfr.max-size-mb。导出文件只以记录ID命名，读取完毕即删除，目录中不会堆积。
+ */
+@Component
+public class JfrRecordings {
+
+    private static final Logger logger = LoggerFactory.getLogger(JfrRecordings.class);
+
+    private static final List<Class<? extends Event>> APPLICATION_EVENTS = List.of(
+            JwtVerificationEvent.class, UserLookupEvent.class, RedisCallEvent.class,
+            RepositoryCallEvent.class, ServiceCallEvent.class, HibernateFlushEvent.class);
+
+    private static final String CONTINUOUS_NAME = "continuous";
+    private static final Pattern NAME = Pattern.compile("[A-Za-z0-9_-]{1,64}");
+    private static final String DUMP_PREFIX = "recording-";
+
+    private final Path dumpDir;
+    private final Duration defaultDuration;
+    private final long maxSizeMb;
+    private final boolean continuousEnabled;
+    private final String continuousSettings;
+    private final Duration continuousMaxAge;
+    private final long continuousMaxSizeMb;
+
+    public JfrRecordings(@Value("${monitoring.jfr.dump-dir:data/jfr}") String dumpDir,
+                         @Value("${monitoring.jfr.default-duration-minutes:10}") long defaultDurationMinutes,
+                         @Value("${monitoring.jfr.max-size-mb:100}") long maxSizeMb,
+                         @Value("${monitoring.jfr.continuous.enabled:false}") boolean continuousEnabled,
+                         @Value("${monitoring.jfr.continuous.settings:default}") String continuousSettings,
+                         @Value("${monitoring.jfr.continuous.max-age-hours:6}") long continuousMaxAgeHours,
+                         @Value("${monitoring.jfr.continuous.max-size-mb:250}") long continuousMaxSizeMb) {
+        this.dumpDir = Paths.get(dumpDir).toAbsolutePath().normalize();
+        this.defaultDuration = Duration.ofMinutes(defaultDurationMinutes);
+        this.maxSizeMb = maxSizeMb;
+        this.continuousEnabled = continuousEnabled;
+        this.continuousSettings = continuousSettings;
+        this.continuousMaxAge = Duration.ofHours(continuousMaxAgeHours);
+        this.continuousMaxSizeMb = continuousMaxSizeMb;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startContinuous() {
+        deleteStaleDumps();
+        if (!continuousEnabled || !FlightRecorder.isAvailable()) {
+            return;
+        }
+        Recording recording = begin(CONTINUOUS_NAME, continuousSettings, null, null,
+                continuousMaxAge, continuousMaxSizeMb);
+        // 进程退出时把环形缓冲中的数据写出，便于事后分析
+        try {
+            Files.createDirectories(dumpDir);
+            recording.setDestination(resolveDumpFile(CONTINUOUS_NAME + "-exit.jfr"));
+            recording.setDumpOnExit(true);
+        } catch (IOException e) {
+            logger.warn("Cannot prepare JFR dump directory {}", dumpDir, e);
+        }
+        logger.info("Continuous JFR recording {} started with '{}' settings", recording.getId(), continuousSettings);
+    }
+
+    /**
+     * 按需开启一个记录
+     * @param name 记录名称，只允许字母、数字、下划线与连字符
+     * @param settings JDK 内置配置名（default、profile）
+     * @param thresholdMs 应用自定义事件的阈值（毫秒），为空时使用各事件默认阈值
+     * @param duration 自动停止的时长，为空时使用 monitoring.jfr.default-duration-minutes
+     * @param maxAge 磁盘上保留的最长时间跨度，为空时不限
+     * @param maxSizeMb 磁盘上保留的最大体积（MB），为空或超过 monitoring.jfr.max-size-mb 时取该上限
+     */
+    public Recording start(String name, String settings, Long thresholdMs, Duration duration,
+                           Duration maxAge, Long maxSizeMb) {
+        if (name == null || !NAME.matcher(name).matches()) {
+            throw new InvalidEndpointRequestException("Invalid JFR recording name: " + name,
+                    "记录名称只能包含字母、数字、下划线与连字符，且不超过64个字符");
+        }
+        if (CONTINUOUS_NAME.equals(name)) {
+            throw new InvalidEndpointRequestException("Reserved JFR recording name: " + name, "记录名称已被占用: " + name);
+        }
+        return begin(name, settings, thresholdMs, duration != null ? duration : defaultDuration, maxAge,
+                maxSizeMb != null ? Math.min(maxSizeMb, this.maxSizeMb) : this.maxSizeMb);
+    }
+
+    private Recording begin(String name, String settings, Long thresholdMs, Duration duration,
+                            Duration maxAge, Long maxSizeMb) {
+        if (!FlightRecorder.isAvailable()) {
+            throw new IllegalStateException("Java Flight Recorder is not available in this JVM");
+        }
+        Configuration configuration;
+        try {
+            configuration = Configuration.getConfiguration(settings);
+        } catch (IOException | ParseException e) {
+            throw new InvalidEndpointRequestException("Unknown JFR settings: " + settings, "未知的 JFR 配置: " + settings);
+        }
+        Recording recording = new Recording(configuration);
+        recording.setName(name);
+        recording.setToDisk(true);
+        if (thresholdMs != null) {
+            for (Class<? extends Event> type : APPLICATION_EVENTS) {
+                recording.enable(type).withThreshold(Duration.ofMillis(thresholdMs));
+            }
+        }
+        if (duration != null) {
+            recording.setDuration(duration);
+        }
+        if (maxAge != null) {
+            recording.setMaxAge(maxAge);
+        }
+        if (maxSizeMb != null) {
+            recording.setMaxSize(maxSizeMb * 1024 * 1024);
+        }
+        recording.start();
+        return recording;
+    }
+
+    /**
+     * 把记录当前的内容写出到 dump 目录的临时文件，记录继续运行
+     * @return 该文件的输入流，文件在流关闭时删除（Unix 上打开后即删除）
+     */
+    public InputStream openDump(long id) throws IOException {
+        Recording recording = find(id);
+        Files.createDirectories(dumpDir);
+        // 文件名只由记录ID构成，同一记录的并发导出各写一个文件
+        Path file = Files.createTempFile(dumpDir, DUMP_PREFIX + id + "-", ".jfr");
+        try {
+            recording.dump(file);
+            return Files.newInputStream(file, StandardOpenOption.DELETE_ON_CLOSE);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(file);
+            throw e;
+        }
+    }
+
+    /**
+     * 停止并释放记录，未导出的内容随之丢弃；需要保留时先导出再停止。常驻记录不能通过这里停止
+     */
+    public Map<String, Object> stop(long id) {
+        Recording recording = find(id);
+        if (continuousEnabled && CONTINUOUS_NAME.equals(recording.getName())) {
+            throw new InvalidEndpointRequestException("Cannot stop the continuous JFR recording",
+                    "常驻记录不能停止，关闭 monitoring.jfr.continuous.enabled 后重启");
+        }
+        if (recording.getState() == RecordingState.RUNNING) {
+            recording.stop();
+        }
+        Map<String, Object> info = describe(recording);
+        recording.close();
+        return info;
+    }
+
+    public List<Map<String, Object>> list() {
+        return FlightRecorder.getFlightRecorder().getRecordings().stream().map(JfrRecordings::describe).toList();
+    }
+
+    public static Map<String, Object> describe(Recording recording) {
+        Map<String, Object> info = new LinkedHashMap<>();
+        info.put("id", recording.getId());
+        info.put("name", recording.getName());
+        info.put("state", recording.getState());
+        info.put("startTime", recording.getStartTime());
+        info.put("duration", recording.getDuration());
+        info.put("maxAge", recording.getMaxAge());
+        info.put("maxSizeBytes", recording.getMaxSize());
+        info.put("sizeBytes", recording.getSize());
+        return info;
+    }
+
+    /**
+     * 解析 dump 目录下的文件，结果不在目录内时拒绝
+     */
+    private Path resolveDumpFile(String fileName) {
+        Path file = dumpDir.resolve(fileName).normalize();
+        if (!file.startsWith(dumpDir)) {
+            throw new IllegalArgumentException("JFR dump file outside " + dumpDir + ": " + fileName);
+        }
+        return file;
+    }
+
+    /**
+     * 删除上次运行时未被读取完的导出文件
+     */
+    private void deleteStaleDumps() {
+        if (!Files.isDirectory(dumpDir)) {
+            return;
+        }
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dumpDir, DUMP_PREFIX + "*.jfr")) {
+            for (Path file : files) {
+                Files.deleteIfExists(file);
+            }
+        } catch (IOException e) {
+            logger.warn("Cannot clean JFR dump directory {}", dumpDir, e);
+        }
+    }
+
+    private Recording find(long id) {
+        return FlightRecorder.getFlightRecorder().getRecordings().stream()
+                .filter(recording -> recording.getId() == id)
+                .findFirst()
+                .orElseThrow(() -> new InvalidEndpointRequestException("No JFR recording " + id, "记录不存在: " + id));
+    }
+}
@@ -0,0 +1,22 @@
+package com.voice.news.app.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Threshold;
+
+/**
+ * JFR 事件：JwtAuthenticationFilter 中访问令牌的验签与解析
+ */
+@Name("com.voice.news.JwtVerification")
+@Label("JWT Verification")
+@Category({"Voice News", "Auth"})
+@Description("访问令牌验签与声明解析，命中已验证令牌缓存时耗时接近零")
+@Threshold("0 ms")
+public class JwtVerificationEvent extends Event {
+
+    @Label("Valid")
+    public boolean valid;
+}
@@ -0,0 +1,26 @@
+package com.voice.news.app.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Threshold;
+
+/**
+ * JFR 事件：一次 Redis 往返（令牌签发、轮换、校验与撤销）
+ */
+@Name("com.voice.news.RedisCall")
+@Label("Redis Call")
+@Category({"Voice News", "Redis"})
+@Threshold("0 ms")
+public class RedisCallEvent extends Event {
+
+    @Label("Component")
+    public String component;
+
+    @Label("Operation")
+    public String operation;
+
+    @Label("Succeeded")
+    public boolean succeeded;
+}
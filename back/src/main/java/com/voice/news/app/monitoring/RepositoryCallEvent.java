@@ -0,0 +1,26 @@
+package com.voice.news.app.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Threshold;
+
+/**
+ * JFR 事件：一次仓库方法调用（Spring Data 仓库与 JDBC 仓库）
+ */
+@Name("com.voice.news.RepositoryCall")
+@Label("Repository Call")
+@Category({"Voice News", "Database"})
+@Threshold("1 ms")
+public class RepositoryCallEvent extends Event {
+
+    @Label("Repository")
+    public String repository;
+
+    @Label("Method")
+    public String method;
+
+    @Label("Succeeded")
+    public boolean succeeded;
+}
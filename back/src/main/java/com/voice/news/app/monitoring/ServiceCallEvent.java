@@ -0,0 +1,28 @@
+package com.voice.news.app.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Threshold;
+
+/**
+ * JFR 事件：一次 NewsService 方法调用，包含事务提交（及其中的 Hibernate flush）
+ */
+@Name("com.voice.news.ServiceCall")
+@Label("Service Call")
+@Category({"Voice News", "Service"})
+@Description("NewsService 方法调用，时间范围覆盖事务的开启与提交")
+@Threshold("1 ms")
+public class ServiceCallEvent extends Event {
+
+    @Label("Service")
+    public String service;
+
+    @Label("Method")
+    public String method;
+
+    @Label("Succeeded")
+    public boolean succeeded;
+}
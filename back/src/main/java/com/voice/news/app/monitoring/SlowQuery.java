@@ -0,0 +1,49 @@
+package com.voice.news.app.monitoring;
+
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * 一条超过阈值的 SQL 执行记录
+ */
+@Data
+@AllArgsConstructor
+public class SlowQuery {
+
+    /**
+     * 执行完成时间
+     */
+    private LocalDateTime finishedAt;
+
+    /**
+     * 带占位符的 SQL，不含参数值
+     */
+    private String sql;
+
+    /**
+     * 执行耗时（毫秒），查询不含结果集的遍历时间
+     */
+    private double elapsedMs;
+
+    /**
+     * 每行绑定的参数个数
+     */
+    private int bindCount;
+
+    /**
+     * 批处理的行数，非批处理为 0
+     */
+    private int batchSize;
+
+    /**
+     * 查询读取的行数或更新影响的行数，未知时为 -1
+     */
+    private long rows;
+
+    /**
+     * 执行线程
+     */
+    private String thread;
+}
@@ -0,0 +1,176 @@
+package com.voice.news.app.monitoring;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * 记录慢 SQL 的数据源包装
+ *
+ * 连接上新建的语句按 SlowQueryLog 的抽样率决定是否包装，未抽中的语句原样返回、没有额外开销。
+ * 被包装的语句统计绑定参数个数与批处理行数，并计时每次 execute*：
+ * 更新与批处理超过阈值时立即记录影响行数；查询超过阈值时再包装结果集，在结果集关闭时记录读取的行数。
+ * 未超过阈值的查询不包装结果集。
+ */
+public class SlowQueryDataSource extends DelegatingDataSource {
+
+    /**
+     * 普通 Statement 上 addBatch(sql) 后执行的批处理没有单一 SQL
+     */
+    private static final String STATEMENT_BATCH = "<statement batch>";
+
+    private final SlowQueryLog slowQueryLog;
+
+    public SlowQueryDataSource(DataSource targetDataSource, SlowQueryLog slowQueryLog) {
+        super(targetDataSource);
+        this.slowQueryLog = slowQueryLog;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrap(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrap(super.getConnection(username, password));
+    }
+
+    private Connection wrap(Connection connection) {
+        return proxy(Connection.class, (proxy, method, args) -> {
+            Object result = invoke(connection, method, args);
+            if (!(result instanceof Statement statement) || !slowQueryLog.sample()) {
+                return result;
+            }
+            String sql = args != null && args.length > 0 && args[0] instanceof String s ? s : null;
+            Class<? extends Statement> type = result instanceof CallableStatement ? CallableStatement.class
+                    : result instanceof PreparedStatement ? PreparedStatement.class : Statement.class;
+            return proxy(type, new StatementHandler(statement, sql));
+        });
+    }
+
+    private final class StatementHandler implements InvocationHandler {
+
+        private final Statement target;
+        private final String preparedSql;
+        private int bindCount;
+        private int batchSize;
+
+        StatementHandler(Statement target, String preparedSql) {
+            this.target = target;
+            this.preparedSql = preparedSql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                bindCount = Math.max(bindCount, index);
+            } else if (name.equals("addBatch")) {
+                batchSize++;
+            } else if (name.equals("clearBatch")) {
+                batchSize = 0;
+            } else if (name.startsWith("execute")) {
+                return execute(method, args);
+            }
+            return SlowQueryDataSource.invoke(target, method, args);
+        }
+
+        private Object execute(Method method, Object[] args) throws Throwable {
+            String sql = args != null && args.length > 0 && args[0] instanceof String s ? s
+                    : preparedSql != null ? preparedSql : STATEMENT_BATCH;
+            int batch = batchSize;
+            long start = System.nanoTime();
+            Object result;
+            try {
+                result = SlowQueryDataSource.invoke(target, method, args);
+            } finally {
+                if (method.getName().contains("Batch")) {
+                    batchSize = 0;
+                }
+            }
+            long elapsed = System.nanoTime() - start;
+            if (!slowQueryLog.isSlow(elapsed)) {
+                return result;
+            }
+            if (result instanceof ResultSet resultSet) {
+                return proxy(ResultSet.class, new ResultSetHandler(resultSet, sql, elapsed, bindCount));
+            }
+            slowQueryLog.record(sql, elapsed, bindCount, batch, affectedRows(result));
+            return result;
+        }
+    }
+
+    private final class ResultSetHandler implements InvocationHandler {
+
+        private final ResultSet target;
+        private final String sql;
+        private final long elapsed;
+        private final int bindCount;
+        private long rows;
+        private boolean recorded;
+
+        ResultSetHandler(ResultSet target, String sql, long elapsed, int bindCount) {
+            this.target = target;
+            this.sql = sql;
+            this.elapsed = elapsed;
+            this.bindCount = bindCount;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = SlowQueryDataSource.invoke(target, method, args);
+            if (method.getName().equals("next") && Boolean.TRUE.equals(result)) {
+                rows++;
+            } else if (method.getName().equals("close") && !recorded) {
+                recorded = true;
+                slowQueryLog.record(sql, elapsed, bindCount, 0, rows);
+            }
+            return result;
+        }
+    }
+
+    private static long affectedRows(Object result) {
+        if (result instanceof Number count) {
+            return count.longValue();
+        }
+        if (result instanceof int[] counts) {
+            long total = 0;
+            for (int count : counts) {
+                total += Math.max(count, 0);
+            }
+            return total;
+        }
+        if (result instanceof long[] counts) {
+            long total = 0;
+            for (long count : counts) {
+                total += Math.max(count, 0);
+            }
+            return total;
+        }
+        return -1;
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return type.cast(Proxy.newProxyInstance(SlowQueryDataSource.class.getClassLoader(), new Class<?>[] {type}, handler));
+    }
+}
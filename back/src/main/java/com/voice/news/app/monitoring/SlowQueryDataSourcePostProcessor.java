@@ -0,0 +1,35 @@
+package com.voice.news.app.monitoring;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * 把容器中的数据源包装为 SlowQueryDataSource
+ *
+ * SlowQueryLog 依赖 MeterRegistry，这里通过 ObjectProvider 延迟到数据源创建时才获取，
+ * 避免后处理器注册阶段提前实例化 MeterRegistry。monitoring.slow-query.enabled=false 时不包装。
+ */
+@Component
+public class SlowQueryDataSourcePostProcessor implements BeanPostProcessor {
+
+    private final ObjectProvider<SlowQueryLog> slowQueryLog;
+    private final boolean enabled;
+
+    public SlowQueryDataSourcePostProcessor(ObjectProvider<SlowQueryLog> slowQueryLog,
+                                            @Value("${monitoring.slow-query.enabled:true}") boolean enabled) {
+        this.slowQueryLog = slowQueryLog;
+        this.enabled = enabled;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (enabled && bean instanceof DataSource dataSource && !(bean instanceof SlowQueryDataSource)) {
+            return new SlowQueryDataSource(dataSource, slowQueryLog.getObject());
+        }
+        return bean;
+    }
+}
@@ -0,0 +1,39 @@
+package com.voice.news.app.monitoring;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * actuator 端点 /actuator/slowqueries：GET 查看最近的慢 SQL（最新的在前），DELETE 清空
+ * 返回原始 SQL 文本，且 DELETE 会清空记录，SecurityConfig 只允许 ADMIN 角色访问
+ */
+@Component
+@Endpoint(id = "slowqueries")
+public class SlowQueryEndpoint {
+
+    private final SlowQueryLog slowQueryLog;
+
+    public SlowQueryEndpoint(SlowQueryLog slowQueryLog) {
+        this.slowQueryLog = slowQueryLog;
+    }
+
+    @ReadOperation
+    public Map<String, Object> slowQueries() {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("thresholdMs", slowQueryLog.getThresholdMs());
+        body.put("sampleRate", slowQueryLog.getSampleRate());
+        body.put("total", slowQueryLog.total());
+        body.put("queries", slowQueryLog.recent());
+        return body;
+    }
+
+    @DeleteOperation
+    public void clear() {
+        slowQueryLog.clear();
+    }
+}
@@ -0,0 +1,121 @@
+package com.voice.news.app.monitoring;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * 慢 SQL 环形缓冲区，保留最近 capacity 条超过阈值的执行记录
+ *
+ * 由 SlowQueryDataSource 按 sample-rate 抽样的连接语句写入，未抽中的语句不做任何包装；
+ * 默认只抽 1%，慢语句通常反复出现，少量抽样即可发现，排查期间可临时调到 1.0 全量计时。
+ * 缓冲区满后覆盖最旧的记录。记录内容通过 actuator 的 slowqueries 端点查看，
+ * 同时以 INFO 级别输出一行日志并累加 db.slow.queries 计数，替代逐条打印 SQL。
+ */
+@Component
+public class SlowQueryLog {
+
+    private static final Logger logger = LoggerFactory.getLogger(SlowQueryLog.class);
+
+    private final long thresholdNanos;
+    private final double sampleRate;
+    private final SlowQuery[] buffer;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Counter slowQueries;
+    private long total;
+
+    public SlowQueryLog(MeterRegistry meterRegistry,
+                        @Value("${monitoring.slow-query.threshold-ms:200}") long thresholdMs,
+                        @Value("${monitoring.slow-query.sample-rate:0.01}") double sampleRate,
+                        @Value("${monitoring.slow-query.capacity:200}") int capacity) {
+        this.thresholdNanos = TimeUnit.MILLISECONDS.toNanos(thresholdMs);
+        this.sampleRate = sampleRate;
+        this.buffer = new SlowQuery[capacity];
+        this.slowQueries = meterRegistry.counter("db.slow.queries");
+    }
+
+    /**
+     * 决定一条新语句是否参与慢 SQL 统计
+     */
+    public boolean sample() {
+        return sampleRate >= 1.0 || (sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate);
+    }
+
+    public boolean isSlow(long elapsedNanos) {
+        return elapsedNanos >= thresholdNanos;
+    }
+
+    public void record(String sql, long elapsedNanos, int bindCount, int batchSize, long rows) {
+        SlowQuery query = new SlowQuery(LocalDateTime.now(), sql, elapsedNanos / 1e6, bindCount, batchSize, rows,
+                Thread.currentThread().getName());
+        slowQueries.increment();
+        logger.info("Slow query {} ms, binds={}, batch={}, rows={}: {}",
+                String.format("%.1f", query.getElapsedMs()), bindCount, batchSize, rows, sql);
+        lock.lock();
+        try {
+            buffer[(int) (total % buffer.length)] = query;
+            total++;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return 缓冲区中的记录，最新的在前
+     */
+    public List<SlowQuery> recent() {
+        lock.lock();
+        try {
+            int size = (int) Math.min(total, buffer.length);
+            List<SlowQuery> queries = new ArrayList<>(size);
+            for (int i = 1; i <= size; i++) {
+                queries.add(buffer[(int) ((total - i) % buffer.length)]);
+            }
+            return queries;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return 启动（或上次清空）以来记录过的慢 SQL 总数，包括已被覆盖的
+     */
+    public long total() {
+        lock.lock();
+        try {
+            return total;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void clear() {
+        lock.lock();
+        try {
+            total = 0;
+            Arrays.fill(buffer, null);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getThresholdMs() {
+        return TimeUnit.NANOSECONDS.toMillis(thresholdNanos);
+    }
+
+    public double getSampleRate() {
+        return sampleRate;
+    }
+}
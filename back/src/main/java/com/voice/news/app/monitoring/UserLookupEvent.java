@@ -0,0 +1,22 @@
+package com.voice.news.app.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Threshold;
+
+/**
+ * JFR 事件：认证过滤器退回 loadUserByUsername 查库构造主体
+ */
+@Name("com.voice.news.UserLookup")
+@Label("User Lookup")
+@Category({"Voice News", "Auth"})
+@Description("令牌缺少无状态主体声明或关闭 jwt.stateless-principal 时按用户名查库")
+@Threshold("0 ms")
+public class UserLookupEvent extends Event {
+
+    @Label("Found")
+    public boolean found;
+}
@@ -0,0 +1,318 @@
+package com.voice.news.app.repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import com.voice.news.app.dto.NewsDeleteFilter;
+import com.voice.news.app.dto.NewsListItem;
+import com.voice.news.app.entity.News;
+
+/**
+ * 新闻冷数据归档表 news_archive 的读写
+ *
+ * 归档表按 published_at 按月 RANGE 分区，并使用 InnoDB 压缩行格式；主键为 (id, published_at)，
+ * 保留原新闻ID，因此按ID读取时无需知道文章所在月份。时间范围查询带 published_at 条件，
+ * 由分区裁剪只扫描涉及的月份。
+ *
+ * 分区表的唯一索引必须包含分区列，url_hash 在归档表上只有普通索引 idx_url_hash，
+ * 链接去重时由调用方同时查询热表与归档表。
+ */
+@Repository
+public class NewsArchiveRepository {
+
+    private static final String COLUMNS = "id, title, summary, content, tags, source, url, url_hash, published_at, created_at";
+
+    private static final String CREATE_TABLE_SQL = "CREATE TABLE IF NOT EXISTS news_archive ("
+            + "id BIGINT UNSIGNED NOT NULL, "
+            + "title VARCHAR(500) NOT NULL, "
+            + "summary TEXT, "
+            + "content LONGTEXT, "
+            + "tags VARCHAR(200), "
+            + "source VARCHAR(200), "
+            + "url VARCHAR(500), "
+            + "url_hash CHAR(64), "
+            + "published_at DATETIME NOT NULL, "
+            + "created_at DATETIME NOT NULL, "
+            + "archived_at DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP, "
+            + "PRIMARY KEY (id, published_at), "
+            + "INDEX idx_published_at_id (published_at DESC, id DESC), "
+            + "INDEX idx_url_hash (url_hash)"
+            + ") ENGINE=InnoDB ROW_FORMAT=COMPRESSED KEY_BLOCK_SIZE=8 DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci "
+            + "PARTITION BY RANGE COLUMNS(published_at) ("
+            + "PARTITION p_old VALUES LESS THAN ('2000-01-01'), "
+            + "PARTITION p_future VALUES LESS THAN (MAXVALUE))";
+
+    private static final DateTimeFormatter PARTITION_NAME = DateTimeFormatter.ofPattern("'p'yyyyMM");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final NamedParameterJdbcTemplate streamingJdbcTemplate;
+
+    public NewsArchiveRepository(JdbcTemplate jdbcTemplate, NamedParameterJdbcTemplate namedJdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = namedJdbcTemplate;
+        // MySQL 驱动只有 fetchSize 为 Integer.MIN_VALUE 时才逐行流式返回
+        JdbcTemplate streaming = new JdbcTemplate(jdbcTemplate.getDataSource());
+        streaming.setFetchSize(Integer.MIN_VALUE);
+        this.streamingJdbcTemplate = new NamedParameterJdbcTemplate(streaming);
+    }
+
+    /**
+     * 归档表不存在时创建
+     */
+    public void createTableIfMissing() {
+        jdbcTemplate.execute(CREATE_TABLE_SQL);
+    }
+
+    /**
+     * 为早于 idx_url_hash 创建的归档表补建索引
+     * @return 是否新建了索引
+     */
+    public boolean addUrlHashIndexIfMissing() {
+        Integer count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM information_schema.statistics "
+                        + "WHERE table_schema = DATABASE() AND table_name = 'news_archive' AND index_name = 'idx_url_hash'",
+                Integer.class);
+        if (count != null && count > 0) {
+            return false;
+        }
+        jdbcTemplate.execute("ALTER TABLE news_archive ADD INDEX idx_url_hash (url_hash)");
+        return true;
+    }
+
+    /**
+     * 补齐归档所需的月分区：从 p_future 中拆出 [from, to] 之间尚不存在的月份
+     * 只追加比现有最大月份更晚的分区，更早月份的数据落入相邻的已有分区
+     * @param from 需要的最早月份
+     * @param to 需要的最晚月份
+     * @return 新增的分区数
+     */
+    public int addMonthlyPartitions(YearMonth from, YearMonth to) {
+        List<String> names = jdbcTemplate.queryForList(
+                "SELECT partition_name FROM information_schema.partitions "
+                        + "WHERE table_schema = DATABASE() AND table_name = 'news_archive' AND partition_name LIKE 'p2%'",
+                String.class);
+        YearMonth start = from;
+        for (String name : names) {
+            YearMonth month = YearMonth.parse(name, PARTITION_NAME);
+            if (!month.isBefore(start)) {
+                start = month.plusMonths(1);
+            }
+        }
+        if (start.isAfter(to)) {
+            return 0;
+        }
+        List<String> partitions = new ArrayList<>();
+        for (YearMonth month = start; !month.isAfter(to); month = month.plusMonths(1)) {
+            LocalDate upper = month.plusMonths(1).atDay(1);
+            partitions.add("PARTITION " + month.format(PARTITION_NAME) + " VALUES LESS THAN ('" + upper + "')");
+        }
+        partitions.add("PARTITION p_future VALUES LESS THAN (MAXVALUE)");
+        jdbcTemplate.execute("ALTER TABLE news_archive REORGANIZE PARTITION p_future INTO ("
+                + String.join(", ", partitions) + ")");
+        return partitions.size() - 1;
+    }
+
+    /**
+     * 把一组新闻从 news 复制到归档表，已归档过的行忽略
+     * @param ids 新闻ID集合
+     * @return 新写入归档表的行数
+     */
+    public int copyFromNews(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        return namedJdbcTemplate.update("INSERT IGNORE INTO news_archive (" + COLUMNS + ") "
+                        + "SELECT " + COLUMNS + " FROM news WHERE id IN (:ids)",
+                new MapSqlParameterSource("ids", ids));
+    }
+
+    /**
+     * 按 url_hash 查询已归档记录的主键，走 idx_url_hash 索引
+     * @param urlHashes 待查询的哈希
+     * @return 已归档的 url_hash 到主键的映射
+     */
+    public Map<String, Long> findIdsByUrlHash(Collection<String> urlHashes) {
+        Map<String, Long> ids = new HashMap<>();
+        if (urlHashes.isEmpty()) {
+            return ids;
+        }
+        namedJdbcTemplate.query("SELECT id, url_hash FROM news_archive WHERE url_hash IN (:hashes)",
+                new MapSqlParameterSource("hashes", urlHashes),
+                rs -> {
+                    ids.put(rs.getString(2), rs.getLong(1));
+                });
+        return ids;
+    }
+
+    /**
+     * 按主键顺序分页读取归档新闻的 (id, url_hash)，供去重过滤器预热
+     * @return 每行依次为 id、url_hash
+     */
+    public List<Object[]> findUrlHashPage(long afterId, int limit) {
+        return jdbcTemplate.query("SELECT id, url_hash FROM news_archive WHERE id > ? ORDER BY id LIMIT ?",
+                (rs, rowNum) -> new Object[] {rs.getLong(1), rs.getString(2)},
+                afterId, limit);
+    }
+
+    /**
+     * 查询给定ID中已归档的部分
+     */
+    public Set<Long> findExistingIds(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return Set.of();
+        }
+        return new HashSet<>(namedJdbcTemplate.queryForList("SELECT id FROM news_archive WHERE id IN (:ids)",
+                new MapSqlParameterSource("ids", ids), Long.class));
+    }
+
+    /**
+     * 以一条 DELETE ... WHERE id IN 语句删除一组归档新闻
+     * @return 删除的行数
+     */
+    public int deleteByIds(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        return namedJdbcTemplate.update("DELETE FROM news_archive WHERE id IN (:ids)", new MapSqlParameterSource("ids", ids));
+    }
+
+    /**
+     * 按主键顺序取出下一批满足删除条件的归档新闻ID，条件语义与 NewsJdbcRepository.findIdsByFilter 相同
+     * 归档表没有标签索引，标签条件在逗号分隔的 tags 列上匹配
+     */
+    public List<Long> findIdsByFilter(NewsDeleteFilter filter, long afterId, int limit) {
+        MapSqlParameterSource params = new MapSqlParameterSource("afterId", afterId).addValue("limit", limit);
+        String sql = "SELECT id FROM news_archive WHERE id > :afterId" + filterClause(filter, params)
+                + " ORDER BY id LIMIT :limit";
+        return namedJdbcTemplate.queryForList(sql, params, Long.class);
+    }
+
+    /**
+     * 统计满足删除条件的归档新闻数
+     */
+    public long countByFilter(NewsDeleteFilter filter) {
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        Long count = namedJdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM news_archive WHERE 1 = 1" + filterClause(filter, params), params, Long.class);
+        return count == null ? 0 : count;
+    }
+
+    /**
+     * 按ID读取归档新闻
+     * @param id 新闻ID
+     * @return 归档的新闻（可选）
+     */
+    public Optional<News> findById(Long id) {
+        List<News> rows = jdbcTemplate.query("SELECT " + COLUMNS + " FROM news_archive WHERE id = ?",
+                (rs, rowNum) -> mapNews(rs), id);
+        return rows.stream().findFirst();
+    }
+
+    /**
+     * 查询归档新闻的抓取时间，归档后不再修改，即其最后修改时间
+     */
+    public Optional<LocalDateTime> findCreatedAt(Long id) {
+        List<Timestamp> rows = jdbcTemplate.queryForList(
+                "SELECT created_at FROM news_archive WHERE id = ?", Timestamp.class, id);
+        return rows.stream().findFirst().map(Timestamp::toLocalDateTime);
+    }
+
+    /**
+     * 键集分页查询指定时间范围内的归档新闻，语义与 NewsRepository.findByPublishedAtBetweenBefore 相同
+     * @param limit 返回条数上限
+     * @return 排在游标之后的新闻列表
+     */
+    public List<NewsListItem> findByPublishedAtBetweenBefore(LocalDateTime start, LocalDateTime end,
+                                                             LocalDateTime publishedAt, Long id, int limit) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("start", Timestamp.valueOf(start))
+                .addValue("end", Timestamp.valueOf(end))
+                .addValue("publishedAt", Timestamp.valueOf(publishedAt))
+                .addValue("id", id)
+                .addValue("limit", limit);
+        return namedJdbcTemplate.query("SELECT id, title, summary, tags, source, url, published_at FROM news_archive "
+                        + "WHERE published_at BETWEEN :start AND :end "
+                        + "AND (published_at < :publishedAt OR (published_at = :publishedAt AND id < :id)) "
+                        + "ORDER BY published_at DESC, id DESC LIMIT :limit",
+                params,
+                (rs, rowNum) -> new NewsListItem(
+                        rs.getLong("id"),
+                        rs.getString("title"),
+                        rs.getString("summary"),
+                        rs.getString("tags"),
+                        rs.getString("source"),
+                        rs.getString("url"),
+                        rs.getTimestamp("published_at").toLocalDateTime()));
+    }
+
+    /**
+     * 流式读取指定时间范围内的归档新闻（含正文），按 (publishedAt, id) 倒序逐行回调
+     */
+    public void streamByPublishedAtBetween(LocalDateTime start, LocalDateTime end, Consumer<News> consumer) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("start", Timestamp.valueOf(start))
+                .addValue("end", Timestamp.valueOf(end));
+        streamingJdbcTemplate.query("SELECT " + COLUMNS + " FROM news_archive "
+                        + "WHERE published_at BETWEEN :start AND :end ORDER BY published_at DESC, id DESC",
+                params,
+                rs -> {
+                    consumer.accept(mapNews(rs));
+                });
+    }
+
+    private static String filterClause(NewsDeleteFilter filter, MapSqlParameterSource params) {
+        StringBuilder sql = new StringBuilder();
+        if (filter.getSource() != null) {
+            sql.append(" AND source = :source");
+            params.addValue("source", filter.getSource());
+        }
+        if (filter.getTag() != null) {
+            // 与 NewsTagIndexer.parseTags 一致：全角逗号视为分隔符，去掉分隔符两侧的空格
+            sql.append(" AND FIND_IN_SET(:tag, REPLACE(REPLACE(REPLACE(tags, '，', ','), ', ', ','), ' ,', ',')) > 0");
+            params.addValue("tag", filter.getTag());
+        }
+        if (filter.getStart() != null) {
+            sql.append(" AND published_at >= :start");
+            params.addValue("start", Timestamp.valueOf(filter.getStart()));
+        }
+        if (filter.getEnd() != null) {
+            sql.append(" AND published_at <= :end");
+            params.addValue("end", Timestamp.valueOf(filter.getEnd()));
+        }
+        return sql.toString();
+    }
+
+    private static News mapNews(ResultSet rs) throws SQLException {
+        News news = new News();
+        news.setId(rs.getLong("id"));
+        news.setTitle(rs.getString("title"));
+        news.setSummary(rs.getString("summary"));
+        news.setContent(rs.getString("content"));
+        news.setTags(rs.getString("tags"));
+        news.setSource(rs.getString("source"));
+        news.setUrl(rs.getString("url"));
+        news.setUrlHash(rs.getString("url_hash"));
+        news.setPublishedAt(rs.getTimestamp("published_at").toLocalDateTime());
+        news.setCreatedAt(rs.getTimestamp("created_at").toLocalDateTime());
+        return news;
+    }
+}
@@ -0,0 +1,347 @@
+package com.voice.news.app.repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+
+import com.voice.news.app.dto.IngestMode;
+import com.voice.news.app.dto.NewsDeleteFilter;
+import com.voice.news.app.entity.News;
+import com.voice.news.app.service.NewsTagIndexer;
+
+/**
+ * 新闻批量写入，绕过 JPA 直接使用 JDBC 批处理
+ *
+ * News 主键为 IDENTITY，Hibernate 无法对其批量插入；这里用一条批处理语句写入整批数据，
+ * MySQL 驱动在 rewriteBatchedStatements=true 时会改写为多值 INSERT，
+ * 自增主键按批次顺序通过 getGeneratedKeys 取回。
+ *
+ * 带原文链接的新闻走 upsertBatch：加锁读出已存在的记录后，以多值 INSERT IGNORE / ON DUPLICATE KEY UPDATE 语句写入，
+ * 由 url_hash 唯一索引兜底判重，并发写入同一链接时整批回滚重试。
+ *
+ * 批量删除同样按集合执行：一批ID一条 DELETE ... WHERE id IN，不逐条加载实体。
+ */
+@Repository
+public class NewsJdbcRepository {
+
+    private static final String NEWS_COLUMNS = "(title, summary, content, tags, source, url, url_hash, published_at, created_at, updated_at)";
+    private static final String NEWS_PLACEHOLDERS = "(?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final int NEWS_COLUMN_COUNT = 10;
+
+    private static final String INSERT_NEWS_SQL = "INSERT INTO news " + NEWS_COLUMNS + " VALUES " + NEWS_PLACEHOLDERS;
+
+    private static final String MERGE_CLAUSE = " ON DUPLICATE KEY UPDATE title = VALUES(title), summary = VALUES(summary), "
+            + "content = VALUES(content), tags = VALUES(tags), source = VALUES(source), url = VALUES(url), "
+            + "published_at = VALUES(published_at), updated_at = VALUES(updated_at)";
+
+    /**
+     * 标签行按 (news_id, tag) 唯一，重复写入时忽略，使重试与重复提交不会整批失败
+     */
+    private static final String INSERT_TAG_SQL = "INSERT IGNORE INTO news_tag (news_id, tag, published_at) VALUES (?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    public NewsJdbcRepository(JdbcTemplate jdbcTemplate, NamedParameterJdbcTemplate namedJdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = namedJdbcTemplate;
+    }
+
+    /**
+     * 批量插入新闻及其标签索引行，并回填生成的主键
+     * @param newsList 待插入的新闻，插入后 id 被设置
+     */
+    public void insertBatch(List<News> newsList) {
+        if (newsList.isEmpty()) {
+            return;
+        }
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(
+                con -> con.prepareStatement(INSERT_NEWS_SQL, Statement.RETURN_GENERATED_KEYS),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        bindNews(ps, 0, newsList.get(i));
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return newsList.size();
+                    }
+                },
+                keyHolder);
+
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        for (int i = 0; i < newsList.size(); i++) {
+            newsList.get(i).setId(((Number) keys.get(i).values().iterator().next()).longValue());
+        }
+        insertTags(newsList);
+    }
+
+    /**
+     * 按 url_hash 去重写入，并为每条新闻回填对应记录的主键（新插入或已存在）
+     *
+     * 先在同一事务内按 url_hash 加锁读（SELECT ... FOR UPDATE，读最新提交版本并锁住已有记录），
+     * 据此把批次分为已存在与待插入两组：待插入的一条多值 INSERT IGNORE，MERGE 模式下已存在的一条多值
+     * ON DUPLICATE KEY UPDATE。生成主键既不连续也不与行一一对应（innodb_autoinc_lock_mode=2 时并发批次还会交错），
+     * 不能据此分类；改为核对 INSERT IGNORE 的影响行数：少于待插入条数说明加锁读之后有并发批次写入了同一链接，
+     * 此时无法确定哪些行是本批插入的，抛出 OptimisticLockingFailureException 回滚，由调用方整批重试，
+     * 重试时这些链接已可见，会被判为已存在。写入后再以加锁读取回主键。须在事务内调用。
+     * @param newsList 待写入的新闻，url_hash 不能为空且批内不重复
+     * @param mode SKIP 保留已有记录；MERGE 覆盖已有记录
+     * @return 写入前已存在的 url_hash，其余条目为本次新插入
+     */
+    public Set<String> upsertBatch(List<News> newsList, IngestMode mode) {
+        if (newsList.isEmpty()) {
+            return Set.of();
+        }
+        List<String> urlHashes = newsList.stream().map(News::getUrlHash).toList();
+        Set<String> existing = new HashSet<>(lockIdsByUrlHash(urlHashes).keySet());
+        List<News> inserts = new ArrayList<>();
+        List<News> merges = new ArrayList<>();
+        for (News news : newsList) {
+            if (!existing.contains(news.getUrlHash())) {
+                inserts.add(news);
+            } else if (mode == IngestMode.MERGE) {
+                merges.add(news);
+            }
+        }
+
+        int inserted = insertValues("INSERT IGNORE INTO news ", inserts, "");
+        if (inserted != inserts.size()) {
+            throw new OptimisticLockingFailureException(
+                    "url_hash 被并发写入，插入 " + inserted + " 条，预期 " + inserts.size() + " 条");
+        }
+        insertValues("INSERT INTO news ", merges, MERGE_CLAUSE);
+
+        Map<String, Long> ids = lockIdsByUrlHash(urlHashes);
+        for (News news : newsList) {
+            news.setId(ids.get(news.getUrlHash()));
+        }
+        return existing;
+    }
+
+    private int insertValues(String insert, List<News> newsList, String suffix) {
+        if (newsList.isEmpty()) {
+            return 0;
+        }
+        String sql = insert + NEWS_COLUMNS + " VALUES "
+                + String.join(", ", Collections.nCopies(newsList.size(), NEWS_PLACEHOLDERS)) + suffix;
+        return jdbcTemplate.update(con -> {
+            PreparedStatement ps = con.prepareStatement(sql);
+            for (int i = 0; i < newsList.size(); i++) {
+                bindNews(ps, i * NEWS_COLUMN_COUNT, newsList.get(i));
+            }
+            return ps;
+        });
+    }
+
+    /**
+     * 按 url_hash 查询已存在记录的主键
+     * @param urlHashes 待查询的哈希
+     * @return 已存在的 url_hash 到主键的映射
+     */
+    public Map<String, Long> findIdsByUrlHash(Collection<String> urlHashes) {
+        Map<String, Long> ids = new HashMap<>();
+        if (urlHashes.isEmpty()) {
+            return ids;
+        }
+        namedJdbcTemplate.query("SELECT id, url_hash FROM news WHERE url_hash IN (:hashes)",
+                new MapSqlParameterSource("hashes", urlHashes),
+                rs -> {
+                    ids.put(rs.getString(2), rs.getLong(1));
+                });
+        return ids;
+    }
+
+    private Map<String, Long> lockIdsByUrlHash(Collection<String> urlHashes) {
+        Map<String, Long> ids = new HashMap<>();
+        namedJdbcTemplate.query("SELECT id, url_hash FROM news WHERE url_hash IN (:hashes) FOR UPDATE",
+                new MapSqlParameterSource("hashes", urlHashes),
+                rs -> {
+                    ids.put(rs.getString(2), rs.getLong(1));
+                });
+        return ids;
+    }
+
+    /**
+     * 批量插入新闻的标签索引行
+     * @param newsList 已有主键的新闻
+     */
+    public void insertTags(List<News> newsList) {
+        List<Object[]> tagRows = new ArrayList<>();
+        for (News news : newsList) {
+            for (String tag : NewsTagIndexer.parseTags(news.getTags())) {
+                tagRows.add(new Object[] {news.getId(), tag, Timestamp.valueOf(news.getPublishedAt())});
+            }
+        }
+        if (!tagRows.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_TAG_SQL, tagRows);
+        }
+    }
+
+    /**
+     * 删除新闻的标签索引行
+     * @param newsIds 新闻ID集合
+     */
+    public void deleteTags(Collection<Long> newsIds) {
+        if (!newsIds.isEmpty()) {
+            namedJdbcTemplate.update("DELETE FROM news_tag WHERE news_id IN (:ids)", new MapSqlParameterSource("ids", newsIds));
+        }
+    }
+
+    /**
+     * 查询给定ID中实际存在的部分
+     * @param ids 新闻ID集合
+     * @return 存在的新闻ID
+     */
+    public Set<Long> findExistingIds(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return Set.of();
+        }
+        return new HashSet<>(namedJdbcTemplate.queryForList("SELECT id FROM news WHERE id IN (:ids)",
+                new MapSqlParameterSource("ids", ids), Long.class));
+    }
+
+    /**
+     * 以一条 DELETE ... WHERE id IN 语句删除一组新闻及其标签索引行
+     * @param ids 新闻ID集合，调用方负责控制单次大小
+     * @return 删除的新闻行数
+     */
+    public int deleteByIds(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        deleteTags(ids);
+        return namedJdbcTemplate.update("DELETE FROM news WHERE id IN (:ids)", new MapSqlParameterSource("ids", ids));
+    }
+
+    /**
+     * 按主键顺序取出下一批满足删除条件的新闻ID
+     * @param filter 删除条件，至少包含一项
+     * @param afterId 上一批最后一个ID，首批传0
+     * @param limit 每批条数
+     * @return 升序的新闻ID
+     */
+    public List<Long> findIdsByFilter(NewsDeleteFilter filter, long afterId, int limit) {
+        MapSqlParameterSource params = new MapSqlParameterSource("afterId", afterId).addValue("limit", limit);
+        String sql = "SELECT n.id FROM news n WHERE n.id > :afterId" + filterClause(filter, params)
+                + " ORDER BY n.id LIMIT :limit";
+        return namedJdbcTemplate.queryForList(sql, params, Long.class);
+    }
+
+    /**
+     * 统计满足删除条件的新闻数，用于估算删除进度
+     */
+    public long countByFilter(NewsDeleteFilter filter) {
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        Long count = namedJdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM news n WHERE 1 = 1" + filterClause(filter, params), params, Long.class);
+        return count == null ? 0 : count;
+    }
+
+    /**
+     * 查询新闻的最后修改时间，只读主键行上的时间列，不加载正文
+     * @param id 新闻ID
+     * @return 最后修改时间（未记录时为抓取时间），新闻不存在时为空
+     */
+    public Optional<LocalDateTime> findLastModified(long id) {
+        List<Timestamp> rows = jdbcTemplate.queryForList(
+                "SELECT COALESCE(updated_at, created_at) FROM news WHERE id = ?", Timestamp.class, id);
+        return rows.stream().findFirst().map(Timestamp::toLocalDateTime);
+    }
+
+    /**
+     * 按发布时间从旧到新取出一批早于截止时间的新闻ID，走 idx_published_at_id 索引
+     * @param cutoff 截止时间（不含）
+     * @param limit 每批条数
+     * @return 新闻ID
+     */
+    public List<Long> findIdsPublishedBefore(LocalDateTime cutoff, int limit) {
+        return jdbcTemplate.queryForList("SELECT id FROM news WHERE published_at < ? ORDER BY published_at, id LIMIT ?",
+                Long.class, Timestamp.valueOf(cutoff), limit);
+    }
+
+    /**
+     * 查询最早的发布时间
+     * @return 最早发布时间，表为空时为 null
+     */
+    public LocalDateTime findOldestPublishedAt() {
+        Timestamp oldest = jdbcTemplate.queryForObject("SELECT MIN(published_at) FROM news", Timestamp.class);
+        return oldest == null ? null : oldest.toLocalDateTime();
+    }
+
+    /**
+     * 按主键顺序分页读取 (id, url, url_hash)，供去重过滤器预热和存量哈希回填使用
+     * @param afterId 上一页最后一条记录的ID
+     * @param limit 每页条数
+     * @return 每行依次为 id、url、url_hash
+     */
+    public List<Object[]> findUrlPage(long afterId, int limit) {
+        return jdbcTemplate.query("SELECT id, url, url_hash FROM news WHERE id > ? ORDER BY id LIMIT ?",
+                (rs, rowNum) -> new Object[] {rs.getLong(1), rs.getString(2), rs.getString(3)},
+                afterId, limit);
+    }
+
+    /**
+     * 回填单条新闻的 url_hash
+     * @return 更新行数
+     */
+    public int updateUrlHash(long id, String urlHash) {
+        return jdbcTemplate.update("UPDATE news SET url_hash = ? WHERE id = ?", urlHash, id);
+    }
+
+    private static String filterClause(NewsDeleteFilter filter, MapSqlParameterSource params) {
+        StringBuilder sql = new StringBuilder();
+        if (filter.getSource() != null) {
+            sql.append(" AND n.source = :source");
+            params.addValue("source", filter.getSource());
+        }
+        if (filter.getTag() != null) {
+            sql.append(" AND n.id IN (SELECT t.news_id FROM news_tag t WHERE t.tag = :tag)");
+            params.addValue("tag", filter.getTag());
+        }
+        if (filter.getStart() != null) {
+            sql.append(" AND n.published_at >= :start");
+            params.addValue("start", Timestamp.valueOf(filter.getStart()));
+        }
+        if (filter.getEnd() != null) {
+            sql.append(" AND n.published_at <= :end");
+            params.addValue("end", Timestamp.valueOf(filter.getEnd()));
+        }
+        return sql.toString();
+    }
+
+    private static void bindNews(PreparedStatement ps, int offset, News news) throws SQLException {
+        ps.setString(offset + 1, news.getTitle());
+        ps.setString(offset + 2, news.getSummary());
+        ps.setString(offset + 3, news.getContent());
+        ps.setString(offset + 4, news.getTags());
+        ps.setString(offset + 5, news.getSource());
+        ps.setString(offset + 6, news.getUrl());
+        ps.setString(offset + 7, news.getUrlHash());
+        ps.setTimestamp(offset + 8, Timestamp.valueOf(news.getPublishedAt()));
+        ps.setTimestamp(offset + 9, Timestamp.valueOf(news.getCreatedAt()));
+        ps.setTimestamp(offset + 10, Timestamp.valueOf(news.getUpdatedAt() != null ? news.getUpdatedAt() : news.getCreatedAt()));
+    }
+}
@@ -3,58 +3,190 @@ package com.voice.news.app.repository;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import org.hibernate.jpa.HibernateHints;
 
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.voice.news.app.dto.NewsListItem;
 import com.voice.news.app.entity.News;
 
+import jakarta.persistence.QueryHint;
+
 /**
  * News实体的Repository接口
+ *
+ * 列表查询统一采用 (publishedAt, id) 键集分页：调用方传入上一页最后一条记录的
+ * publishedAt 与 id，查询只取严格排在其后的记录，配合 idx_published_at_id 索引即为一次索引范围扫描，
+ * 翻页深度不影响查询耗时。返回条数由 Pageable 的 pageSize 控制，不使用 offset。
+ * 游标谓词要求 published_at 非空（列为 NOT NULL，存量库见 db/migrate-published-at-not-null.sql）。
+ * 列表查询只投影为 NewsListItem，正文 content 仅在 findById 时加载。
+ *
+ * stream* 方法供 NDJSON 导出使用，须在只读事务内消费并及时关闭：MySQL 驱动在 fetchSize 为
+ * Integer.MIN_VALUE 时逐行返回结果，实体以只读方式加载，调用方定期清理持久化上下文。
  */
 @Repository
 public interface NewsRepository extends JpaRepository<News, Long> {
-    
+
     /**
-     * 根据发布时间倒序查询新闻列表，使用Pageable控制返回数量
-     * @param pageable 分页参数，使用PageRequest.ofSize(limit)创建
-     * @return 新闻列表
+     * 列表查询的投影字段，不加载 content
      */
-    List<News> findByOrderByPublishedAtDesc(Pageable pageable);
-    
+    String LIST_ITEM_SELECT = "SELECT new com.voice.news.app.dto.NewsListItem("
+            + "n.id, n.title, n.summary, n.tags, n.source, n.url, n.publishedAt) FROM News n ";
+
     /**
-     * 根据标签查询新闻
-     * @param tag 标签名称
-     * @return 匹配的新闻列表
+     * 键集分页查询最新新闻
+     * @param publishedAt 游标发布时间
+     * @param id 游标ID
+     * @param pageable 仅使用 pageSize
+     * @return 排在游标之后的新闻列表
      */
-    @Query("SELECT n FROM News n WHERE n.tags LIKE %:tag%")
-    List<News> findByTag(@Param("tag") String tag);
-    
+    @Query(LIST_ITEM_SELECT + "WHERE n.publishedAt < :publishedAt "
+            + "OR (n.publishedAt = :publishedAt AND n.id < :id) "
+            + "ORDER BY n.publishedAt DESC, n.id DESC")
+    List<NewsListItem> findLatestBefore(@Param("publishedAt") LocalDateTime publishedAt,
+                                @Param("id") Long id,
+                                Pageable pageable);
+
     /**
-     * 根据标题模糊查询新闻
+     * 键集分页按标签查询新闻，通过 news_tag 的 (tag, published_at, news_id) 索引定位，再按主键回表
+     * @param tag 标签名称（精确匹配）
+     * @param publishedAt 游标发布时间
+     * @param id 游标ID
+     * @param pageable 仅使用 pageSize
+     * @return 排在游标之后的新闻列表
+     */
+    @Query("SELECT new com.voice.news.app.dto.NewsListItem("
+            + "n.id, n.title, n.summary, n.tags, n.source, n.url, n.publishedAt) "
+            + "FROM NewsTag t JOIN News n ON n.id = t.newsId "
+            + "WHERE t.tag = :tag "
+            + "AND (t.publishedAt < :publishedAt OR (t.publishedAt = :publishedAt AND t.newsId < :id)) "
+            + "ORDER BY t.publishedAt DESC, t.newsId DESC")
+    List<NewsListItem> findByTagBefore(@Param("tag") String tag,
+                                       @Param("publishedAt") LocalDateTime publishedAt,
+                                       @Param("id") Long id,
+                                       Pageable pageable);
+
+    /**
+     * 键集分页按标题关键词查询新闻
      * @param keyword 关键词
-     * @return 匹配的新闻列表
+     * @param publishedAt 游标发布时间
+     * @param id 游标ID
+     * @param pageable 仅使用 pageSize
+     * @return 排在游标之后的新闻列表
      */
-    List<News> findByTitleContaining(String keyword);
-    
+    @Query(LIST_ITEM_SELECT + "WHERE n.title LIKE %:keyword% "
+            + "AND (n.publishedAt < :publishedAt OR (n.publishedAt = :publishedAt AND n.id < :id)) "
+            + "ORDER BY n.publishedAt DESC, n.id DESC")
+    List<NewsListItem> findByTitleContainingBefore(@Param("keyword") String keyword,
+                                           @Param("publishedAt") LocalDateTime publishedAt,
+                                           @Param("id") Long id,
+                                           Pageable pageable);
+
     /**
-     * 查询指定时间范围内发布的新闻
+     * 键集分页查询指定时间范围内发布的新闻
      * @param start 开始时间
      * @param end 结束时间
-     * @return 时间范围内的新闻列表
+     * @param publishedAt 游标发布时间
+     * @param id 游标ID
+     * @param pageable 仅使用 pageSize
+     * @return 排在游标之后的新闻列表
      */
-    List<News> findByPublishedAtBetween(LocalDateTime start, LocalDateTime end);
-    
+    @Query(LIST_ITEM_SELECT + "WHERE n.publishedAt BETWEEN :start AND :end "
+            + "AND (n.publishedAt < :publishedAt OR (n.publishedAt = :publishedAt AND n.id < :id)) "
+            + "ORDER BY n.publishedAt DESC, n.id DESC")
+    List<NewsListItem> findByPublishedAtBetweenBefore(@Param("start") LocalDateTime start,
+                                              @Param("end") LocalDateTime end,
+                                              @Param("publishedAt") LocalDateTime publishedAt,
+                                              @Param("id") Long id,
+                                              Pageable pageable);
+
     /**
-     * 根据来源查询新闻
+     * 键集分页按来源查询新闻，走 idx_source_published_at_id 索引
      * @param source 新闻来源
-     * @return 来自指定来源的新闻列表
+     * @param publishedAt 游标发布时间
+     * @param id 游标ID
+     * @param pageable 仅使用 pageSize
+     * @return 排在游标之后的新闻列表
+     */
+    @Query(LIST_ITEM_SELECT + "WHERE n.source = :source "
+            + "AND (n.publishedAt < :publishedAt OR (n.publishedAt = :publishedAt AND n.id < :id)) "
+            + "ORDER BY n.publishedAt DESC, n.id DESC")
+    List<NewsListItem> findBySourceBefore(@Param("source") String source,
+                                  @Param("publishedAt") LocalDateTime publishedAt,
+                                  @Param("id") Long id,
+                                  Pageable pageable);
+
+    /**
+     * MySQL 驱动的流式结果集 fetchSize，即 Integer.MIN_VALUE
+     */
+    String STREAMING_FETCH_SIZE = "-2147483648";
+
+    /**
+     * 流式读取指定时间范围内发布的新闻，按 (publishedAt, id) 倒序，走 idx_published_at_id 索引
+     * @param start 开始时间
+     * @param end 结束时间
+     * @return 新闻流，须在事务内消费并关闭
      */
-    List<News> findBySource(String source);
-    
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAMING_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT n FROM News n WHERE n.publishedAt BETWEEN :start AND :end ORDER BY n.publishedAt DESC, n.id DESC")
+    Stream<News> streamByPublishedAtBetween(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+
+    /**
+     * 流式读取指定来源的全部新闻，按 (publishedAt, id) 倒序，走 idx_source_published_at_id 索引
+     * @param source 新闻来源
+     * @return 新闻流，须在事务内消费并关闭
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAMING_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT n FROM News n WHERE n.source = :source ORDER BY n.publishedAt DESC, n.id DESC")
+    Stream<News> streamBySource(@Param("source") String source);
+
+    /**
+     * 按主键顺序分批扫描新闻，供后台任务遍历全表使用
+     * @param afterId 上一批最后一条记录的ID，首批传0
+     * @param pageable 仅使用 pageSize
+     * @return ID 大于 afterId 的新闻列表
+     */
+    @Query(LIST_ITEM_SELECT + "WHERE n.id > :afterId ORDER BY n.id")
+    List<NewsListItem> findPageAfterId(@Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * 按主键顺序分批加载完整新闻（含正文），供索引重建等后台任务使用
+     * @param afterId 上一批最后一条记录的ID，首批传0
+     * @param pageable 仅使用 pageSize
+     * @return ID 大于 afterId 的新闻列表
+     */
+    List<News> findByIdGreaterThanOrderByIdAsc(Long afterId, Pageable pageable);
+
+    /**
+     * 按 (updatedAt, id) 键集分页加载修改时间晚于给定位置的新闻（含正文），供搜索索引追平数据库使用
+     * @param updatedAt 上一批最后一条记录的修改时间
+     * @param id 上一批最后一条记录的ID，首批传0
+     * @param pageable 仅使用 pageSize
+     * @return 按修改时间、ID 升序的新闻列表
+     */
+    @Query("SELECT n FROM News n WHERE n.updatedAt > :updatedAt OR (n.updatedAt = :updatedAt AND n.id > :id) "
+            + "ORDER BY n.updatedAt, n.id")
+    List<News> findUpdatedAfter(@Param("updatedAt") LocalDateTime updatedAt, @Param("id") Long id, Pageable pageable);
+
+    /**
+     * 最新的修改时间，没有任何带修改时间的新闻时为 null
+     */
+    @Query("SELECT MAX(n.updatedAt) FROM News n")
+    LocalDateTime findMaxUpdatedAt();
+
     /**
      * 根据ID查询单个新闻详情
      * @param id 新闻ID
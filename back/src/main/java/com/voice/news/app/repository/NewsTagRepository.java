@@ -0,0 +1,27 @@
+package com.voice.news.app.repository;
+
+import java.util.Collection;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.voice.news.app.entity.NewsTag;
+
+/**
+ * NewsTag实体的Repository接口
+ */
+@Repository
+public interface NewsTagRepository extends JpaRepository<NewsTag, Long> {
+
+    /**
+     * 删除指定新闻的全部标签行
+     * @param newsIds 新闻ID集合
+     * @return 删除行数
+     */
+    @Modifying
+    @Query("DELETE FROM NewsTag t WHERE t.newsId IN :newsIds")
+    int deleteByNewsIdIn(@Param("newsIds") Collection<Long> newsIds);
+}
@@ -0,0 +1,205 @@
+package com.voice.news.app.repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+
+import com.voice.news.app.common.KeysetCursor;
+import com.voice.news.app.dto.UserFilter;
+import com.voice.news.app.dto.UserListItem;
+import com.voice.news.app.model.Gender;
+import com.voice.news.app.model.User;
+
+/**
+ * 用户批量导入，绕过 JPA 直接使用 JDBC 批处理
+ *
+ * 与 NewsJdbcRepository 相同，users 主键为 IDENTITY，Hibernate 无法批量插入；
+ * 一批用户一条批处理语句写入，冲突检查一批一次查询，由 username/email/phone 唯一索引兜底。
+ *
+ * 列表按 (created_at, id) 键集分页，走 idx_created_at_id 索引；导出以 MySQL 流式结果集逐行读取，
+ * 内存占用与用户总数无关。两者都只查询 UserListItem 的列，不读取密码哈希。
+ */
+@Repository
+public class UserJdbcRepository {
+
+    private static final String INSERT_USER_SQL = "INSERT INTO users "
+            + "(username, gender, age, height, email, phone, password, enabled, token_version, created_at, updated_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String LIST_ITEM_SELECT =
+            "SELECT u.id, u.username, u.gender, u.age, u.height, u.email, u.phone, u.created_at FROM users u";
+
+    private static final RowMapper<UserListItem> LIST_ITEM_MAPPER = (rs, rowNum) -> toListItem(rs);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final NamedParameterJdbcTemplate streamingJdbcTemplate;
+
+    public UserJdbcRepository(JdbcTemplate jdbcTemplate, NamedParameterJdbcTemplate namedJdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = namedJdbcTemplate;
+        // MySQL 驱动只有 fetchSize 为 Integer.MIN_VALUE 时才逐行流式返回，否则会把整个结果集读入内存
+        JdbcTemplate streaming = new JdbcTemplate(jdbcTemplate.getDataSource());
+        streaming.setFetchSize(Integer.MIN_VALUE);
+        this.streamingJdbcTemplate = new NamedParameterJdbcTemplate(streaming);
+    }
+
+    /**
+     * 键集分页查询用户，按注册时间倒序
+     * @param filter 过滤条件
+     * @param cursor 上一页最后一条记录的 (created_at, id)
+     * @param limit 返回条数
+     * @return 排在游标之后的用户列表
+     */
+    public List<UserListItem> findPage(UserFilter filter, KeysetCursor cursor, int limit) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("createdAt", Timestamp.valueOf(cursor.getPublishedAt()))
+                .addValue("id", cursor.getId())
+                .addValue("limit", limit);
+        String sql = LIST_ITEM_SELECT
+                + " WHERE (u.created_at < :createdAt OR (u.created_at = :createdAt AND u.id < :id))"
+                + filterClause(filter, params)
+                + " ORDER BY u.created_at DESC, u.id DESC LIMIT :limit";
+        return namedJdbcTemplate.query(sql, params, LIST_ITEM_MAPPER);
+    }
+
+    /**
+     * 流式读取满足条件的全部用户，按主键顺序逐行回调
+     * @param filter 过滤条件
+     * @param consumer 每行的处理逻辑，在查询连接上同步执行
+     */
+    public void stream(UserFilter filter, Consumer<UserListItem> consumer) {
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        String sql = LIST_ITEM_SELECT + " WHERE 1 = 1" + filterClause(filter, params) + " ORDER BY u.id";
+        streamingJdbcTemplate.query(sql, params, rs -> {
+            consumer.accept(toListItem(rs));
+        });
+    }
+
+    /**
+     * 一次查询取出用户名、邮箱或手机号落在给定集合中的已有用户，三个条件分别走各自的唯一索引
+     * @return 每行依次为 username、email、phone
+     */
+    public List<Object[]> findConflicts(Collection<String> usernames, Collection<String> emails, Collection<String> phones) {
+        if (usernames.isEmpty() && emails.isEmpty() && phones.isEmpty()) {
+            return List.of();
+        }
+        // IN 列表不能为空，空集合用一个不会命中的值占位
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("usernames", usernames.isEmpty() ? List.of("") : usernames)
+                .addValue("emails", emails.isEmpty() ? List.of("") : emails)
+                .addValue("phones", phones.isEmpty() ? List.of("") : phones);
+        return namedJdbcTemplate.query(
+                "SELECT username, email, phone FROM users "
+                        + "WHERE username IN (:usernames) OR email IN (:emails) OR phone IN (:phones)",
+                params,
+                (rs, rowNum) -> new Object[] {rs.getString(1), rs.getString(2), rs.getString(3)});
+    }
+
+    /**
+     * 批量插入用户并回填生成的主键，password 须为已加密的哈希
+     * @param users 待插入的用户，插入后 id 被设置
+     */
+    public void insertBatch(List<User> users) {
+        if (users.isEmpty()) {
+            return;
+        }
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(
+                con -> con.prepareStatement(INSERT_USER_SQL, Statement.RETURN_GENERATED_KEYS),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        bindUser(ps, users.get(i));
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return users.size();
+                    }
+                },
+                keyHolder);
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        for (int i = 0; i < users.size() && i < keys.size(); i++) {
+            Object key = keys.get(i).values().iterator().next();
+            users.get(i).setId(((Number) key).longValue());
+        }
+    }
+
+    private static String filterClause(UserFilter filter, MapSqlParameterSource params) {
+        StringBuilder sql = new StringBuilder();
+        if (filter.getCreatedFrom() != null) {
+            sql.append(" AND u.created_at >= :createdFrom");
+            params.addValue("createdFrom", Timestamp.valueOf(filter.getCreatedFrom()));
+        }
+        if (filter.getCreatedTo() != null) {
+            sql.append(" AND u.created_at <= :createdTo");
+            params.addValue("createdTo", Timestamp.valueOf(filter.getCreatedTo()));
+        }
+        if (filter.getGender() != null) {
+            sql.append(" AND u.gender = :gender");
+            params.addValue("gender", filter.getGender().name());
+        }
+        if (filter.getMinAge() != null) {
+            sql.append(" AND u.age >= :minAge");
+            params.addValue("minAge", filter.getMinAge());
+        }
+        if (filter.getMaxAge() != null) {
+            sql.append(" AND u.age <= :maxAge");
+            params.addValue("maxAge", filter.getMaxAge());
+        }
+        return sql.toString();
+    }
+
+    private static UserListItem toListItem(ResultSet rs) throws SQLException {
+        String gender = rs.getString(3);
+        Timestamp createdAt = rs.getTimestamp(8);
+        return new UserListItem(
+                rs.getLong(1),
+                rs.getString(2),
+                gender == null ? null : Gender.valueOf(gender),
+                rs.getObject(4, Integer.class),
+                rs.getObject(5, Double.class),
+                rs.getString(6),
+                rs.getString(7),
+                createdAt == null ? null : createdAt.toLocalDateTime());
+    }
+
+    private static void bindUser(PreparedStatement ps, User user) throws SQLException {
+        ps.setString(1, user.getUsername());
+        ps.setString(2, user.getGender() == null ? null : user.getGender().name());
+        if (user.getAge() == null) {
+            ps.setNull(3, Types.INTEGER);
+        } else {
+            ps.setInt(3, user.getAge());
+        }
+        if (user.getHeight() == null) {
+            ps.setNull(4, Types.DOUBLE);
+        } else {
+            ps.setDouble(4, user.getHeight());
+        }
+        ps.setString(5, user.getEmail());
+        ps.setString(6, user.getPhone());
+        ps.setString(7, user.getPassword());
+        ps.setBoolean(8, user.isEnabled());
+        ps.setInt(9, user.getTokenVersion());
+        ps.setTimestamp(10, Timestamp.valueOf(user.getCreatedAt()));
+        ps.setTimestamp(11, Timestamp.valueOf(user.getUpdatedAt()));
+    }
+}
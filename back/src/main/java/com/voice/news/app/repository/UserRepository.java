@@ -2,8 +2,13 @@ package com.voice.news.app.repository;
 
 import com.voice.news.app.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -11,4 +16,50 @@ public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
     Optional<User> findByPhone(String phone);
     Optional<User> findByUsername(String username);
+
+    /**
+     * 一次查询取出用户名、邮箱、手机号任一相同的已有用户，各条件分别走对应的唯一索引
+     * @return 每行依次为 username、email、phone
+     */
+    @Query("SELECT u.username, u.email, u.phone FROM User u "
+            + "WHERE u.username = :username OR u.email = :email OR u.phone = :phone")
+    List<Object[]> findConflicts(@Param("username") String username,
+                                 @Param("email") String email,
+                                 @Param("phone") String phone);
+
+    /**
+     * 检查注册信息与已有用户的冲突
+     * @return 冲突说明（按用户名、邮箱、手机号的顺序取第一个），没有冲突时为 null
+     */
+    default String findConflictMessage(String username, String email, String phone) {
+        return conflictMessage(findConflicts(username, email, phone), username, email, phone);
+    }
+
+    /**
+     * 根据已有用户的 (username, email, phone) 行生成冲突说明
+     */
+    static String conflictMessage(List<Object[]> rows, String username, String email, String phone) {
+        boolean usernameTaken = false, emailTaken = false, phoneTaken = false;
+        for (Object[] row : rows) {
+            usernameTaken |= username != null && username.equals(row[0]);
+            emailTaken |= email != null && email.equals(row[1]);
+            phoneTaken |= phone != null && phone.equals(row[2]);
+        }
+        if (usernameTaken) {
+            return "用户名已存在";
+        }
+        if (emailTaken) {
+            return "邮箱已存在";
+        }
+        return phoneTaken ? "手机号已存在" : null;
+    }
+
+    /**
+     * 递增用户的令牌版本，使此前签发的访问令牌全部失效
+     * @return 更新行数
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE User u SET u.tokenVersion = u.tokenVersion + 1 WHERE u.username = :username")
+    int incrementTokenVersion(@Param("username") String username);
 }
@@ -0,0 +1,491 @@
+package com.voice.news.app.search;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.cjk.CJKAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.LeafReaderContext;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.queryparser.classic.MultiFieldQueryParser;
+import org.apache.lucene.queryparser.classic.ParseException;
+import org.apache.lucene.queryparser.classic.QueryParser;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.search.highlight.Highlighter;
+import org.apache.lucene.search.highlight.InvalidTokenOffsetsException;
+import org.apache.lucene.search.highlight.QueryScorer;
+import org.apache.lucene.search.highlight.SimpleHTMLFormatter;
+import org.apache.lucene.search.highlight.SimpleSpanFragmenter;
+import org.apache.lucene.store.FSDirectory;
+import org.apache.lucene.util.Bits;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.voice.news.app.config.RedisSubscriptions;
+import com.voice.news.app.dto.NewsSearchHit;
+import com.voice.news.app.entity.News;
+import com.voice.news.app.event.NewsChangedEvent;
+import com.voice.news.app.exception.ErrorCode;
+import com.voice.news.app.exception.ServiceException;
+import com.voice.news.app.repository.NewsJdbcRepository;
+import com.voice.news.app.repository.NewsRepository;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * 进程内新闻全文索引（Lucene），覆盖标题、摘要与正文
+ *
+ * 中文按 CJK 二元分词（bigram），英文按词切分；索引段持久化在 news.search.index-dir 目录下。
+ * 写入随 NewsChangedEvent 在事务提交后增量进行，查询端通过 SearcherManager 定时刷新（近实时），
+ * 检索耗时取决于命中词项的倒排表长度，与新闻总量无关。
+ *
+ * 每个节点各有一份索引，按三条路径与数据库保持一致：
+ * 1. 本节点的变更提交后，把新闻ID广播到 news:search:changed，其他节点按ID从数据库重新加载（不存在即删除）；
+ * 2. 定时按 (updated_at, id) 追平数据库，已追到的修改时间作为提交数据随索引一起提交，
+ *    重启后从该位置继续，覆盖未提交就崩溃丢失的更新和错过的广播；为兼顾未提交的长事务，每次回退一段重叠窗口；
+ * 3. 启动时索引文档数多于数据库行数（丢失了删除），逐批核对索引中的ID，删除数据库中已不存在的文档。
+ */
+@Component
+public class NewsSearchIndex implements MessageListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(NewsSearchIndex.class);
+
+    private static final String F_ID = "id";
+    private static final String F_TITLE = "title";
+    private static final String F_SUMMARY = "summary";
+    private static final String F_CONTENT = "content";
+    private static final String F_SOURCE = "source";
+    private static final String F_PUBLISHED_AT = "publishedAt";
+
+    /**
+     * 字段权重：标题命中比正文命中更相关
+     */
+    private static final Map<String, Float> BOOSTS = Map.of(F_TITLE, 3f, F_SUMMARY, 2f, F_CONTENT, 1f);
+
+    private static final int SNIPPET_FRAGMENT_SIZE = 80;
+    private static final int REBUILD_BATCH_SIZE = 200;
+    private static final int SWEEP_BATCH_SIZE = 1000;
+
+    public static final String CHANGED_CHANNEL = "news:search:changed";
+
+    /**
+     * 提交数据中记录已追平到的修改时间
+     */
+    private static final String MARK_UPDATED_AT = "updatedAtMark";
+
+    private final NewsRepository newsRepository;
+    private final NewsJdbcRepository newsJdbcRepository;
+    private final StringRedisTemplate redisTemplate;
+    private final Duration catchUpOverlap;
+    private final Analyzer analyzer = new CJKAnalyzer();
+    private final FSDirectory directory;
+    private final IndexWriter writer;
+    private final SearcherManager searcherManager;
+    /**
+     * 广播消息带上本节点标识，收到自己的消息时跳过
+     */
+    private final String nodeId = UUID.randomUUID().toString();
+    /**
+     * 全量重建与追平互斥，重建期间跳过定时追平
+     */
+    private final ReentrantLock syncLock = new ReentrantLock();
+    private volatile LocalDateTime updatedAtMark;
+
+    public NewsSearchIndex(NewsRepository newsRepository,
+                           NewsJdbcRepository newsJdbcRepository,
+                           StringRedisTemplate redisTemplate,
+                           RedisSubscriptions redisSubscriptions,
+                           @Value("${news.search.index-dir:data/news-index}") String indexDir,
+                           @Value("${news.search.catch-up-overlap-seconds:300}") long catchUpOverlapSeconds) throws IOException {
+        this.newsRepository = newsRepository;
+        this.newsJdbcRepository = newsJdbcRepository;
+        this.redisTemplate = redisTemplate;
+        this.catchUpOverlap = Duration.ofSeconds(catchUpOverlapSeconds);
+        Path path = Paths.get(indexDir);
+        Files.createDirectories(path);
+        this.directory = FSDirectory.open(path);
+        IndexWriterConfig config = new IndexWriterConfig(analyzer);
+        config.setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND);
+        this.writer = new IndexWriter(directory, config);
+        this.searcherManager = new SearcherManager(writer, null);
+        this.updatedAtMark = readMark();
+        redisSubscriptions.subscribe(this, CHANGED_CHANNEL);
+    }
+
+    /**
+     * 启动后在后台线程与数据库对齐：索引为空时（首次部署或索引目录被清理）全量重建，
+     * 否则先清理丢失的删除，再从上次提交的位置追平修改
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void syncOnStartup() {
+        Thread worker = new Thread(() -> {
+            if (writer.getDocStats().numDocs == 0) {
+                rebuild();
+                return;
+            }
+            try {
+                if (writer.getDocStats().numDocs > newsRepository.count()) {
+                    removeDeletedDocuments();
+                }
+            } catch (Exception e) {
+                logger.error("News search index delete sweep aborted", e);
+            }
+            catchUp();
+        }, "news-search-rebuild");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    /**
+     * 按主键顺序分批把数据库中的新闻写入索引，完成后把追平位置设为重建开始时的最新修改时间
+     */
+    public void rebuild() {
+        logger.info("Rebuilding news search index");
+        long afterId = 0;
+        long indexed = 0;
+        syncLock.lock();
+        try {
+            LocalDateTime mark = newsRepository.findMaxUpdatedAt();
+            while (true) {
+                List<News> batch = newsRepository.findByIdGreaterThanOrderByIdAsc(afterId, PageRequest.ofSize(REBUILD_BATCH_SIZE));
+                if (batch.isEmpty()) {
+                    break;
+                }
+                for (News news : batch) {
+                    writer.updateDocument(new Term(F_ID, String.valueOf(news.getId())), toDocument(news));
+                }
+                afterId = batch.get(batch.size() - 1).getId();
+                indexed += batch.size();
+            }
+            commitMark(mark);
+            searcherManager.maybeRefresh();
+            logger.info("News search index rebuilt, {} documents", indexed);
+        } catch (Exception e) {
+            logger.error("News search index rebuild aborted after {} documents", indexed, e);
+        } finally {
+            syncLock.unlock();
+        }
+    }
+
+    /**
+     * 把上次追平位置（减去重叠窗口）之后修改过的新闻重新写入索引，并提交新的位置
+     * 没有记录位置的旧索引从头追平一次；重建进行中时跳过
+     */
+    @Scheduled(initialDelayString = "${news.search.catch-up-interval-ms:60000}",
+            fixedDelayString = "${news.search.catch-up-interval-ms:60000}")
+    public void catchUp() {
+        if (!syncLock.tryLock()) {
+            return;
+        }
+        long indexed = 0;
+        try {
+            LocalDateTime mark = updatedAtMark;
+            LocalDateTime afterUpdatedAt = mark == null ? LocalDateTime.of(1970, 1, 1, 0, 0) : mark.minus(catchUpOverlap);
+            long afterId = 0;
+            while (true) {
+                List<News> batch = newsRepository.findUpdatedAfter(afterUpdatedAt, afterId, PageRequest.ofSize(REBUILD_BATCH_SIZE));
+                if (batch.isEmpty()) {
+                    break;
+                }
+                for (News news : batch) {
+                    writer.updateDocument(new Term(F_ID, String.valueOf(news.getId())), toDocument(news));
+                }
+                News last = batch.get(batch.size() - 1);
+                afterUpdatedAt = last.getUpdatedAt();
+                afterId = last.getId();
+                indexed += batch.size();
+            }
+            if (mark == null || afterUpdatedAt.isAfter(mark)) {
+                commitMark(afterUpdatedAt);
+            }
+            if (indexed > 0) {
+                logger.debug("News search index caught up {} documents, mark {}", indexed, updatedAtMark);
+            }
+        } catch (Exception e) {
+            logger.error("News search index catch-up aborted after {} documents", indexed, e);
+        } finally {
+            syncLock.unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onNewsChanged(NewsChangedEvent event) {
+        try {
+            if (event.getType() == NewsChangedEvent.Type.DELETED) {
+                delete(event.getIds());
+            } else {
+                for (News news : event.getNews()) {
+                    writer.updateDocument(new Term(F_ID, String.valueOf(news.getId())), toDocument(news));
+                }
+            }
+        } catch (IOException e) {
+            logger.error("Failed to update news search index for ids {}", event.getIds(), e);
+        }
+        try {
+            redisTemplate.convertAndSend(CHANGED_CHANNEL, nodeId + ":"
+                    + event.getIds().stream().map(String::valueOf).collect(Collectors.joining(",")));
+        } catch (Exception e) {
+            // 其他节点由定时追平补上修改；删除要等下次启动核对
+            logger.warn("Failed to broadcast news search index change for ids {}", event.getIds(), e);
+        }
+    }
+
+    /**
+     * 处理其他节点广播的变更："{节点标识}:{逗号分隔的新闻ID}"，按ID从数据库重新加载，已不存在的删除
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        int colon = body.indexOf(':');
+        if (colon < 0 || body.substring(0, colon).equals(nodeId)) {
+            return;
+        }
+        Set<Long> ids = new HashSet<>();
+        try {
+            for (String id : body.substring(colon + 1).split(",")) {
+                ids.add(Long.valueOf(id));
+            }
+        } catch (NumberFormatException e) {
+            logger.warn("Ignoring malformed news search change message: {}", body);
+            return;
+        }
+        try {
+            for (News news : newsRepository.findAllById(ids)) {
+                writer.updateDocument(new Term(F_ID, String.valueOf(news.getId())), toDocument(news));
+                ids.remove(news.getId());
+            }
+            delete(ids);
+        } catch (Exception e) {
+            logger.error("Failed to apply remote news search index change for ids {}", ids, e);
+        }
+    }
+
+    /**
+     * 按相关度检索新闻
+     * @param keyword 查询词，按普通文本处理，不支持 Lucene 查询语法
+     * @param offset 跳过的命中数
+     * @param limit 返回的命中数
+     * @return 按得分降序的命中列表
+     */
+    public List<NewsSearchHit> search(String keyword, int offset, int limit) {
+        Query query;
+        try {
+            MultiFieldQueryParser parser = new MultiFieldQueryParser(
+                    new String[] {F_TITLE, F_SUMMARY, F_CONTENT}, analyzer, BOOSTS);
+            // 连续的中文 bigram 生成短语查询，避免 "人工智能" 匹配到只含 "智能" 的文章
+            parser.setSplitOnWhitespace(true);
+            parser.setAutoGeneratePhraseQueries(true);
+            parser.setDefaultOperator(QueryParser.Operator.AND);
+            query = parser.parse(QueryParser.escape(keyword));
+        } catch (ParseException e) {
+            throw new ServiceException(ErrorCode.PARAM_ERROR.code, "搜索关键词不合法");
+        }
+
+        IndexSearcher searcher = null;
+        try {
+            searcher = searcherManager.acquire();
+            TopDocs top = searcher.search(query, offset + limit);
+            StoredFields storedFields = searcher.storedFields();
+            QueryScorer scorer = new QueryScorer(query);
+            Highlighter highlighter = new Highlighter(new SimpleHTMLFormatter("<em>", "</em>"), scorer);
+            highlighter.setTextFragmenter(new SimpleSpanFragmenter(scorer, SNIPPET_FRAGMENT_SIZE));
+
+            List<NewsSearchHit> hits = new ArrayList<>();
+            for (int i = offset; i < top.scoreDocs.length; i++) {
+                ScoreDoc scoreDoc = top.scoreDocs[i];
+                Document doc = storedFields.document(scoreDoc.doc);
+                String publishedAt = doc.get(F_PUBLISHED_AT);
+                hits.add(new NewsSearchHit(
+                        Long.valueOf(doc.get(F_ID)),
+                        doc.get(F_TITLE),
+                        doc.get(F_SOURCE),
+                        publishedAt == null ? null : LocalDateTime.parse(publishedAt),
+                        scoreDoc.score,
+                        snippet(highlighter, doc)));
+            }
+            return hits;
+        } catch (IOException e) {
+            logger.error("News search failed for keyword: {}", keyword, e);
+            throw new ServiceException(ErrorCode.SERVER_ERROR.code, "搜索服务暂不可用");
+        } finally {
+            if (searcher != null) {
+                try {
+                    searcherManager.release(searcher);
+                } catch (IOException ignored) {}
+            }
+        }
+    }
+
+    /**
+     * 定时刷新可见性，写入后最多延迟一个周期可被搜到
+     */
+    @Scheduled(fixedDelayString = "${news.search.refresh-interval-ms:1000}")
+    public void refresh() throws IOException {
+        searcherManager.maybeRefresh();
+    }
+
+    /**
+     * 定时把内存中的索引段提交到磁盘
+     */
+    @Scheduled(fixedDelayString = "${news.search.commit-interval-ms:30000}")
+    public void commit() throws IOException {
+        if (writer.hasUncommittedChanges()) {
+            writer.commit();
+        }
+    }
+
+    public LocalDateTime getUpdatedAtMark() {
+        return updatedAtMark;
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        searcherManager.close();
+        writer.close();
+        directory.close();
+    }
+
+    private void delete(Collection<Long> ids) throws IOException {
+        if (!ids.isEmpty()) {
+            writer.deleteDocuments(ids.stream().map(id -> new Term(F_ID, String.valueOf(id))).toArray(Term[]::new));
+        }
+    }
+
+    /**
+     * 把追平位置写入提交数据并立即提交，位置与它所覆盖的文档一起落盘
+     */
+    private void commitMark(LocalDateTime mark) throws IOException {
+        if (mark != null) {
+            writer.setLiveCommitData(Map.of(MARK_UPDATED_AT, mark.toString()).entrySet());
+            updatedAtMark = mark;
+        }
+        writer.commit();
+    }
+
+    private LocalDateTime readMark() {
+        Iterable<Map.Entry<String, String>> data = writer.getLiveCommitData();
+        if (data != null) {
+            for (Map.Entry<String, String> entry : data) {
+                if (MARK_UPDATED_AT.equals(entry.getKey())) {
+                    return LocalDateTime.parse(entry.getValue());
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 逐批核对索引中的新闻ID，删除数据库中已不存在的文档
+     */
+    private void removeDeletedDocuments() throws IOException {
+        searcherManager.maybeRefreshBlocking();
+        IndexSearcher searcher = searcherManager.acquire();
+        int removed = 0;
+        try {
+            List<Long> batch = new ArrayList<>();
+            for (LeafReaderContext leaf : searcher.getIndexReader().leaves()) {
+                Bits liveDocs = leaf.reader().getLiveDocs();
+                StoredFields storedFields = leaf.reader().storedFields();
+                for (int doc = 0; doc < leaf.reader().maxDoc(); doc++) {
+                    if (liveDocs != null && !liveDocs.get(doc)) {
+                        continue;
+                    }
+                    batch.add(Long.valueOf(storedFields.document(doc, Set.of(F_ID)).get(F_ID)));
+                    if (batch.size() >= SWEEP_BATCH_SIZE) {
+                        removed += removeMissing(batch);
+                        batch.clear();
+                    }
+                }
+            }
+            removed += removeMissing(batch);
+        } finally {
+            searcherManager.release(searcher);
+        }
+        writer.commit();
+        logger.info("News search index delete sweep removed {} documents", removed);
+    }
+
+    private int removeMissing(List<Long> ids) throws IOException {
+        Set<Long> missing = new HashSet<>(ids);
+        missing.removeAll(newsJdbcRepository.findExistingIds(ids));
+        delete(missing);
+        return missing.size();
+    }
+
+    private String snippet(Highlighter highlighter, Document doc) throws IOException {
+        try {
+            for (String field : new String[] {F_SUMMARY, F_CONTENT, F_TITLE}) {
+                String text = doc.get(field);
+                if (text == null) {
+                    continue;
+                }
+                String fragment = highlighter.getBestFragment(analyzer, field, text);
+                if (fragment != null) {
+                    return fragment;
+                }
+            }
+        } catch (InvalidTokenOffsetsException e) {
+            logger.debug("Failed to highlight news {}", doc.get(F_ID), e);
+        }
+        String summary = doc.get(F_SUMMARY);
+        if (summary == null) {
+            return null;
+        }
+        return summary.length() > SNIPPET_FRAGMENT_SIZE ? summary.substring(0, SNIPPET_FRAGMENT_SIZE) : summary;
+    }
+
+    private static Document toDocument(News news) {
+        Document doc = new Document();
+        doc.add(new StringField(F_ID, String.valueOf(news.getId()), Field.Store.YES));
+        doc.add(new TextField(F_TITLE, news.getTitle() == null ? "" : news.getTitle(), Field.Store.YES));
+        if (news.getSummary() != null) {
+            doc.add(new TextField(F_SUMMARY, news.getSummary(), Field.Store.YES));
+        }
+        if (news.getContent() != null) {
+            doc.add(new TextField(F_CONTENT, news.getContent(), Field.Store.YES));
+        }
+        if (news.getSource() != null) {
+            doc.add(new StoredField(F_SOURCE, news.getSource()));
+        }
+        if (news.getPublishedAt() != null) {
+            doc.add(new StoredField(F_PUBLISHED_AT, news.getPublishedAt().toString()));
+        }
+        return doc;
+    }
+}
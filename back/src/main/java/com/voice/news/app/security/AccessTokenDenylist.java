@@ -0,0 +1,125 @@
+package com.voice.news.app.security;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.voice.news.app.config.RedisSubscriptions;
+
+/**
+ * 访问令牌吊销列表（按 jti）
+ *
+ * Redis 中以有序集合 auth:access:denied 保存被吊销的 jti，score 为令牌过期时间（毫秒），
+ * 写入、清理过期项与广播在一个脚本中完成。每个节点在内存中持有一份 jti -> 过期时间 的副本，
+ * 通过 pub/sub 增量同步，并定时全量对齐以弥补订阅断开期间漏掉的消息；
+ * JwtAuthenticationFilter 只查询本地副本，不产生网络请求。
+ *
+ * 条目在令牌过期后失去意义，本地副本与 Redis 都按过期时间清理，列表大小只与有效期内的注销次数有关。
+ */
+@Component
+public class AccessTokenDenylist implements MessageListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(AccessTokenDenylist.class);
+
+    public static final String CHANNEL = "auth:access:revoked";
+    private static final String DENYLIST_KEY = "auth:access:denied";
+
+    /**
+     * KEYS: 吊销集合；ARGV: jti、过期时间毫秒、当前时间毫秒、广播频道
+     */
+    private static final RedisScript<Long> REVOKE_SCRIPT = RedisScript.of(
+            "redis.call('ZADD', KEYS[1], ARGV[2], ARGV[1]) "
+            + "redis.call('ZREMRANGEBYSCORE', KEYS[1], '-inf', ARGV[3]) "
+            + "redis.call('PEXPIREAT', KEYS[1], redis.call('ZRANGE', KEYS[1], -1, -1, 'WITHSCORES')[2]) "
+            + "redis.call('PUBLISH', ARGV[4], ARGV[1] .. '|' .. ARGV[2]) "
+            + "return 1", Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final Map<String, Long> revoked = new ConcurrentHashMap<>();
+
+    public AccessTokenDenylist(StringRedisTemplate redisTemplate, RedisSubscriptions redisSubscriptions) {
+        this.redisTemplate = redisTemplate;
+        redisSubscriptions.subscribe(this, CHANNEL);
+    }
+
+    /**
+     * 吊销访问令牌：写入 Redis 并广播，本机立即生效
+     * @param jti 令牌ID
+     * @param expiresAtMillis 令牌过期时间
+     */
+    public void revoke(String jti, long expiresAtMillis) {
+        long now = System.currentTimeMillis();
+        if (jti == null || expiresAtMillis <= now) {
+            return;
+        }
+        revoked.put(jti, expiresAtMillis);
+        redisTemplate.execute(REVOKE_SCRIPT, List.of(DENYLIST_KEY),
+                jti, String.valueOf(expiresAtMillis), String.valueOf(now), CHANNEL);
+    }
+
+    /**
+     * 判断令牌是否已被吊销，只读本地副本
+     */
+    public boolean isRevoked(String jti) {
+        if (jti == null) {
+            return false;
+        }
+        Long expiresAt = revoked.get(jti);
+        return expiresAt != null && expiresAt > System.currentTimeMillis();
+    }
+
+    /**
+     * 其他节点广播的吊销消息："{jti}|{过期时间毫秒}"
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        int separator = body.lastIndexOf('|');
+        try {
+            revoked.put(body.substring(0, separator), Long.parseLong(body.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            logger.warn("Ignoring malformed access token revocation message: {}", body);
+        }
+    }
+
+    /**
+     * 定时从 Redis 全量拉取未过期的吊销项，并清理本地已过期的条目
+     */
+    @Scheduled(fixedDelayString = "${jwt.denylist-sync-interval-ms:60000}", initialDelay = 0)
+    public void sync() {
+        long now = System.currentTimeMillis();
+        revoked.values().removeIf(expiresAt -> expiresAt <= now);
+        try {
+            Set<ZSetOperations.TypedTuple<String>> entries =
+                    redisTemplate.opsForZSet().rangeByScoreWithScores(DENYLIST_KEY, now, Double.POSITIVE_INFINITY);
+            if (entries != null) {
+                for (ZSetOperations.TypedTuple<String> entry : entries) {
+                    if (entry.getValue() != null && entry.getScore() != null) {
+                        revoked.put(entry.getValue(), entry.getScore().longValue());
+                    }
+                }
+            }
+        } catch (Exception e) {
+            logger.debug("Access token denylist sync failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 本地副本条目数，用于监控
+     */
+    public int size() {
+        return revoked.size();
+    }
+}
@@ -0,0 +1,37 @@
+package com.voice.news.app.security;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+/**
+ * 成本因子可配置的 BCrypt 编码器
+ *
+ * 已存储哈希的成本因子与当前配置不一致（升高或降低）时 upgradeEncoding 返回 true，
+ * DaoAuthenticationProvider 会在登录成功后用当前成本重新哈希，并通过 UserDetailsPasswordService 回写。
+ */
+public class ConfigurableBCryptPasswordEncoder extends BCryptPasswordEncoder {
+
+    private static final Pattern BCRYPT_PATTERN = Pattern.compile("^\\$2[aby]?\\$(\\d\\d)\\$");
+
+    private final int strength;
+
+    public ConfigurableBCryptPasswordEncoder(int strength) {
+        super(strength);
+        this.strength = strength;
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        if (encodedPassword == null) {
+            return false;
+        }
+        Matcher matcher = BCRYPT_PATTERN.matcher(encodedPassword);
+        return matcher.find() && Integer.parseInt(matcher.group(1)) != strength;
+    }
+
+    public int getStrength() {
+        return strength;
+    }
+}
@@ -4,20 +4,21 @@ import com.voice.news.app.model.User;
 import com.voice.news.app.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
-import java.util.Collections;
-
 @Service
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
     private final UserRepository userRepository;
+    private final UserRoles userRoles;
 
     @Autowired
-    public CustomUserDetailsService(UserRepository userRepository) {
+    public CustomUserDetailsService(UserRepository userRepository, UserRoles userRoles) {
         this.userRepository = userRepository;
+        this.userRoles = userRoles;
     }
 
     @Override
@@ -25,10 +26,24 @@ public class CustomUserDetailsService implements UserDetailsService {
         User user = userRepository.findByUsername(username)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found with username: " + username));
 
-        return new org.springframework.security.core.userdetails.User(
-                user.getUsername(),
-                user.getPassword(),
-                Collections.emptyList()
-        );
+        return org.springframework.security.core.userdetails.User.withUsername(user.getUsername())
+                .password(user.getPassword())
+                .disabled(!user.isEnabled())
+                .roles(userRoles.rolesOf(user.getUsername()).toArray(String[]::new))
+                .build();
+    }
+
+    /**
+     * 登录成功且存储的哈希需要升级（BCrypt 成本因子变更）时由 DaoAuthenticationProvider 回调，写回新哈希
+     */
+    @Override
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        userRepository.findByUsername(user.getUsername()).ifPresent(u -> {
+            u.setPassword(newPassword);
+            userRepository.save(u);
+        });
+        return org.springframework.security.core.userdetails.User.withUserDetails(user)
+                .password(newPassword)
+                .build();
     }
 }
@@ -9,6 +9,9 @@ import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
+import com.voice.news.app.monitoring.JwtVerificationEvent;
+import com.voice.news.app.monitoring.UserLookupEvent;
+
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -20,10 +23,18 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtUtil jwtUtil;
     private final UserDetailsService userDetailsService;
+    private final JwtProperties jwtProperties;
+    private final UserStateCache userStateCache;
+    private final AccessTokenDenylist accessTokenDenylist;
 
-    public JwtAuthenticationFilter(JwtUtil jwtUtil, UserDetailsService userDetailsService) {
+    public JwtAuthenticationFilter(JwtUtil jwtUtil, UserDetailsService userDetailsService,
+                                   JwtProperties jwtProperties, UserStateCache userStateCache,
+                                   AccessTokenDenylist accessTokenDenylist) {
         this.jwtUtil = jwtUtil;
         this.userDetailsService = userDetailsService;
+        this.jwtProperties = jwtProperties;
+        this.userStateCache = userStateCache;
+        this.accessTokenDenylist = accessTokenDenylist;
     }
 
     @Override
@@ -35,13 +46,32 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         if (StringUtils.hasText(header) && header.startsWith("Bearer ")) {
             String token = header.substring(7);
             try {
-                Jws<Claims> claims = jwtUtil.parseToken(token);
+                Jws<Claims> claims = verify(token);
                 String username = claims.getBody().getSubject();
+                // 已注销的访问令牌：只查本地吊销列表，不访问 Redis
+                if (accessTokenDenylist.isRevoked(claims.getBody().getId())) {
+                    username = null;
+                }
                 if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                    UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-                    // 你可添加更复杂校验（比如检查用户是否被禁用）
-                    UsernamePasswordAuthenticationToken auth =
-                            new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+                    // 快速路径：主体直接由已验签的声明构造；旧令牌没有用户ID声明时退回查库
+                    JwtPrincipal principal = jwtProperties.isStatelessPrincipal()
+                            ? JwtPrincipal.fromClaims(claims.getBody())
+                            : null;
+                    UsernamePasswordAuthenticationToken auth;
+                    if (principal != null) {
+                        if (userStateCache.isRevoked(principal)) {
+                            filterChain.doFilter(request, response);
+                            return;
+                        }
+                        auth = new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities());
+                    } else {
+                        UserDetails userDetails = loadUser(username);
+                        if (!userDetails.isEnabled()) {
+                            filterChain.doFilter(request, response);
+                            return;
+                        }
+                        auth = new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+                    }
                     SecurityContextHolder.getContext().setAuthentication(auth);
                 }
             } catch (Exception e) {
@@ -50,5 +80,29 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
         filterChain.doFilter(request, response);
     }
+
+    private Jws<Claims> verify(String token) {
+        JwtVerificationEvent event = new JwtVerificationEvent();
+        event.begin();
+        try {
+            Jws<Claims> claims = jwtUtil.parseAccessToken(token);
+            event.valid = true;
+            return claims;
+        } finally {
+            event.commit();
+        }
+    }
+
+    private UserDetails loadUser(String username) {
+        UserLookupEvent event = new UserLookupEvent();
+        event.begin();
+        try {
+            UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+            event.found = true;
+            return userDetails;
+        } finally {
+            event.commit();
+        }
+    }
 }
 
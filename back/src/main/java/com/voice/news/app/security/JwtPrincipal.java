@@ -0,0 +1,58 @@
+package com.voice.news.app.security;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import io.jsonwebtoken.Claims;
+
+/**
+ * 由访问令牌声明直接构造的认证主体，不查询数据库
+ */
+public class JwtPrincipal {
+
+    private final Long userId;
+    private final String username;
+    private final int tokenVersion;
+    private final List<String> roles;
+
+    public JwtPrincipal(Long userId, String username, int tokenVersion, List<String> roles) {
+        this.userId = userId;
+        this.username = username;
+        this.tokenVersion = tokenVersion;
+        this.roles = roles;
+    }
+
+    /**
+     * 从已验签的声明构造主体；令牌缺少用户ID声明（旧版本签发）时返回 null
+     */
+    public static JwtPrincipal fromClaims(Claims claims) {
+        Object uid = claims.get(JwtUtil.CLAIM_USER_ID);
+        if (!(uid instanceof Number)) {
+            return null;
+        }
+        Object version = claims.get(JwtUtil.CLAIM_TOKEN_VERSION);
+        Object roles = claims.get(JwtUtil.CLAIM_ROLES);
+        return new JwtPrincipal(
+                ((Number) uid).longValue(),
+                claims.getSubject(),
+                version instanceof Number ? ((Number) version).intValue() : 0,
+                roles instanceof Collection<?> c ? c.stream().map(String::valueOf).toList() : List.of());
+    }
+
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return roles.stream().map(role -> new SimpleGrantedAuthority("ROLE_" + role)).toList();
+    }
+
+    public Long getUserId() { return userId; }
+    public String getUsername() { return username; }
+    public int getTokenVersion() { return tokenVersion; }
+    public List<String> getRoles() { return roles; }
+
+    @Override
+    public String toString() {
+        return username;
+    }
+}
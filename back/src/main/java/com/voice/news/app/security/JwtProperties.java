@@ -10,6 +10,14 @@ public class JwtProperties {
     private long accessTokenExpireSeconds;
     private long refreshTokenExpireSeconds;
     private String issuer;
+    // true 时认证主体直接由访问令牌声明构造，不再逐请求查询用户表
+    private boolean statelessPrincipal = true;
+    // 用户禁用/令牌版本状态的本地缓存，异步刷新
+    private boolean userStateCacheEnabled = true;
+    private long userStateRefreshSeconds = 30;
+    private long userStateMaxSize = 100000;
+    // 已验签访问令牌缓存的条目上限，0 表示关闭
+    private long verifiedTokenCacheSize = 10000;
 
     // getters & setters
     public String getSecret() { return secret; }
@@ -20,5 +28,15 @@ public class JwtProperties {
     public void setRefreshTokenExpireSeconds(long refreshTokenExpireSeconds) { this.refreshTokenExpireSeconds = refreshTokenExpireSeconds; }
     public String getIssuer() { return issuer; }
     public void setIssuer(String issuer) { this.issuer = issuer; }
+    public boolean isStatelessPrincipal() { return statelessPrincipal; }
+    public void setStatelessPrincipal(boolean statelessPrincipal) { this.statelessPrincipal = statelessPrincipal; }
+    public boolean isUserStateCacheEnabled() { return userStateCacheEnabled; }
+    public void setUserStateCacheEnabled(boolean userStateCacheEnabled) { this.userStateCacheEnabled = userStateCacheEnabled; }
+    public long getUserStateRefreshSeconds() { return userStateRefreshSeconds; }
+    public void setUserStateRefreshSeconds(long userStateRefreshSeconds) { this.userStateRefreshSeconds = userStateRefreshSeconds; }
+    public long getUserStateMaxSize() { return userStateMaxSize; }
+    public void setUserStateMaxSize(long userStateMaxSize) { this.userStateMaxSize = userStateMaxSize; }
+    public long getVerifiedTokenCacheSize() { return verifiedTokenCacheSize; }
+    public void setVerifiedTokenCacheSize(long verifiedTokenCacheSize) { this.verifiedTokenCacheSize = verifiedTokenCacheSize; }
 }
 
@@ -4,21 +4,46 @@ import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.stereotype.Component;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
 import java.util.Date;
+import java.util.HexFormat;
 import java.util.Map;
 import java.util.UUID;
 
 @Component
 public class JwtUtil {
 
+    // 访问令牌中的自定义声明，过滤器据此直接构造认证主体
+    public static final String CLAIM_USER_ID = "uid";
+    public static final String CLAIM_ROLES = "roles";
+    public static final String CLAIM_TOKEN_VERSION = "tv";
+
     private final JwtProperties jwtProperties;
     private final Key key;
+    // JwtParser 构建后不可变、线程安全，全局复用
+    private final JwtParser parser;
+    // 已验签访问令牌缓存：键为令牌的 SHA-256 摘要，条目在令牌 exp 时过期
+    private final Cache<String, Jws<Claims>> verifiedTokens;
 
     public JwtUtil(JwtProperties jwtProperties) {
         this.jwtProperties = jwtProperties;
         // 使用 HMAC-SHA key
         this.key = Keys.hmacShaKeyFor(jwtProperties.getSecret().getBytes());
+        this.parser = Jwts.parserBuilder().setSigningKey(key).build();
+        this.verifiedTokens = jwtProperties.getVerifiedTokenCacheSize() > 0
+                ? Caffeine.newBuilder()
+                        .maximumSize(jwtProperties.getVerifiedTokenCacheSize())
+                        .expireAfter(Expiry.creating((String digest, Jws<Claims> jws) -> untilExpiration(jws)))
+                        .build()
+                : null;
     }
 
     public String generateAccessToken(String username, Map<String, Object> extraClaims) {
@@ -56,10 +81,46 @@ public class JwtUtil {
 
     public Jws<Claims> parseToken(String token) {
         try {
-            return Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token);
+            return parser.parseClaimsJws(token);
         } catch (JwtException e) {
             throw e;
         }
     }
+
+    /**
+     * 解析访问令牌，同一令牌在有效期内只验签一次
+     * 缓存命中时不再做 Base64 解码、HMAC 计算与 JSON 解析，只计算一次 SHA-256 摘要；
+     * 验签失败的令牌不缓存。返回的声明为共享实例，调用方不得修改。
+     */
+    public Jws<Claims> parseAccessToken(String token) {
+        if (verifiedTokens == null) {
+            return parseToken(token);
+        }
+        String digest = digest(token);
+        Jws<Claims> cached = verifiedTokens.getIfPresent(digest);
+        if (cached != null) {
+            return cached;
+        }
+        Jws<Claims> jws = parseToken(token);
+        if (jws.getBody().getExpiration() != null) {
+            verifiedTokens.put(digest, jws);
+        }
+        return jws;
+    }
+
+    private static Duration untilExpiration(Jws<Claims> jws) {
+        Date expiration = jws.getBody().getExpiration();
+        long millis = expiration.getTime() - System.currentTimeMillis();
+        return Duration.ofMillis(Math.max(0, millis));
+    }
+
+    private static String digest(String token) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(sha256.digest(token.getBytes(StandardCharsets.US_ASCII)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
 }
 
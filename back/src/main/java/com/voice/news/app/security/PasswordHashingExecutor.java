@@ -0,0 +1,85 @@
+package com.voice.news.app.security;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.voice.news.app.exception.ErrorCode;
+import com.voice.news.app.exception.ServiceException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * 密码哈希（BCrypt）专用的有界线程池
+ *
+ * 登录校验与密码加密都提交到这里执行，不占用 Tomcat 请求线程做 CPU 密集计算。
+ * 线程数与排队长度都有上限，队列满时立即以 429 拒绝，登录高峰不会拖垮其他接口。
+ *
+ * 指标：auth.password.hash（按 op 区分的耗时，含排队）、auth.password.queue（排队数）、
+ * auth.password.active（执行中）、auth.password.rejected（被拒绝次数）。
+ */
+@Component
+public class PasswordHashingExecutor {
+
+    private final ThreadPoolExecutor executor;
+    private final MeterRegistry meterRegistry;
+    private final Counter rejected;
+
+    public PasswordHashingExecutor(MeterRegistry meterRegistry,
+                                   @Value("${security.password.hash-threads:0}") int threads,
+                                   @Value("${security.password.hash-queue-size:64}") int queueSize) {
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueSize),
+                r -> {
+                    Thread thread = new Thread(r, "password-hash-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.meterRegistry = meterRegistry;
+        this.rejected = meterRegistry.counter("auth.password.rejected");
+        Gauge.builder("auth.password.queue", executor, e -> e.getQueue().size()).register(meterRegistry);
+        Gauge.builder("auth.password.active", executor, ThreadPoolExecutor::getActiveCount).register(meterRegistry);
+    }
+
+    /**
+     * 异步执行一次哈希相关操作
+     * @param op 操作名，用作指标标签，例如 login、encode
+     * @param task 任务
+     * @return 任务结果
+     * @throws ServiceException 队列已满（TOO_MANY_REQUESTS）
+     */
+    public <T> CompletableFuture<T> submit(String op, Supplier<T> task) {
+        Timer timer = meterRegistry.timer("auth.password.hash", "op", op);
+        long start = System.nanoTime();
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                try {
+                    return task.get();
+                } finally {
+                    timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                }
+            }, executor);
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new ServiceException(ErrorCode.TOO_MANY_REQUESTS);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
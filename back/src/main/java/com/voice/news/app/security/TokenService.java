@@ -3,12 +3,32 @@ package com.voice.news.app.security;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.stereotype.Service;
 
-import java.time.Duration;
+import com.voice.news.app.model.User;
+import com.voice.news.app.monitoring.RedisCallEvent;
+import com.voice.news.app.repository.UserRepository;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
-import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
+/**
+ * 访问令牌与刷新令牌的签发、轮换和撤销
+ *
+ * 刷新令牌的服务端状态保存在 Redis：auth:refresh:{refreshId} -> username，
+ * 以及 auth:user:refresh:{username} 记录用户名下的全部 refreshId。
+ * 每个操作都是一个 Lua 脚本，一次往返内原子完成，轮换时"校验旧 id + 删除旧 id + 写入新 id"
+ * 不会被并发的同一刷新令牌请求穿插，刷新令牌只能被使用一次。
+ * 每类 Redis 调用的耗时记录在 auth.token.redis 计时器中，按 operation 标签区分，同时发出 JFR RedisCallEvent。
+ */
 @Service
 public class TokenService {
 
@@ -17,39 +37,86 @@ public class TokenService {
     private final StringRedisTemplate redisTemplate;
     private final JwtUtil jwtUtil;
     private final JwtProperties jwtProperties;
+    private final UserRepository userRepository;
+    private final UserStateCache userStateCache;
+    private final AccessTokenDenylist accessTokenDenylist;
+    private final UserRoles userRoles;
+    private final Timer issueTimer;
+    private final Timer rotateTimer;
+    private final Timer validateTimer;
+    private final Timer revokeTimer;
+    private final Timer revokeAllTimer;
 
     private static final String REFRESH_KEY_PREFIX = "auth:refresh:"; // auth:refresh:{refreshId} -> username
     private static final String USER_REFRESH_LIST_PREFIX = "auth:user:refresh:"; // auth:user:refresh:{username} -> set of refreshIds
 
-    public TokenService(StringRedisTemplate redisTemplate, JwtUtil jwtUtil, JwtProperties jwtProperties) {
+    /**
+     * 写入新的 refreshId。KEYS: 新 refresh key、用户列表 key；ARGV: username、refreshId、ttl 秒
+     */
+    private static final RedisScript<Long> ISSUE_SCRIPT = RedisScript.of(
+            "redis.call('SET', KEYS[1], ARGV[1], 'EX', ARGV[3]) "
+            + "redis.call('SADD', KEYS[2], ARGV[2]) "
+            + "redis.call('EXPIRE', KEYS[2], ARGV[3]) "
+            + "return 1", Long.class);
+
+    /**
+     * 校验并消费旧 refreshId，成功时写入新 refreshId；旧 id 不存在或不属于该用户时返回 0 且不做任何修改
+     * KEYS: 旧 refresh key、用户列表 key、新 refresh key；ARGV: username、旧 refreshId、新 refreshId、ttl 秒
+     */
+    private static final RedisScript<Long> ROTATE_SCRIPT = RedisScript.of(
+            "if redis.call('GET', KEYS[1]) ~= ARGV[1] then return 0 end "
+            + "redis.call('DEL', KEYS[1]) "
+            + "redis.call('SREM', KEYS[2], ARGV[2]) "
+            + "redis.call('SET', KEYS[3], ARGV[1], 'EX', ARGV[4]) "
+            + "redis.call('SADD', KEYS[2], ARGV[3]) "
+            + "redis.call('EXPIRE', KEYS[2], ARGV[4]) "
+            + "return 1", Long.class);
+
+    /**
+     * 撤销单个 refreshId。KEYS: refresh key、用户列表 key；ARGV: refreshId
+     */
+    private static final RedisScript<Long> REVOKE_SCRIPT = RedisScript.of(
+            "redis.call('SREM', KEYS[2], ARGV[1]) "
+            + "return redis.call('DEL', KEYS[1])", Long.class);
+
+    /**
+     * 撤销用户名下全部 refreshId。KEYS: 用户列表 key；ARGV: refresh key 前缀
+     */
+    private static final RedisScript<Long> REVOKE_ALL_SCRIPT = RedisScript.of(
+            "local ids = redis.call('SMEMBERS', KEYS[1]) "
+            + "for _, id in ipairs(ids) do redis.call('DEL', ARGV[1] .. id) end "
+            + "redis.call('DEL', KEYS[1]) "
+            + "return #ids", Long.class);
+
+    public TokenService(StringRedisTemplate redisTemplate, JwtUtil jwtUtil, JwtProperties jwtProperties,
+                        UserRepository userRepository, UserStateCache userStateCache,
+                        AccessTokenDenylist accessTokenDenylist, UserRoles userRoles, MeterRegistry meterRegistry) {
         this.redisTemplate = redisTemplate;
         this.jwtUtil = jwtUtil;
         this.jwtProperties = jwtProperties;
+        this.userRepository = userRepository;
+        this.userStateCache = userStateCache;
+        this.accessTokenDenylist = accessTokenDenylist;
+        this.userRoles = userRoles;
+        this.issueTimer = meterRegistry.timer("auth.token.redis", "operation", "issue");
+        this.rotateTimer = meterRegistry.timer("auth.token.redis", "operation", "rotate");
+        this.validateTimer = meterRegistry.timer("auth.token.redis", "operation", "validate");
+        this.revokeTimer = meterRegistry.timer("auth.token.redis", "operation", "revoke");
+        this.revokeAllTimer = meterRegistry.timer("auth.token.redis", "operation", "revoke_all");
     }
 
     public AuthTokens createTokens(String username) {
         logger.info("Creating tokens for user: {}", username);
         try {
-            // access token claims 可放 roles 等（此示例简单）
-            String accessToken = jwtUtil.generateAccessToken(username, null);
-            logger.debug("Access token generated successfully for user: {}", username);
+            String accessToken = generateAccessToken(username);
 
-            // refresh token 使用 id 管理
+            // refresh token 使用 id 管理，id 与用户列表在一个脚本中写入 redis，过期时间与 refresh token 一致
             String refreshId = UUID.randomUUID().toString();
             String refreshToken = jwtUtil.generateRefreshToken(username, refreshId);
-            logger.debug("Refresh token generated successfully for user: {}", username);
-
             try {
-                // 将 refreshId 存 redis，过期时间与 refresh token 一致
-                String key = REFRESH_KEY_PREFIX + refreshId;
-                redisTemplate.opsForValue().set(key, username, jwtProperties.getRefreshTokenExpireSeconds(), TimeUnit.SECONDS);
-                logger.debug("Refresh token stored in Redis with key: {}", key);
-
-                // 记录用户的 refreshId 列表（便于登出全部设备）
-                String userListKey = USER_REFRESH_LIST_PREFIX + username;
-                redisTemplate.opsForSet().add(userListKey, refreshId);
-                redisTemplate.expire(userListKey, Duration.ofSeconds(jwtProperties.getRefreshTokenExpireSeconds()));
-                logger.debug("User refresh token list updated in Redis with key: {}", userListKey);
+                redisCall(issueTimer, "issue", () -> redisTemplate.execute(ISSUE_SCRIPT,
+                        List.of(REFRESH_KEY_PREFIX + refreshId, USER_REFRESH_LIST_PREFIX + username),
+                        username, refreshId, String.valueOf(jwtProperties.getRefreshTokenExpireSeconds())));
             } catch (Exception e) {
                 logger.error("Failed to store tokens in Redis for user: {}", username, e);
                 throw new RuntimeException("Failed to store authentication tokens", e);
@@ -63,12 +130,51 @@ public class TokenService {
         }
     }
 
+    /**
+     * 用刷新令牌换取一组新令牌，旧刷新令牌在同一个脚本中被校验并消费
+     * @param refreshToken 旧刷新令牌
+     * @return 新令牌；刷新令牌无效、过期或已被使用过时返回 null
+     */
+    public AuthTokens rotateTokens(String refreshToken) {
+        Claims claims;
+        try {
+            claims = jwtUtil.parseToken(refreshToken).getBody();
+        } catch (Exception e) {
+            return null;
+        }
+        String username = claims.getSubject();
+        String oldRefreshId = claims.getId();
+        if (username == null || oldRefreshId == null) {
+            return null;
+        }
+
+        String accessToken;
+        try {
+            accessToken = generateAccessToken(username);
+        } catch (IllegalStateException e) {
+            // 用户已删除或被禁用
+            logger.info("Refusing token rotation: {}", e.getMessage());
+            return null;
+        }
+        String newRefreshId = UUID.randomUUID().toString();
+        String newRefreshToken = jwtUtil.generateRefreshToken(username, newRefreshId);
+
+        Long rotated = redisCall(rotateTimer, "rotate", () -> redisTemplate.execute(ROTATE_SCRIPT,
+                List.of(REFRESH_KEY_PREFIX + oldRefreshId, USER_REFRESH_LIST_PREFIX + username, REFRESH_KEY_PREFIX + newRefreshId),
+                username, oldRefreshId, newRefreshId, String.valueOf(jwtProperties.getRefreshTokenExpireSeconds())));
+        if (rotated == null || rotated == 0) {
+            logger.info("Rejected refresh token {} for user {}: unknown or already used", oldRefreshId, username);
+            return null;
+        }
+        return new AuthTokens(accessToken, newRefreshToken);
+    }
+
     public boolean validateRefreshToken(String refreshToken) {
         try {
             var jws = jwtUtil.parseToken(refreshToken);
             String refreshId = jws.getBody().getId();
             String key = REFRESH_KEY_PREFIX + refreshId;
-            String username = redisTemplate.opsForValue().get(key);
+            String username = redisCall(validateTimer, "validate", () -> redisTemplate.opsForValue().get(key));
             return username != null;
         } catch (Exception ex) {
             return false;
@@ -85,24 +191,66 @@ public class TokenService {
             var jws = jwtUtil.parseToken(refreshToken);
             String refreshId = jws.getBody().getId();
             String username = jws.getBody().getSubject();
-
-            String key = REFRESH_KEY_PREFIX + refreshId;
-            redisTemplate.delete(key);
-
-            String userListKey = USER_REFRESH_LIST_PREFIX + username;
-            redisTemplate.opsForSet().remove(userListKey, refreshId);
+            redisCall(revokeTimer, "revoke", () -> redisTemplate.execute(REVOKE_SCRIPT,
+                    List.of(REFRESH_KEY_PREFIX + refreshId, USER_REFRESH_LIST_PREFIX + username),
+                    refreshId));
         } catch (Exception ignored) {}
     }
 
+    /**
+     * 吊销访问令牌，在其剩余有效期内各节点都会拒绝该令牌；无效或已过期的令牌直接忽略
+     */
+    public void revokeAccessToken(String accessToken) {
+        try {
+            Claims claims = jwtUtil.parseToken(accessToken).getBody();
+            if (claims.getExpiration() != null) {
+                accessTokenDenylist.revoke(claims.getId(), claims.getExpiration().getTime());
+            }
+        } catch (JwtException ignored) {}
+    }
+
     public void revokeAllForUser(String username) {
-        String userListKey = USER_REFRESH_LIST_PREFIX + username;
-        var refreshIds = redisTemplate.opsForSet().members(userListKey);
-        if (refreshIds != null) {
-            for (String id : refreshIds) {
-                redisTemplate.delete(REFRESH_KEY_PREFIX + id);
+        // 递增令牌版本，使已签发的访问令牌随用户状态缓存刷新失效
+        userRepository.incrementTokenVersion(username);
+        userRepository.findByUsername(username).ifPresent(user -> userStateCache.invalidate(user.getId()));
+
+        redisCall(revokeAllTimer, "revoke_all", () -> redisTemplate.execute(REVOKE_ALL_SCRIPT,
+                List.of(USER_REFRESH_LIST_PREFIX + username), REFRESH_KEY_PREFIX));
+    }
+
+    /**
+     * 执行一次 Redis 调用，计入对应计时器并发出 JFR 事件
+     */
+    private <T> T redisCall(Timer timer, String operation, Supplier<T> call) {
+        RedisCallEvent event = new RedisCallEvent();
+        event.begin();
+        try {
+            T result = timer.record(call);
+            event.succeeded = true;
+            return result;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.component = "TokenService";
+                event.operation = operation;
+                event.commit();
             }
         }
-        redisTemplate.delete(userListKey);
     }
-}
 
+    /**
+     * access token 携带用户ID、角色与令牌版本，过滤器据此构造主体，无需查库
+     * @throws IllegalStateException 用户不存在或已被禁用
+     */
+    private String generateAccessToken(String username) {
+        User user = userRepository.findByUsername(username)
+                .orElseThrow(() -> new IllegalStateException("User not found: " + username));
+        if (!user.isEnabled()) {
+            throw new IllegalStateException("User is disabled: " + username);
+        }
+        return jwtUtil.generateAccessToken(username, Map.of(
+                JwtUtil.CLAIM_USER_ID, user.getId(),
+                JwtUtil.CLAIM_ROLES, userRoles.rolesOf(username),
+                JwtUtil.CLAIM_TOKEN_VERSION, user.getTokenVersion()));
+    }
+}
@@ -0,0 +1,38 @@
+package com.voice.news.app.security;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * 用户角色：所有用户都是 USER，security.admin-usernames 中列出的用户名额外拥有 ADMIN
+ *
+ * 访问令牌的角色声明与 httpBasic 认证的权限都从这里取得，要求 ADMIN 的接口见 SecurityConfig。
+ * 角色在签发令牌时写入，调整管理员名单后需重新登录才生效。
+ */
+@Component
+public class UserRoles {
+
+    public static final String USER = "USER";
+    public static final String ADMIN = "ADMIN";
+
+    private static final List<String> USER_ROLES = List.of(USER);
+    private static final List<String> ADMIN_ROLES = List.of(USER, ADMIN);
+
+    private final Set<String> adminUsernames;
+
+    public UserRoles(@Value("${security.admin-usernames:}") String adminUsernames) {
+        this.adminUsernames = Arrays.stream(adminUsernames.split(","))
+                .map(String::trim)
+                .filter(s -> !s.isEmpty())
+                .collect(Collectors.toUnmodifiableSet());
+    }
+
+    public List<String> rolesOf(String username) {
+        return adminUsernames.contains(username) ? ADMIN_ROLES : USER_ROLES;
+    }
+}
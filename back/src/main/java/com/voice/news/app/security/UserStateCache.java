@@ -0,0 +1,64 @@
+package com.voice.news.app.security;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * 用户禁用状态与令牌版本的本地缓存，供 JWT 过滤器在不访问数据库的情况下拒绝已失效的令牌
+ *
+ * 过滤器只读取已经加载完成的条目：首次见到某个用户时在后台线程加载，本次请求按令牌声明放行；
+ * 条目写入超过 jwt.user-state-refresh-seconds 后再被访问时异步刷新，刷新期间继续使用旧值。
+ * 因此禁用用户或递增令牌版本后，最多经过一个刷新周期即在各节点生效。
+ */
+@Component
+public class UserStateCache {
+
+    private static final UserState MISSING = new UserState(false, Integer.MAX_VALUE);
+
+    private final boolean enabled;
+    private final AsyncLoadingCache<Long, UserState> cache;
+
+    public UserStateCache(JdbcTemplate jdbcTemplate, JwtProperties jwtProperties) {
+        this.enabled = jwtProperties.isUserStateCacheEnabled();
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(jwtProperties.getUserStateMaxSize())
+                .refreshAfterWrite(Duration.ofSeconds(jwtProperties.getUserStateRefreshSeconds()))
+                .expireAfterAccess(Duration.ofSeconds(jwtProperties.getUserStateRefreshSeconds() * 20))
+                .buildAsync(userId -> jdbcTemplate.query(
+                        "SELECT enabled, token_version FROM users WHERE id = ?",
+                        rs -> rs.next() ? new UserState(rs.getBoolean(1), rs.getInt(2)) : MISSING,
+                        userId));
+    }
+
+    /**
+     * 判断令牌是否已被用户状态作废（用户被禁用、删除，或令牌版本落后）
+     * 状态尚未加载完成时返回 false，不阻塞请求
+     */
+    public boolean isRevoked(JwtPrincipal principal) {
+        if (!enabled) {
+            return false;
+        }
+        CompletableFuture<UserState> future = cache.get(principal.getUserId());
+        if (!future.isDone() || future.isCompletedExceptionally()) {
+            return false;
+        }
+        UserState state = future.join();
+        return !state.enabled() || principal.getTokenVersion() < state.tokenVersion();
+    }
+
+    /**
+     * 本机写入用户状态后立即失效，避免等待刷新周期
+     */
+    public void invalidate(Long userId) {
+        cache.synchronous().invalidate(userId);
+    }
+
+    private record UserState(boolean enabled, int tokenVersion) {
+    }
+}
@@ -0,0 +1,218 @@
+package com.voice.news.app.service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.voice.news.app.dto.NewsDeleteFilter;
+import com.voice.news.app.dto.NewsListItem;
+import com.voice.news.app.entity.News;
+import com.voice.news.app.repository.NewsArchiveRepository;
+
+/**
+ * 新闻冷热分层
+ *
+ * 热表 news 只保留最近 news.retention.months 个自然月的新闻，更早的由 NewsRetentionJob
+ * 迁入按月分区的压缩归档表 news_archive。最新、按标签、按来源等热点查询只访问热表；
+ * 按ID读取在热表未命中时回查归档表，时间范围查询只有起始时间早于分界时才合并归档表的结果。
+ * 归档后的新闻仍占用其原文链接：链接去重与按ID、按条件删除都同时覆盖热表与归档表。
+ *
+ * news.retention.enabled=false 时不访问归档表，行为与未分层前一致。
+ */
+@Component
+public class NewsArchive {
+
+    private static final Logger logger = LoggerFactory.getLogger(NewsArchive.class);
+
+    private static final Comparator<NewsListItem> LATEST_FIRST = Comparator
+            .comparing(NewsListItem::getPublishedAt, Comparator.reverseOrder())
+            .thenComparing(NewsListItem::getId, Comparator.reverseOrder());
+
+    private final NewsArchiveRepository newsArchiveRepository;
+    private final boolean enabled;
+    private final int retentionMonths;
+
+    public NewsArchive(NewsArchiveRepository newsArchiveRepository,
+                       @Value("${news.retention.enabled:false}") boolean enabled,
+                       @Value("${news.retention.months:12}") int retentionMonths) {
+        this.newsArchiveRepository = newsArchiveRepository;
+        this.enabled = enabled;
+        this.retentionMonths = Math.max(1, retentionMonths);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void createTableIfEnabled() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            newsArchiveRepository.createTableIfMissing();
+            if (newsArchiveRepository.addUrlHashIndexIfMissing()) {
+                logger.info("Added idx_url_hash to news_archive");
+            }
+        } catch (Exception e) {
+            logger.error("Failed to create news_archive table, archived reads will fail until it exists", e);
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 冷热分界：当前月往前 retentionMonths 个月的月初，发布时间早于它的新闻属于归档数据
+     */
+    public LocalDateTime boundary() {
+        return YearMonth.now().minusMonths(retentionMonths).atDay(1).atStartOfDay();
+    }
+
+    /**
+     * 热表未命中时按ID读取归档新闻
+     */
+    public Optional<News> findById(Long id) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        return newsArchiveRepository.findById(id);
+    }
+
+    /**
+     * 热表未命中时读取归档新闻的最后修改时间
+     */
+    public Optional<LocalDateTime> findLastModified(Long id) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        return newsArchiveRepository.findCreatedAt(id);
+    }
+
+    /**
+     * 按 url_hash 查询已归档的新闻，供链接去重使用
+     * @return 已归档的 url_hash 到主键的映射
+     */
+    public Map<String, Long> findIdsByUrlHash(Collection<String> urlHashes) {
+        if (!enabled || urlHashes.isEmpty()) {
+            return Map.of();
+        }
+        return newsArchiveRepository.findIdsByUrlHash(urlHashes);
+    }
+
+    /**
+     * 按主键顺序逐页读取归档新闻的 url_hash，供去重过滤器预热
+     * @param consumer 每个非空 url_hash 回调一次
+     */
+    public void forEachUrlHash(int pageSize, Consumer<String> consumer) {
+        if (!enabled) {
+            return;
+        }
+        long afterId = 0;
+        while (true) {
+            List<Object[]> rows = newsArchiveRepository.findUrlHashPage(afterId, pageSize);
+            if (rows.isEmpty()) {
+                return;
+            }
+            for (Object[] row : rows) {
+                if (row[1] != null) {
+                    consumer.accept((String) row[1]);
+                }
+            }
+            afterId = (Long) rows.get(rows.size() - 1)[0];
+        }
+    }
+
+    /**
+     * 查询给定ID中已归档的部分
+     */
+    public Set<Long> findExistingIds(Collection<Long> ids) {
+        if (!enabled || ids.isEmpty()) {
+            return Set.of();
+        }
+        return newsArchiveRepository.findExistingIds(ids);
+    }
+
+    /**
+     * 删除一组归档新闻，调用方负责控制单次大小并提供事务
+     * @return 删除的行数
+     */
+    public int deleteByIds(Collection<Long> ids) {
+        if (!enabled || ids.isEmpty()) {
+            return 0;
+        }
+        return newsArchiveRepository.deleteByIds(ids);
+    }
+
+    /**
+     * 按主键顺序取出下一批满足删除条件的归档新闻ID
+     */
+    public List<Long> findIdsByFilter(NewsDeleteFilter filter, long afterId, int limit) {
+        if (!enabled) {
+            return List.of();
+        }
+        return newsArchiveRepository.findIdsByFilter(filter, afterId, limit);
+    }
+
+    /**
+     * 统计满足删除条件的归档新闻数
+     */
+    public long countByFilter(NewsDeleteFilter filter) {
+        return enabled ? newsArchiveRepository.countByFilter(filter) : 0;
+    }
+
+    /**
+     * 把热表的一页时间范围查询结果与归档表合并，仍按 (publishedAt, id) 倒序，截取 limit 条
+     * 查询起点不早于冷热分界时直接返回热表结果，不触碰归档表
+     * @param hotRows 热表按同一游标查出的最多 limit 条结果
+     */
+    public List<NewsListItem> mergeRange(List<NewsListItem> hotRows, LocalDateTime start, LocalDateTime end,
+                                         LocalDateTime publishedAt, Long id, int limit) {
+        if (!enabled || !start.isBefore(boundary())) {
+            return hotRows;
+        }
+        List<NewsListItem> archived = newsArchiveRepository.findByPublishedAtBetweenBefore(start, end, publishedAt, id, limit);
+        if (archived.isEmpty()) {
+            return hotRows;
+        }
+        List<NewsListItem> merged = new ArrayList<>(hotRows.size() + archived.size());
+        merged.addAll(hotRows);
+        merged.addAll(archived);
+        merged.sort(LATEST_FIRST);
+        return merged.size() > limit ? merged.subList(0, limit) : merged;
+    }
+
+    /**
+     * 流式读取时间范围内的归档新闻，查询起点不早于冷热分界时不触碰归档表
+     */
+    public void streamRange(LocalDateTime start, LocalDateTime end, Consumer<News> consumer) {
+        if (!enabled || !start.isBefore(boundary())) {
+            return;
+        }
+        newsArchiveRepository.streamByPublishedAtBetween(start, end, consumer);
+    }
+
+    /**
+     * 为即将归档的数据补齐月分区
+     * @param oldest 待归档数据中最早的发布时间
+     */
+    public void preparePartitions(LocalDate oldest) {
+        int added = newsArchiveRepository.addMonthlyPartitions(
+                YearMonth.from(oldest), YearMonth.from(boundary()).minusMonths(1));
+        if (added > 0) {
+            logger.info("Added {} monthly partitions to news_archive", added);
+        }
+    }
+}
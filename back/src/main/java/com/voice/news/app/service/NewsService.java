@@ -1,9 +1,17 @@
 package com.voice.news.app.service;
 
 import java.time.LocalDateTime;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
+import com.voice.news.app.common.CursorResult;
+import com.voice.news.app.dto.BulkIngestResult;
+import com.voice.news.app.dto.BulkItemResult;
+import com.voice.news.app.dto.IngestMode;
+import com.voice.news.app.dto.NewsListItem;
+import com.voice.news.app.dto.NewsSearchHit;
 import com.voice.news.app.entity.News;
 
 /**
@@ -13,39 +21,79 @@ public interface NewsService {
     
     /**
      * 根据发布时间倒序查询最新新闻列表
-     * @param limit 查询数量限制
-     * @return 新闻列表
+     * @param cursor 上一页返回的游标，首页传空
+     * @param limit 每页数量
+     * @return 新闻分页结果
      */
-    List<News> getLatestNews(int limit);
+    CursorResult<NewsListItem> getLatestNews(String cursor, int limit);
     
     /**
      * 根据标签查询新闻
-     * @param tag 标签名称
-     * @return 匹配的新闻列表
+     * @param tag 标签名称（精确匹配单个标签）
+     * @param cursor 上一页返回的游标，首页传空
+     * @param limit 每页数量
+     * @return 新闻分页结果
      */
-    List<News> getNewsByTag(String tag);
+    CursorResult<NewsListItem> getNewsByTag(String tag, String cursor, int limit);
     
     /**
      * 根据标题模糊查询新闻
      * @param keyword 关键词
-     * @return 匹配的新闻列表
+     * @param cursor 上一页返回的游标，首页传空
+     * @param limit 每页数量
+     * @return 新闻分页结果
      */
-    List<News> searchNewsByTitle(String keyword);
+    CursorResult<NewsListItem> searchNewsByTitle(String keyword, String cursor, int limit);
+    
+    /**
+     * 全文检索新闻标题、摘要与正文，按相关度排序
+     * @param keyword 关键词
+     * @param offset 跳过的命中数
+     * @param limit 返回数量
+     * @return 带高亮摘录的命中列表
+     */
+    List<NewsSearchHit> searchNews(String keyword, int offset, int limit);
     
     /**
      * 查询指定时间范围内发布的新闻
      * @param start 开始时间
      * @param end 结束时间
-     * @return 时间范围内的新闻列表
+     * @param cursor 上一页返回的游标，首页传空
+     * @param limit 每页数量
+     * @return 新闻分页结果
      */
-    List<News> getNewsByPublishTimeRange(LocalDateTime start, LocalDateTime end);
+    CursorResult<NewsListItem> getNewsByPublishTimeRange(LocalDateTime start, LocalDateTime end, String cursor, int limit);
     
     /**
      * 根据来源查询新闻
      * @param source 新闻来源
-     * @return 来自指定来源的新闻列表
+     * @param cursor 上一页返回的游标，首页传空
+     * @param limit 每页数量
+     * @return 新闻分页结果
+     */
+    CursorResult<NewsListItem> getNewsBySource(String source, String cursor, int limit);
+    
+    /**
+     * 流式读取指定时间范围内发布的全部新闻（含正文），逐条回调，先热表后归档表
+     * @param start 开始时间
+     * @param end 结束时间
+     * @param consumer 每条新闻的处理逻辑
      */
-    List<News> getNewsBySource(String source);
+    void streamNewsByPublishTimeRange(LocalDateTime start, LocalDateTime end, Consumer<News> consumer);
+    
+    /**
+     * 流式读取指定来源的全部新闻（含正文），逐条回调
+     * @param source 新闻来源
+     * @param consumer 每条新闻的处理逻辑
+     */
+    void streamNewsBySource(String source, Consumer<News> consumer);
+    
+    /**
+     * 查询新闻的最后修改时间，用于条件请求判断，不加载正文
+     * @param id 新闻ID
+     * @return 最后修改时间，新闻不存在时为空
+     */
+    Optional<LocalDateTime> getNewsLastModified(Long id);
     
     /**
      * 根据ID查询单个新闻详情
@@ -61,6 +109,23 @@ public interface NewsService {
      */
     News saveNews(News news);
     
+    /**
+     * 批量导入新闻，按配置的批次大小分批写入，单条校验失败不影响其他条目
+     * @param items 新闻迭代器，可以是对请求体的流式解析
+     * @param mode 原文链接已存在时的处理方式
+     * @return 各状态计数及失败条目的明细
+     */
+    BulkIngestResult saveNewsBulk(Iterator<News> items, IngestMode mode);
+    
+    /**
+     * 批量导入新闻，每条结果处理完即交给 listener，返回的汇总中不含失败明细
+     * @param items 新闻迭代器，可以是对请求体的流式解析
+     * @param mode 原文链接已存在时的处理方式
+     * @param listener 逐条结果的接收方
+     * @return 各状态计数
+     */
+    BulkIngestResult saveNewsBulk(Iterator<News> items, IngestMode mode, Consumer<BulkItemResult> listener);
+    
     /**
      * 更新新闻
      * @param news 新闻对象
@@ -75,7 +140,8 @@ public interface NewsService {
     void deleteNews(Long id);
     
     /**
-     * 批量删除新闻
+     * 批量删除新闻：先确认全部ID存在，有不存在的ID时不删除任何记录；
+     * 之后按 news.delete.chunk-size 分批，每批一个事务，中途出错时已提交的批次不会回滚
      * @param ids 新闻ID列表
      */
     void deleteNewsBatch(List<Long> ids);
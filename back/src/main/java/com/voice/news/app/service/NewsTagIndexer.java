@@ -0,0 +1,86 @@
+package com.voice.news.app.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import com.voice.news.app.entity.NewsTag;
+import com.voice.news.app.repository.NewsTagRepository;
+
+/**
+ * 维护 news_tag 标签索引表
+ *
+ * 调用方需处于事务中，索引行与新闻本身在同一事务内提交。
+ */
+@Component
+public class NewsTagIndexer {
+
+    /**
+     * 与 NewsTag.tag 列长度一致，超长标签截断
+     */
+    private static final int MAX_TAG_LENGTH = 50;
+
+    private final NewsTagRepository newsTagRepository;
+
+    public NewsTagIndexer(NewsTagRepository newsTagRepository) {
+        this.newsTagRepository = newsTagRepository;
+    }
+
+    /**
+     * 按 News.tags 重建一条新闻的标签行
+     * @param newsId 新闻ID
+     * @param tags 逗号分隔的标签
+     * @param publishedAt 新闻发布时间
+     */
+    public void reindex(Long newsId, String tags, LocalDateTime publishedAt) {
+        newsTagRepository.deleteByNewsIdIn(List.of(newsId));
+        List<NewsTag> rows = new ArrayList<>();
+        for (String tag : parseTags(tags)) {
+            rows.add(new NewsTag(newsId, tag, publishedAt));
+        }
+        if (!rows.isEmpty()) {
+            newsTagRepository.saveAll(rows);
+        }
+    }
+
+    /**
+     * 删除新闻对应的标签行
+     * @param newsIds 新闻ID集合
+     */
+    public void remove(Collection<Long> newsIds) {
+        if (!newsIds.isEmpty()) {
+            newsTagRepository.deleteByNewsIdIn(newsIds);
+        }
+    }
+
+    /**
+     * 解析逗号分隔的标签串，兼容中文逗号，去除空白与重复项
+     * 重复按不区分大小写判断并保留第一次出现的写法，与 news_tag.tag 的 utf8mb4_unicode_ci 唯一键一致，
+     * 否则 "AI,ai" 会在写入标签行时违反 uk_news_tag
+     * @param tags 标签串，例如 "科技,AI"
+     * @return 有序去重后的标签集合
+     */
+    public static Set<String> parseTags(String tags) {
+        Map<String, String> result = new LinkedHashMap<>();
+        if (!StringUtils.hasText(tags)) {
+            return new LinkedHashSet<>();
+        }
+        for (String part : tags.split("[,，]")) {
+            String tag = part.trim();
+            if (!tag.isEmpty()) {
+                tag = tag.length() > MAX_TAG_LENGTH ? tag.substring(0, MAX_TAG_LENGTH) : tag;
+                result.putIfAbsent(tag.toLowerCase(Locale.ROOT), tag);
+            }
+        }
+        return new LinkedHashSet<>(result.values());
+    }
+}
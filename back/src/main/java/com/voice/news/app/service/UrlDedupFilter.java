@@ -0,0 +1,125 @@
+package com.voice.news.app.service;
+
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+import com.voice.news.app.common.BloomFilter;
+import com.voice.news.app.common.UrlNormalizer;
+import com.voice.news.app.repository.NewsJdbcRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * 新闻链接去重的内存预过滤器（布隆过滤器）
+ *
+ * 判定为"一定不存在"的链接直接写入，无需向数据库确认；判定为"可能存在"的链接
+ * 才批量按 url_hash 查库确认。启动后在后台按主键扫描 news 表预热，同时为存量数据回填 url_hash，
+ * 再载入已归档新闻的链接；预热完成前所有链接都视为"可能存在"。
+ */
+@Component
+public class UrlDedupFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(UrlDedupFilter.class);
+
+    private static final int WARM_UP_BATCH_SIZE = 5000;
+
+    private final NewsJdbcRepository newsJdbcRepository;
+    private final NewsArchive newsArchive;
+    private final BloomFilter bloomFilter;
+    private final Counter negatives;
+    private final Counter positives;
+    private volatile boolean ready;
+
+    public UrlDedupFilter(NewsJdbcRepository newsJdbcRepository,
+                          NewsArchive newsArchive,
+                          MeterRegistry meterRegistry,
+                          @Value("${news.dedup.expected-urls:10000000}") long expectedUrls,
+                          @Value("${news.dedup.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.newsJdbcRepository = newsJdbcRepository;
+        this.newsArchive = newsArchive;
+        this.bloomFilter = new BloomFilter(expectedUrls, falsePositiveRate);
+        this.negatives = meterRegistry.counter("news.dedup.bloom", "result", "negative");
+        this.positives = meterRegistry.counter("news.dedup.bloom", "result", "positive");
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startWarmUp() {
+        Thread worker = new Thread(this::warmUp, "url-dedup-warm-up");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    public void warmUp() {
+        long afterId = 0;
+        long[] loaded = {0};
+        try {
+            while (true) {
+                List<Object[]> rows = newsJdbcRepository.findUrlPage(afterId, WARM_UP_BATCH_SIZE);
+                if (rows.isEmpty()) {
+                    break;
+                }
+                for (Object[] row : rows) {
+                    String urlHash = (String) row[2];
+                    if (urlHash == null && row[1] != null) {
+                        urlHash = backfill((Long) row[0], (String) row[1]);
+                    }
+                    if (urlHash != null) {
+                        bloomFilter.put(urlHash);
+                        loaded[0]++;
+                    }
+                }
+                afterId = (Long) rows.get(rows.size() - 1)[0];
+            }
+            newsArchive.forEachUrlHash(WARM_UP_BATCH_SIZE, urlHash -> {
+                bloomFilter.put(urlHash);
+                loaded[0]++;
+            });
+            ready = true;
+            logger.info("URL dedup filter ready, {} urls loaded", loaded[0]);
+        } catch (Exception e) {
+            logger.error("URL dedup filter warm-up aborted after {} urls, falling back to database checks", loaded[0], e);
+        }
+    }
+
+    /**
+     * @return false 表示该链接一定未入库
+     */
+    public boolean mightContain(String urlHash) {
+        if (!ready) {
+            return true;
+        }
+        boolean result = bloomFilter.mightContain(urlHash);
+        (result ? positives : negatives).increment();
+        return result;
+    }
+
+    public void put(String urlHash) {
+        if (urlHash != null) {
+            bloomFilter.put(urlHash);
+        }
+    }
+
+    /**
+     * 为 url_hash 为空的存量新闻回填哈希；与已有记录重复的保持为空，交由人工清理
+     */
+    private String backfill(Long id, String url) {
+        String urlHash = UrlNormalizer.hash(url);
+        if (urlHash == null) {
+            return null;
+        }
+        try {
+            newsJdbcRepository.updateUrlHash(id, urlHash);
+        } catch (DataIntegrityViolationException e) {
+            logger.warn("News {} duplicates an existing url, url_hash left empty: {}", id, url);
+        }
+        return urlHash;
+    }
+}
@@ -1,20 +1,56 @@
 package com.voice.news.app.service;
 
+import com.voice.news.app.common.CursorResult;
+import com.voice.news.app.dto.BulkIngestResult;
+import com.voice.news.app.dto.UserFilter;
+import com.voice.news.app.dto.UserImportItem;
+import com.voice.news.app.dto.UserListItem;
+import com.voice.news.app.exception.ServiceException;
 import com.voice.news.app.model.User;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
 public interface UserService {
 
-    List<User> getAllUsers();
+    /**
+     * 键集分页查询用户列表，按注册时间倒序
+     * @param filter 过滤条件
+     * @param cursor 上一页返回的游标，首页传 null
+     * @param limit 每页数量
+     * @return 不含密码哈希的用户列表
+     */
+    CursorResult<UserListItem> listUsers(UserFilter filter, String cursor, int limit);
+
+    /**
+     * 流式导出满足条件的全部用户，逐行回调
+     */
+    void exportUsers(UserFilter filter, Consumer<UserListItem> consumer);
 
     Optional<User> getUserById(Long id);
     
     Optional<User> getUserByUsername(String username);
 
-    User createUser(User user);
+    /**
+     * 创建用户，明文密码在密码哈希线程池中加密，调用线程不等待
+     * @throws ServiceException 哈希排队已满（TOO_MANY_REQUESTS）
+     */
+    CompletableFuture<User> createUser(User user);
 
-    User updateUser(Long id, User user);
+    /**
+     * 更新用户，传入新密码时异步加密并递增令牌版本
+     * @return 更新后的用户，用户不存在时结果为 null
+     */
+    CompletableFuture<User> updateUser(Long id, User user);
 
     void deleteUser(Long id);
+
+    /**
+     * 分批导入用户，用于从旧系统迁移：每批一次冲突查询、一条批量插入、一个事务
+     * @param items 待导入的用户，按顺序流式读取
+     * @return 各状态计数及失败、冲突条目的明细，重复的用户名/邮箱/手机号记为 DUPLICATE
+     */
+    BulkIngestResult importUsers(Iterator<UserImportItem> items);
 }
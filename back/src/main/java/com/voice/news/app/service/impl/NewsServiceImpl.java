@@ -1,17 +1,59 @@
 package com.voice.news.app.service.impl;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.Optional;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.ConcurrencyFailureException;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
 
+import com.voice.news.app.cache.NewsCache;
+import com.voice.news.app.cache.NewsFeedCache;
+import com.voice.news.app.common.CursorResult;
+import com.voice.news.app.common.HttpCaching;
+import com.voice.news.app.common.KeysetCursor;
+import com.voice.news.app.common.UrlNormalizer;
+import com.voice.news.app.dto.BulkIngestResult;
+import com.voice.news.app.dto.BulkItemResult;
+import com.voice.news.app.dto.IngestMode;
+import com.voice.news.app.dto.NewsListItem;
+import com.voice.news.app.dto.NewsSearchHit;
 import com.voice.news.app.entity.News;
+import com.voice.news.app.event.NewsChangedEvent;
+import com.voice.news.app.exception.ErrorCode;
+import com.voice.news.app.exception.ServiceException;
+import com.voice.news.app.repository.NewsJdbcRepository;
 import com.voice.news.app.repository.NewsRepository;
+import com.voice.news.app.search.NewsSearchIndex;
+import com.voice.news.app.service.NewsArchive;
 import com.voice.news.app.service.NewsService;
+import com.voice.news.app.service.NewsTagIndexer;
+import com.voice.news.app.service.UrlDedupFilter;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 
 /**
  * NewsService接口的实现类，提供新闻相关的业务逻辑操作
@@ -22,76 +64,467 @@ public class NewsServiceImpl implements NewsService {
     @Autowired
     private NewsRepository newsRepository;
     
+    @Autowired
+    private NewsTagIndexer newsTagIndexer;
+    
+    @Autowired
+    private NewsSearchIndex newsSearchIndex;
+    
+    @Autowired
+    private NewsCache newsCache;
+    
+    @Autowired
+    private NewsFeedCache newsFeedCache;
+    
+    @Autowired
+    private NewsJdbcRepository newsJdbcRepository;
+    
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    
+    @Autowired
+    private UrlDedupFilter urlDedupFilter;
+    
+    @Autowired
+    private NewsArchive newsArchive;
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    /**
+     * 批量删除每批的ID数，每批一条 DELETE ... WHERE id IN、一个事务
+     */
+    @Value("${news.delete.chunk-size:1000}")
+    private int deleteChunkSize;
+    
+    /**
+     * 批量导入每批写入条数
+     */
+    @Value("${news.ingest.batch-size:500}")
+    private int bulkBatchSize;
+    
+    /**
+     * 流式导出时每处理多少条清理一次持久化上下文，避免已写出的实体堆积在一级缓存中
+     */
+    private static final int STREAM_CLEAR_INTERVAL = 500;
+    
+    /**
+     * 单页最大条数，防止客户端一次拉取过多数据
+     */
+    private static final int MAX_PAGE_SIZE = 100;
+    
+    /**
+     * 批量导入单批次因并发冲突（死锁、锁等待超时、其他批次同时写入同一链接）回滚时的最大尝试次数，
+     * 重试时先提交的一方已可见，本批会把它判为已存在
+     */
+    private static final int BULK_LOCK_ATTEMPTS = 3;
+    
+    /**
+     * 全文检索允许翻到的最大偏移，相关度排序只需要前若干页
+     */
+    private static final int MAX_SEARCH_OFFSET = 1000;
+    
+    @Override
+    public CursorResult<NewsListItem> getLatestNews(String cursor, int limit) {
+        // 首页是访问最集中的请求，走两级缓存；翻页请求直接走键集查询
+        if (!StringUtils.hasText(cursor)) {
+            int size = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+            return newsCache.getLatest(size, () -> page(null, size, (c, pageable) ->
+                    newsRepository.findLatestBefore(c.getPublishedAt(), c.getId(), pageable)));
+        }
+        return page(cursor, limit, (c, pageable) ->
+                newsRepository.findLatestBefore(c.getPublishedAt(), c.getId(), pageable));
+    }
+    
+    @Override
+    public CursorResult<NewsListItem> getNewsByTag(String tag, String cursor, int limit) {
+        // 首页从预计算的标签 feed 读取，翻页请求走键集查询
+        if (!StringUtils.hasText(cursor)) {
+            return page(null, limit, (c, pageable) -> newsFeedCache.read(NewsFeedCache.Kind.TAG, tag, pageable.getPageSize(),
+                    n -> newsRepository.findByTagBefore(tag, c.getPublishedAt(), c.getId(), PageRequest.ofSize(n))));
+        }
+        return page(cursor, limit, (c, pageable) ->
+                newsRepository.findByTagBefore(tag, c.getPublishedAt(), c.getId(), pageable));
+    }
+    
+    @Override
+    public CursorResult<NewsListItem> searchNewsByTitle(String keyword, String cursor, int limit) {
+        return page(cursor, limit, (c, pageable) ->
+                newsRepository.findByTitleContainingBefore(keyword, c.getPublishedAt(), c.getId(), pageable));
+    }
+    
     @Override
-    public List<News> getLatestNews(int limit) {
-        // 创建Pageable对象，使用PageRequest.ofSize指定返回数量
-        Pageable pageable = PageRequest.ofSize(limit);
-        return newsRepository.findByOrderByPublishedAtDesc(pageable);
+    public List<NewsSearchHit> searchNews(String keyword, int offset, int limit) {
+        int size = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        return newsSearchIndex.search(keyword, Math.max(0, Math.min(offset, MAX_SEARCH_OFFSET)), size);
     }
     
     @Override
-    public List<News> getNewsByTag(String tag) {
-        return newsRepository.findByTag(tag);
+    public CursorResult<NewsListItem> getNewsByPublishTimeRange(LocalDateTime start, LocalDateTime end, String cursor, int limit) {
+        return page(cursor, limit, (c, pageable) -> newsArchive.mergeRange(
+                newsRepository.findByPublishedAtBetweenBefore(start, end, c.getPublishedAt(), c.getId(), pageable),
+                start, end, c.getPublishedAt(), c.getId(), pageable.getPageSize()));
     }
     
     @Override
-    public List<News> searchNewsByTitle(String keyword) {
-        return newsRepository.findByTitleContaining(keyword);
+    public CursorResult<NewsListItem> getNewsBySource(String source, String cursor, int limit) {
+        // 首页从预计算的来源 feed 读取，翻页请求走键集查询
+        if (!StringUtils.hasText(cursor)) {
+            return page(null, limit, (c, pageable) -> newsFeedCache.read(NewsFeedCache.Kind.SOURCE, source, pageable.getPageSize(),
+                    n -> newsRepository.findBySourceBefore(source, c.getPublishedAt(), c.getId(), PageRequest.ofSize(n))));
+        }
+        return page(cursor, limit, (c, pageable) ->
+                newsRepository.findBySourceBefore(source, c.getPublishedAt(), c.getId(), pageable));
     }
     
     @Override
-    public List<News> getNewsByPublishTimeRange(LocalDateTime start, LocalDateTime end) {
-        return newsRepository.findByPublishedAtBetween(start, end);
+    @Transactional(readOnly = true)
+    public void streamNewsByPublishTimeRange(LocalDateTime start, LocalDateTime end, Consumer<News> consumer) {
+        try (Stream<News> stream = newsRepository.streamByPublishedAtBetween(start, end)) {
+            forEachDetached(stream, consumer);
+        }
+        newsArchive.streamRange(start, end, consumer);
     }
     
     @Override
-    public List<News> getNewsBySource(String source) {
-        return newsRepository.findBySource(source);
+    @Transactional(readOnly = true)
+    public void streamNewsBySource(String source, Consumer<News> consumer) {
+        try (Stream<News> stream = newsRepository.streamBySource(source)) {
+            forEachDetached(stream, consumer);
+        }
+    }
+    
+    private void forEachDetached(Stream<News> stream, Consumer<News> consumer) {
+        int count = 0;
+        for (Iterator<News> it = stream.iterator(); it.hasNext(); ) {
+            consumer.accept(it.next());
+            if (++count % STREAM_CLEAR_INTERVAL == 0) {
+                entityManager.clear();
+            }
+        }
+    }
+    
+    /**
+     * 键集分页通用流程：多取一条用于判断是否还有下一页，下一页游标取本页最后一条记录
+     */
+    private CursorResult<NewsListItem> page(String cursor, int limit, BiFunction<KeysetCursor, Pageable, List<NewsListItem>> query) {
+        int size = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        List<NewsListItem> rows = query.apply(KeysetCursor.decode(cursor), PageRequest.ofSize(size + 1));
+        if (rows.size() <= size) {
+            return CursorResult.of(rows, null);
+        }
+        List<NewsListItem> pageRows = rows.subList(0, size);
+        NewsListItem last = pageRows.get(size - 1);
+        return CursorResult.of(pageRows, new KeysetCursor(last.getPublishedAt(), last.getId()).encode());
+    }
+    
+    @Override
+    public Optional<LocalDateTime> getNewsLastModified(Long id) {
+        News cached = newsCache.peek(id);
+        if (cached != null) {
+            return Optional.of(HttpCaching.lastModified(cached));
+        }
+        return newsJdbcRepository.findLastModified(id).or(() -> newsArchive.findLastModified(id));
     }
     
     @Override
     public Optional<News> getNewsById(Long id) {
-        return newsRepository.findById(id);
+        return newsCache.getNews(id, () -> newsRepository.findById(id).or(() -> newsArchive.findById(id)));
     }
     
     @Override
+    @Transactional
     public News saveNews(News news) {
         // 设置创建时间
         if (news.getCreatedAt() == null) {
             news.setCreatedAt(LocalDateTime.now());
         }
-        return newsRepository.save(news);
+        // 发布时间参与分页排序，缺失时以抓取时间代替
+        if (news.getPublishedAt() == null) {
+            news.setPublishedAt(news.getCreatedAt());
+        }
+        rejectArchivedUrl(news.getUrl());
+        News saved;
+        try {
+            saved = newsRepository.save(news);
+        } catch (DataIntegrityViolationException e) {
+            throw new ServiceException(ErrorCode.PARAM_ERROR.code, "新闻链接已存在: " + news.getUrl());
+        }
+        newsTagIndexer.reindex(saved.getId(), saved.getTags(), saved.getPublishedAt());
+        urlDedupFilter.put(saved.getUrlHash());
+        eventPublisher.publishEvent(NewsChangedEvent.created(saved));
+        return saved;
+    }
+    
+    @Override
+    public BulkIngestResult saveNewsBulk(Iterator<News> items, IngestMode mode) {
+        return saveNewsBulk(items, mode, null);
     }
     
     @Override
+    public BulkIngestResult saveNewsBulk(Iterator<News> items, IngestMode mode, Consumer<BulkItemResult> listener) {
+        BulkIngestResult result = new BulkIngestResult(listener);
+        List<Integer> chunkIndexes = new ArrayList<>();
+        List<News> chunk = new ArrayList<>();
+        int index = 0;
+        while (true) {
+            News news;
+            try {
+                if (!items.hasNext()) {
+                    break;
+                }
+                news = items.next();
+            } catch (RuntimeException e) {
+                // 请求体格式错误时无法继续定位后续条目，已解析的部分照常写入
+                result.add(BulkItemResult.failed(index, "解析失败，后续数据已忽略: " + e.getMessage()));
+                break;
+            }
+            String error = validateForBulk(news);
+            if (error != null) {
+                result.add(BulkItemResult.failed(index++, error));
+                continue;
+            }
+            if (news.getCreatedAt() == null) {
+                news.setCreatedAt(LocalDateTime.now());
+            }
+            if (news.getPublishedAt() == null) {
+                news.setPublishedAt(news.getCreatedAt());
+            }
+            news.setUpdatedAt(LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS));
+            chunkIndexes.add(index++);
+            chunk.add(news);
+            if (chunk.size() >= bulkBatchSize) {
+                flushBulk(chunkIndexes, chunk, mode, result);
+                chunkIndexes = new ArrayList<>();
+                chunk = new ArrayList<>();
+            }
+        }
+        flushBulk(chunkIndexes, chunk, mode, result);
+        result.getFailures().sort(Comparator.comparingInt(BulkItemResult::getIndex));
+        return result;
+    }
+    
+    /**
+     * 单批次一个事务：无链接的新闻直接批量插入；有链接的新闻先做批内去重与布隆预过滤，
+     * 再以一条多值 upsert 语句写入，由 url_hash 唯一索引兜底判重。提交后统一触发索引和缓存更新；
+     * 因并发冲突回滚的批次整批重试
+     */
+    private void flushBulk(List<Integer> indexes, List<News> chunk, IngestMode mode, BulkIngestResult result) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        List<Integer> plainIndexes = new ArrayList<>();
+        List<News> plain = new ArrayList<>();
+        Map<String, Integer> keyedIndexes = new LinkedHashMap<>();
+        Map<String, News> keyed = new LinkedHashMap<>();
+        List<String> suspects = new ArrayList<>();
+        for (int i = 0; i < chunk.size(); i++) {
+            News news = chunk.get(i);
+            String urlHash = UrlNormalizer.hash(news.getUrl());
+            news.setUrlHash(urlHash);
+            if (urlHash == null) {
+                plainIndexes.add(indexes.get(i));
+                plain.add(news);
+            } else if (keyed.containsKey(urlHash)) {
+                result.add(BulkItemResult.duplicate(indexes.get(i), null));
+            } else {
+                keyedIndexes.put(urlHash, indexes.get(i));
+                keyed.put(urlHash, news);
+                if (urlDedupFilter.mightContain(urlHash)) {
+                    suspects.add(urlHash);
+                }
+            }
+        }
+
+        try {
+            // 只有布隆过滤器判定可能存在的链接需要查库确认：SKIP 模式下确认重复的不再发送正文；
+            // 已归档的链接两种模式都不再写入热表，MERGE 也不修改归档记录
+            if (mode == IngestMode.SKIP && !suspects.isEmpty()) {
+                newsJdbcRepository.findIdsByUrlHash(suspects).forEach((urlHash, id) -> {
+                    result.add(BulkItemResult.duplicate(keyedIndexes.remove(urlHash), id));
+                    keyed.remove(urlHash);
+                });
+                suspects.retainAll(keyed.keySet());
+            }
+            newsArchive.findIdsByUrlHash(suspects).forEach((urlHash, id) -> {
+                int index = keyedIndexes.remove(urlHash);
+                result.add(mode == IngestMode.SKIP
+                        ? BulkItemResult.duplicate(index, id)
+                        : BulkItemResult.conflict(index, "原文链接已归档，未合并: " + id));
+                keyed.remove(urlHash);
+            });
+            List<News> keyedList = new ArrayList<>(keyed.values());
+            List<News> created = new ArrayList<>();
+            List<News> existing = new ArrayList<>();
+            Set<String> existingHashes = new HashSet<>();
+            for (int attempt = 1; ; attempt++) {
+                created.clear();
+                created.addAll(plain);
+                existing.clear();
+                existingHashes.clear();
+                try {
+                    transactionTemplate.executeWithoutResult(status -> {
+                        newsJdbcRepository.insertBatch(plain);
+                        existingHashes.addAll(newsJdbcRepository.upsertBatch(keyedList, mode));
+                        for (News news : keyedList) {
+                            if (news.getId() == null) {
+                                continue;
+                            }
+                            (existingHashes.contains(news.getUrlHash()) ? existing : created).add(news);
+                        }
+                        List<News> retagged = new ArrayList<>(created.subList(plain.size(), created.size()));
+                        if (mode == IngestMode.MERGE && !existing.isEmpty()) {
+                            newsJdbcRepository.deleteTags(existing.stream().map(News::getId).toList());
+                            retagged.addAll(existing);
+                        }
+                        newsJdbcRepository.insertTags(retagged);
+                        if (!created.isEmpty()) {
+                            eventPublisher.publishEvent(NewsChangedEvent.created(created));
+                        }
+                        if (mode == IngestMode.MERGE && !existing.isEmpty()) {
+                            eventPublisher.publishEvent(NewsChangedEvent.updated(existing));
+                        }
+                    });
+                    break;
+                } catch (ConcurrencyFailureException e) {
+                    if (attempt >= BULK_LOCK_ATTEMPTS) {
+                        throw e;
+                    }
+                }
+            }
+            for (int i = 0; i < plain.size(); i++) {
+                result.add(BulkItemResult.created(plainIndexes.get(i), plain.get(i).getId()));
+            }
+            for (News news : keyedList) {
+                int index = keyedIndexes.get(news.getUrlHash());
+                urlDedupFilter.put(news.getUrlHash());
+                if (news.getId() == null) {
+                    result.add(BulkItemResult.failed(index, "写入被数据库忽略"));
+                } else if (!existingHashes.contains(news.getUrlHash())) {
+                    result.add(BulkItemResult.created(index, news.getId()));
+                } else if (mode == IngestMode.MERGE) {
+                    result.add(BulkItemResult.merged(index, news.getId()));
+                } else {
+                    result.add(BulkItemResult.duplicate(index, news.getId()));
+                }
+            }
+        } catch (DataAccessException e) {
+            String message = "批次写入失败: " + e.getMostSpecificCause().getMessage();
+            for (Integer i : plainIndexes) {
+                result.add(BulkItemResult.failed(i, message));
+            }
+            for (Integer i : keyedIndexes.values()) {
+                result.add(BulkItemResult.failed(i, message));
+            }
+        }
+    }
+    
+    /**
+     * 链接已随新闻迁入归档表时拒绝写入：归档表不受热表 url_hash 唯一索引约束
+     */
+    private void rejectArchivedUrl(String url) {
+        String urlHash = UrlNormalizer.hash(url);
+        if (urlHash != null && urlDedupFilter.mightContain(urlHash)
+                && !newsArchive.findIdsByUrlHash(List.of(urlHash)).isEmpty()) {
+            throw new ServiceException(ErrorCode.PARAM_ERROR.code, "新闻链接已存在: " + url);
+        }
+    }
+    
+    /**
+     * 批量导入前的字段校验，长度限制与 news 表定义一致
+     * @return 错误信息，校验通过返回 null
+     */
+    private static String validateForBulk(News news) {
+        if (news == null) {
+            return "新闻内容为空";
+        }
+        if (!StringUtils.hasText(news.getTitle())) {
+            return "标题不能为空";
+        }
+        if (news.getTitle().length() > 500) {
+            return "标题长度不能超过500";
+        }
+        if (news.getUrl() != null && news.getUrl().length() > 500) {
+            return "链接长度不能超过500";
+        }
+        if (news.getTags() != null && news.getTags().length() > 200) {
+            return "标签长度不能超过200";
+        }
+        if (news.getSource() != null && news.getSource().length() > 200) {
+            return "来源长度不能超过200";
+        }
+        return null;
+    }
+    
+    @Override
+    @Transactional
     public News updateNews(News news) {
         // 检查新闻是否存在
         Optional<News> existingNews = newsRepository.findById(news.getId());
         if (existingNews.isPresent()) {
             // 设置更新时间
             news.setCreatedAt(existingNews.get().getCreatedAt()); // 保留原创建时间
-            return newsRepository.save(news);
+            if (news.getPublishedAt() == null) {
+                news.setPublishedAt(existingNews.get().getPublishedAt());
+            }
+            if (!Objects.equals(UrlNormalizer.hash(news.getUrl()), existingNews.get().getUrlHash())) {
+                rejectArchivedUrl(news.getUrl());
+            }
+            News saved;
+            try {
+                saved = newsRepository.saveAndFlush(news);
+            } catch (DataIntegrityViolationException e) {
+                throw new ServiceException(ErrorCode.PARAM_ERROR.code, "新闻链接已存在: " + news.getUrl());
+            }
+            newsTagIndexer.reindex(saved.getId(), saved.getTags(), saved.getPublishedAt());
+            urlDedupFilter.put(saved.getUrlHash());
+            eventPublisher.publishEvent(NewsChangedEvent.updated(saved));
+            return saved;
         }
         throw new RuntimeException("News not found with id: " + news.getId());
     }
     
     @Override
+    @Transactional
     public void deleteNews(Long id) {
-        // 检查新闻是否存在
-        if (!newsRepository.existsById(id)) {
+        // 检查新闻是否存在，热表未命中时再查归档表
+        if (newsRepository.existsById(id)) {
+            newsTagIndexer.remove(List.of(id));
+            newsRepository.deleteById(id);
+        } else if (newsArchive.deleteByIds(List.of(id)) == 0) {
             throw new RuntimeException("News not found with id: " + id);
         }
-        newsRepository.deleteById(id);
+        eventPublisher.publishEvent(NewsChangedEvent.deleted(List.of(id)));
     }
     
     @Override
     public void deleteNewsBatch(List<Long> ids) {
-        // 检查所有ID是否存在
-        for (Long id : ids) {
-            if (!newsRepository.existsById(id)) {
-                throw new RuntimeException("News not found with id: " + id);
+        // 先按批次确认全部ID存在于热表或归档表（不加锁），有不存在的ID时一条都不删
+        List<Long> distinctIds = ids.stream().distinct().toList();
+        List<List<Long>> chunks = new ArrayList<>();
+        for (int from = 0; from < distinctIds.size(); from += deleteChunkSize) {
+            List<Long> chunk = distinctIds.subList(from, Math.min(from + deleteChunkSize, distinctIds.size()));
+            Set<Long> existing = new HashSet<>(newsJdbcRepository.findExistingIds(chunk));
+            if (existing.size() < chunk.size()) {
+                existing.addAll(newsArchive.findExistingIds(chunk.stream().filter(id -> !existing.contains(id)).toList()));
             }
+            if (existing.size() < chunk.size()) {
+                Long missing = chunk.stream().filter(id -> !existing.contains(id)).findFirst().orElse(null);
+                throw new RuntimeException("News not found with id: " + missing);
+            }
+            chunks.add(chunk);
+        }
+        // 每批一个短事务，行锁与 undo 日志只保留到该批提交；批次提交后即失效相关缓存
+        for (List<Long> chunk : chunks) {
+            transactionTemplate.executeWithoutResult(status -> {
+                if (newsJdbcRepository.deleteByIds(chunk) < chunk.size()) {
+                    newsArchive.deleteByIds(chunk);
+                }
+                eventPublisher.publishEvent(NewsChangedEvent.deleted(chunk));
+            });
         }
-        newsRepository.deleteAllById(ids);
     }
 }
@@ -1,15 +1,41 @@
 package com.voice.news.app.service.impl;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.util.StringUtils;
 
+import com.voice.news.app.common.CursorResult;
+import com.voice.news.app.common.KeysetCursor;
+import com.voice.news.app.dto.BulkIngestResult;
+import com.voice.news.app.dto.BulkItemResult;
+import com.voice.news.app.dto.UserFilter;
+import com.voice.news.app.dto.UserImportItem;
+import com.voice.news.app.dto.UserListItem;
+import com.voice.news.app.exception.ServiceException;
 import com.voice.news.app.model.User;
+import com.voice.news.app.repository.UserJdbcRepository;
 import com.voice.news.app.repository.UserRepository;
+import com.voice.news.app.security.PasswordHashingExecutor;
 import com.voice.news.app.service.UserService;
 
 @Service
@@ -21,9 +47,60 @@ public class UserServiceImpl implements UserService {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private PasswordHashingExecutor passwordHashingExecutor;
+
+    @Autowired
+    private UserJdbcRepository userJdbcRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    /**
+     * 哈希完成后的保存操作在 MVC 异步执行器上继续，不占用有界的哈希线程
+     */
+    @Autowired
+    @Qualifier("applicationTaskExecutor")
+    private Executor taskExecutor;
+
+    /**
+     * 批量导入每批写入条数
+     */
+    @Value("${user.import.batch-size:1000}")
+    private int importBatchSize;
+
+    /**
+     * 批量导入时同时在密码哈希线程池中排队或执行的加密任务上限，应小于 security.password.hash-queue-size，
+     * 给登录、注册留出排队位置
+     */
+    @Value("${user.import.hash-concurrency:16}")
+    private int importHashConcurrency;
+
+    /**
+     * 单页最大条数，防止客户端一次拉取过多数据
+     */
+    private static final int MAX_PAGE_SIZE = 100;
+
+    /**
+     * 迁移时原样保留的密码哈希须为 BCrypt 格式，否则登录时无法校验
+     */
+    private static final Pattern BCRYPT_HASH = Pattern.compile("^\\$2[aby]?\\$\\d{2}\\$[./A-Za-z0-9]{53}$");
+
     @Override
-    public List<User> getAllUsers() {
-        return userRepository.findAll();
+    public CursorResult<UserListItem> listUsers(UserFilter filter, String cursor, int limit) {
+        int size = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        List<UserListItem> rows = userJdbcRepository.findPage(filter, KeysetCursor.decode(cursor), size + 1);
+        if (rows.size() <= size) {
+            return CursorResult.of(rows, null);
+        }
+        List<UserListItem> pageRows = rows.subList(0, size);
+        UserListItem last = pageRows.get(size - 1);
+        return CursorResult.of(pageRows, new KeysetCursor(last.getCreatedAt(), last.getId()).encode());
+    }
+
+    @Override
+    public void exportUsers(UserFilter filter, Consumer<UserListItem> consumer) {
+        userJdbcRepository.stream(filter, consumer);
     }
 
     @Override
@@ -37,33 +114,207 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
-    public User createUser(User user) {
-        if (StringUtils.hasText(user.getPassword())) {
-            user.setPassword(passwordEncoder.encode(user.getPassword()));
+    public CompletableFuture<User> createUser(User user) {
+        if (!StringUtils.hasText(user.getPassword())) {
+            return CompletableFuture.completedFuture(userRepository.save(user));
         }
-        return userRepository.save(user);
+        return encodeAsync(user.getPassword()).thenApplyAsync(passwordHash -> {
+            user.setPassword(passwordHash);
+            return userRepository.save(user);
+        }, taskExecutor);
     }
 
     @Override
-    public User updateUser(Long id, User user) {
-        return userRepository.findById(id)
-                .map(u -> {
-                    u.setUsername(user.getUsername());
-                    u.setEmail(user.getEmail());
-                    u.setPhone(user.getPhone());
-                    if (StringUtils.hasText(user.getPassword())) {
-                        u.setPassword(passwordEncoder.encode(user.getPassword()));
-                    }
-                    u.setAge(user.getAge());
-                    u.setHeight(user.getHeight());
-                    u.setGender(user.getGender());
-                    return userRepository.save(u);
-                })
-                .orElse(null);
+    public CompletableFuture<User> updateUser(Long id, User user) {
+        Optional<User> existing = userRepository.findById(id);
+        if (existing.isEmpty()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        CompletableFuture<String> passwordHash = StringUtils.hasText(user.getPassword())
+                ? encodeAsync(user.getPassword())
+                : CompletableFuture.completedFuture(null);
+        return passwordHash.thenApplyAsync(hash -> {
+            User u = existing.get();
+            u.setUsername(user.getUsername());
+            u.setEmail(user.getEmail());
+            u.setPhone(user.getPhone());
+            if (hash != null) {
+                u.setPassword(hash);
+                // 修改密码后，已签发的访问令牌全部失效
+                u.setTokenVersion(u.getTokenVersion() + 1);
+            }
+            u.setAge(user.getAge());
+            u.setHeight(user.getHeight());
+            u.setGender(user.getGender());
+            return userRepository.save(u);
+        }, taskExecutor);
     }
 
     @Override
     public void deleteUser(Long id) {
         userRepository.deleteById(id);
     }
+
+    @Override
+    public BulkIngestResult importUsers(Iterator<UserImportItem> items) {
+        BulkIngestResult result = new BulkIngestResult();
+        List<Integer> chunkIndexes = new ArrayList<>();
+        List<UserImportItem> chunk = new ArrayList<>();
+        int index = 0;
+        while (true) {
+            UserImportItem item;
+            try {
+                if (!items.hasNext()) {
+                    break;
+                }
+                item = items.next();
+            } catch (RuntimeException e) {
+                // 请求体格式错误时无法继续定位后续条目，已解析的部分照常写入
+                result.add(BulkItemResult.failed(index, "解析失败，后续数据已忽略: " + e.getMessage()));
+                break;
+            }
+            String error = validateForImport(item);
+            if (error != null) {
+                result.add(BulkItemResult.failed(index++, error));
+                continue;
+            }
+            chunkIndexes.add(index++);
+            chunk.add(item);
+            if (chunk.size() >= importBatchSize) {
+                flushImport(chunkIndexes, chunk, result);
+                chunkIndexes = new ArrayList<>();
+                chunk = new ArrayList<>();
+            }
+        }
+        flushImport(chunkIndexes, chunk, result);
+        result.getFailures().sort(Comparator.comparingInt(BulkItemResult::getIndex));
+        return result;
+    }
+
+    /**
+     * 单批次：批内去重，一次查询排除已存在的用户，并发加密明文密码后在一个事务内批量插入。
+     * 并发注册导致唯一约束冲突时整批记为失败，可原样重试（已存在的用户会被判为重复）
+     */
+    private void flushImport(List<Integer> indexes, List<UserImportItem> chunk, BulkIngestResult result) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        Set<String> usernames = new HashSet<>();
+        Set<String> emails = new HashSet<>();
+        Set<String> phones = new HashSet<>();
+        for (UserImportItem item : chunk) {
+            usernames.add(item.getUsername());
+            emails.add(item.getEmail());
+            phones.add(item.getPhone());
+        }
+        Set<String> takenUsernames = new HashSet<>();
+        Set<String> takenEmails = new HashSet<>();
+        Set<String> takenPhones = new HashSet<>();
+        try {
+            for (Object[] row : userJdbcRepository.findConflicts(usernames, emails, phones)) {
+                takenUsernames.add((String) row[0]);
+                takenEmails.add((String) row[1]);
+                takenPhones.add((String) row[2]);
+            }
+        } catch (DataAccessException e) {
+            String message = "批次写入失败: " + e.getMostSpecificCause().getMessage();
+            indexes.forEach(i -> result.add(BulkItemResult.failed(i, message)));
+            return;
+        }
+
+        // 明文密码全部提交到哈希线程池并发加密，同一批最多 importHashConcurrency 个在途，之后统一等待
+        List<Integer> pendingIndexes = new ArrayList<>();
+        List<UserImportItem> pendingItems = new ArrayList<>();
+        List<CompletableFuture<String>> passwords = new ArrayList<>();
+        Semaphore permits = new Semaphore(importHashConcurrency);
+        for (int i = 0; i < chunk.size(); i++) {
+            UserImportItem item = chunk.get(i);
+            // 已存在的和批内先出现的一样处理：占用后同批后续条目即视为重复
+            String conflict = !takenUsernames.add(item.getUsername()) ? "用户名已存在"
+                    : !takenEmails.add(item.getEmail()) ? "邮箱已存在"
+                    : !takenPhones.add(item.getPhone()) ? "手机号已存在"
+                    : null;
+            if (conflict != null) {
+                result.add(BulkItemResult.conflict(indexes.get(i), conflict));
+                continue;
+            }
+            pendingIndexes.add(indexes.get(i));
+            pendingItems.add(item);
+            passwords.add(item.getPasswordHash() != null
+                    ? CompletableFuture.completedFuture(item.getPasswordHash())
+                    : encodeForImport(item.getPassword(), permits));
+        }
+
+        List<Integer> insertIndexes = new ArrayList<>();
+        List<User> users = new ArrayList<>();
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < pendingItems.size(); i++) {
+            UserImportItem item = pendingItems.get(i);
+            String password;
+            try {
+                password = passwords.get(i).join();
+            } catch (CompletionException e) {
+                Throwable cause = e.getCause() != null ? e.getCause() : e;
+                result.add(BulkItemResult.failed(pendingIndexes.get(i), cause.getMessage()));
+                continue;
+            }
+            User user = new User(null, item.getUsername(), item.getGender(), item.getAge(), item.getHeight(),
+                    item.getEmail(), item.getPhone(), password, now, now);
+            insertIndexes.add(pendingIndexes.get(i));
+            users.add(user);
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> userJdbcRepository.insertBatch(users));
+            for (int i = 0; i < users.size(); i++) {
+                result.add(BulkItemResult.created(insertIndexes.get(i), users.get(i).getId()));
+            }
+        } catch (DataAccessException e) {
+            String message = "批次写入失败: " + e.getMostSpecificCause().getMessage();
+            insertIndexes.forEach(i -> result.add(BulkItemResult.failed(i, message)));
+        }
+    }
+
+    private static String validateForImport(UserImportItem item) {
+        if (item == null) {
+            return "用户内容为空";
+        }
+        if (!StringUtils.hasText(item.getUsername()) || item.getUsername().length() > 50) {
+            return "用户名不能为空且长度不能超过50";
+        }
+        if (!StringUtils.hasText(item.getEmail()) || item.getEmail().length() > 100) {
+            return "邮箱不能为空且长度不能超过100";
+        }
+        if (!StringUtils.hasText(item.getPhone()) || item.getPhone().length() > 20) {
+            return "手机号不能为空且长度不能超过20";
+        }
+        if (item.getPasswordHash() != null) {
+            return BCRYPT_HASH.matcher(item.getPasswordHash()).matches() ? null : "密码哈希不是有效的BCrypt格式";
+        }
+        if (item.getPassword() == null || item.getPassword().length() < 6) {
+            return "密码长度不能少于6位";
+        }
+        return null;
+    }
+
+    /**
+     * 导入用的异步加密：先取得一个许可再提交，许可在加密完成时归还，在途任务数不超过许可数；
+     * 排队已满时返回以 TOO_MANY_REQUESTS 失败的 future，只影响这一条
+     */
+    private CompletableFuture<String> encodeForImport(String rawPassword, Semaphore permits) {
+        permits.acquireUninterruptibly();
+        try {
+            return encodeAsync(rawPassword).whenComplete((hash, e) -> permits.release());
+        } catch (ServiceException e) {
+            permits.release();
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * 异步提交 BCrypt 加密，调用线程不等待；排队已满时立即抛出 TOO_MANY_REQUESTS
+     */
+    private CompletableFuture<String> encodeAsync(String rawPassword) {
+        return passwordHashingExecutor.submit("encode", () -> passwordEncoder.encode(rawPassword));
+    }
 }
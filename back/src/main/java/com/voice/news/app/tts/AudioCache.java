@@ -0,0 +1,265 @@
+package com.voice.news.app.tts;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * 按内容寻址的合成音频磁盘缓存，总大小超过上限时按最近最少使用淘汰
+ *
+ * 缓存键是 (引擎, 音色, 格式, 清洗后的文本) 的 SHA-256，文件存放在 {cache-dir}/{键前两位}/{键}.{扩展名}，
+ * 文本不变就命中同一个文件，新闻修改后自然换用新键，旧文件随 LRU 淘汰。
+ * 新文件先写入 tmp 目录再原子移动到位，读者不会看到写了一半的文件。
+ * 访问顺序记录在内存中并同步到文件修改时间，重启后按修改时间恢复 LRU 顺序。
+ * get/put 返回的文件处于占用状态，调用方读完后必须调用 release；淘汰时跳过被占用的文件，
+ * 正在发送的音频不会在打开之前被删除。占用期间总大小可能短暂超过上限，最后一个占用释放时再补做淘汰。
+ */
+@Component
+public class AudioCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(AudioCache.class);
+
+    private static final String TMP_DIR = "tmp";
+
+    /**
+     * 向 OutputStream 写入音频内容
+     */
+    public interface AudioWriter {
+        void write(OutputStream out) throws IOException;
+    }
+
+    private final Path root;
+    private final long maxBytes;
+    private final ReentrantLock lock = new ReentrantLock();
+    /**
+     * 文件 -> 大小，按访问顺序排列，最久未访问的在前
+     */
+    private final LinkedHashMap<Path, Long> entries = new LinkedHashMap<>(16, 0.75f, true);
+    /**
+     * 文件 -> 占用数，只包含正在被读取的文件
+     */
+    private final Map<Path, Integer> pins = new HashMap<>();
+    private long totalBytes;
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+
+    public AudioCache(MeterRegistry meterRegistry,
+                      @Value("${news.tts.cache-dir:data/tts-cache}") String cacheDir,
+                      @Value("${news.tts.cache-max-size-mb:2048}") long maxSizeMb) throws IOException {
+        this.root = Paths.get(cacheDir);
+        this.maxBytes = maxSizeMb * 1024 * 1024;
+        this.hits = meterRegistry.counter("news.tts.cache", "result", "hit");
+        this.misses = meterRegistry.counter("news.tts.cache", "result", "miss");
+        this.evictions = meterRegistry.counter("news.tts.cache.evictions");
+        meterRegistry.gauge("news.tts.cache.size", this, cache -> cache.totalBytes);
+        Files.createDirectories(root.resolve(TMP_DIR));
+        load();
+    }
+
+    public static String key(String engine, String voice, AudioFormat format, String text) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (String part : List.of(engine, voice, format.extension)) {
+                digest.update(part.getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) 0);
+            }
+            digest.update(text.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * 查找已缓存的音频，标记为最近使用并占用，读完后调用 release
+     * @return 音频文件，未缓存时为 null
+     */
+    public Path get(String key, AudioFormat format) {
+        Path file = path(key, format);
+        lock.lock();
+        try {
+            if (entries.get(file) == null) {
+                misses.increment();
+                return null;
+            }
+            pins.merge(file, 1, Integer::sum);
+        } finally {
+            lock.unlock();
+        }
+        try {
+            Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+        } catch (NoSuchFileException e) {
+            // 文件在缓存之外被删除
+            release(file);
+            remove(file);
+            misses.increment();
+            return null;
+        } catch (IOException e) {
+            logger.debug("Failed to touch cached audio {}", file, e);
+        }
+        hits.increment();
+        return file;
+    }
+
+    /**
+     * 写入一个新音频并占用，随后按需淘汰最久未使用的文件；读完后调用 release
+     * @return 音频文件
+     */
+    public Path put(String key, AudioFormat format, AudioWriter writer) throws IOException {
+        Path file = path(key, format);
+        Path tmp = Files.createTempFile(root.resolve(TMP_DIR), key, "." + format.extension);
+        try {
+            try (OutputStream out = Files.newOutputStream(tmp)) {
+                writer.write(out);
+            }
+            Files.createDirectories(file.getParent());
+            Files.move(tmp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+        long size = Files.size(file);
+        lock.lock();
+        try {
+            Long previous = entries.put(file, size);
+            totalBytes += size - (previous == null ? 0 : previous);
+            pins.merge(file, 1, Integer::sum);
+            evict();
+        } finally {
+            lock.unlock();
+        }
+        return file;
+    }
+
+    /**
+     * 释放 get/put 对文件的占用；没有其他占用后该文件可以被淘汰
+     */
+    public void release(Path file) {
+        lock.lock();
+        try {
+            Integer count = pins.get(file);
+            if (count == null) {
+                return;
+            }
+            if (count > 1) {
+                pins.put(file, count - 1);
+                return;
+            }
+            pins.remove(file);
+            // 占用期间跳过的淘汰在这里补上
+            evict();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getTotalBytes() {
+        lock.lock();
+        try {
+            return totalBytes;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Path path(String key, AudioFormat format) {
+        return root.resolve(key.substring(0, 2)).resolve(key + "." + format.extension);
+    }
+
+    /**
+     * 淘汰最久未使用的文件直到总大小不超过上限，被占用的文件（包括刚写入的）保留
+     */
+    private void evict() {
+        Iterator<Map.Entry<Path, Long>> it = entries.entrySet().iterator();
+        while (totalBytes > maxBytes && it.hasNext()) {
+            Map.Entry<Path, Long> eldest = it.next();
+            if (pins.containsKey(eldest.getKey())) {
+                continue;
+            }
+            it.remove();
+            totalBytes -= eldest.getValue();
+            evictions.increment();
+            try {
+                Files.deleteIfExists(eldest.getKey());
+            } catch (IOException e) {
+                logger.warn("Failed to delete evicted audio {}", eldest.getKey(), e);
+            }
+        }
+    }
+
+    private void remove(Path file) {
+        lock.lock();
+        try {
+            Long size = entries.remove(file);
+            if (size != null) {
+                totalBytes -= size;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 启动时扫描缓存目录，按文件修改时间重建 LRU 顺序，并清理上次异常退出残留的临时文件
+     */
+    private void load() throws IOException {
+        try (Stream<Path> tmp = Files.list(root.resolve(TMP_DIR))) {
+            for (Path file : (Iterable<Path>) tmp::iterator) {
+                Files.deleteIfExists(file);
+            }
+        }
+        List<Path> files;
+        try (Stream<Path> walk = Files.walk(root, 2)) {
+            files = walk.filter(Files::isRegularFile)
+                    .filter(file -> !file.getParent().getFileName().toString().equals(TMP_DIR))
+                    .sorted(Comparator.comparing(AudioCache::lastModified))
+                    .toList();
+        }
+        lock.lock();
+        try {
+            for (Path file : files) {
+                long size = Files.size(file);
+                entries.put(file, size);
+                totalBytes += size;
+            }
+            evict();
+        } finally {
+            lock.unlock();
+        }
+        logger.info("Audio cache {} holds {} files, {} bytes", root, entries.size(), totalBytes);
+    }
+
+    private static FileTime lastModified(Path file) {
+        try {
+            return Files.getLastModifiedTime(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.voice.news.app.tts;
+
+import java.util.Locale;
+
+/**
+ * 合成音频的输出格式
+ */
+public enum AudioFormat {
+
+    WAV("wav", "audio/wav"),
+    MP3("mp3", "audio/mpeg");
+
+    public final String extension;
+    public final String mimeType;
+
+    AudioFormat(String extension, String mimeType) {
+        this.extension = extension;
+        this.mimeType = mimeType;
+    }
+
+    /**
+     * 按扩展名查找格式，不区分大小写
+     * @return 对应格式，不认识时为 null
+     */
+    public static AudioFormat fromExtension(String extension) {
+        if (extension == null) {
+            return null;
+        }
+        String normalized = extension.toLowerCase(Locale.ROOT);
+        for (AudioFormat format : values()) {
+            if (format.extension.equals(normalized)) {
+                return format;
+            }
+        }
+        return null;
+    }
+}
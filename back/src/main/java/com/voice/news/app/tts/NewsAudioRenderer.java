@@ -0,0 +1,211 @@
+package com.voice.news.app.tts;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.voice.news.app.entity.News;
+import com.voice.news.app.exception.ErrorCode;
+import com.voice.news.app.exception.ServiceException;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * 新闻语音合成流水线：清洗文本 -> 按句分段 -> 引擎合成 -> 写入 AudioCache
+ *
+ * 播报文本由标题、摘要与正文拼接而成，去掉 HTML 标签并合并空白；分段在句末标点处切分，
+ * 单段不超过引擎的长度上限。同一篇新闻（文本、音色、格式不变）只合成一次，之后的收听都直接读取缓存文件；
+ * 多个请求同时请求同一份尚未合成的音频时只有一个请求调用引擎，其余等待其结果。
+ * render 返回的音频文件在缓存中处于占用状态，发送完毕后调用 release，期间不会被淘汰删除。
+ */
+@Component
+public class NewsAudioRenderer {
+
+    private static final Logger logger = LoggerFactory.getLogger(NewsAudioRenderer.class);
+
+    private static final Pattern HTML_TAG = Pattern.compile("<[^>]+>");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final String SENTENCE_ENDINGS = "。！？；!?;…";
+
+    private final TtsEngine engine;
+    private final AudioCache audioCache;
+    private final Timer synthesisTimer;
+    private final Map<String, CompletableFuture<Path>> inflight = new ConcurrentHashMap<>();
+
+    public NewsAudioRenderer(List<TtsEngine> engines,
+                             AudioCache audioCache,
+                             MeterRegistry meterRegistry,
+                             @Value("${news.tts.engine:" + StubTtsEngine.NAME + "}") String engineName) {
+        Map<String, TtsEngine> byName = engines.stream().collect(Collectors.toMap(TtsEngine::getName, Function.identity()));
+        this.engine = byName.get(engineName);
+        if (this.engine == null) {
+            throw new IllegalStateException("Unknown TTS engine '" + engineName + "', available: " + byName.keySet());
+        }
+        this.audioCache = audioCache;
+        this.synthesisTimer = Timer.builder("news.tts.synthesis").tag("engine", engineName).register(meterRegistry);
+    }
+
+    /**
+     * 计算新闻音频的缓存键，不触发合成，可用于条件请求判断；参数与文本的校验与 render 相同
+     * @param voice 音色，为空时使用引擎默认音色
+     * @param format 格式扩展名
+     * @throws ServiceException 音色或格式不支持、新闻没有可播报的文本
+     */
+    public String key(News news, String voice, String format) {
+        return AudioCache.key(engine.getName(), resolveVoice(voice), resolveFormat(format), speakableText(news));
+    }
+
+    /**
+     * 取得新闻的合成音频，未缓存时同步合成；返回的文件被占用，发送完毕后须调用 release
+     * @param voice 音色，为空时使用引擎默认音色
+     * @param format 格式扩展名
+     */
+    public RenderedAudio render(News news, String voice, String format) {
+        String resolvedVoice = resolveVoice(voice);
+        AudioFormat audioFormat = resolveFormat(format);
+        String text = speakableText(news);
+        String key = AudioCache.key(engine.getName(), resolvedVoice, audioFormat, text);
+        Path cached = audioCache.get(key, audioFormat);
+        if (cached != null) {
+            return new RenderedAudio(key, audioFormat, cached);
+        }
+
+        CompletableFuture<Path> mine = new CompletableFuture<>();
+        CompletableFuture<Path> running = inflight.putIfAbsent(key, mine);
+        if (running != null) {
+            await(running, news.getId());
+            // 合成者的占用属于它自己，这里另取一次占用；刚好被淘汰时重新走一遍
+            Path file = audioCache.get(key, audioFormat);
+            return file != null ? new RenderedAudio(key, audioFormat, file) : render(news, voice, format);
+        }
+        try {
+            // 可能在检查缓存与登记之间刚被其他请求合成完
+            Path file = audioCache.get(key, audioFormat);
+            if (file == null) {
+                List<String> segments = segments(text, engine.getMaxSegmentChars());
+                long start = System.nanoTime();
+                file = audioCache.put(key, audioFormat, out -> engine.synthesize(segments, resolvedVoice, audioFormat, out));
+                long elapsed = System.nanoTime() - start;
+                synthesisTimer.record(elapsed, TimeUnit.NANOSECONDS);
+                logger.info("Synthesized news {} ({} chars, {} segments) in {} ms",
+                        news.getId(), text.length(), segments.size(), elapsed / 1_000_000);
+            }
+            mine.complete(file);
+            return new RenderedAudio(key, audioFormat, file);
+        } catch (IOException | RuntimeException e) {
+            mine.completeExceptionally(e);
+            logger.error("Failed to synthesize audio for news {}", news.getId(), e);
+            throw new ServiceException(ErrorCode.SERVER_ERROR.code, "语音合成失败");
+        } finally {
+            inflight.remove(key, mine);
+        }
+    }
+
+    /**
+     * 释放 render 对音频文件的占用
+     */
+    public void release(RenderedAudio audio) {
+        audioCache.release(audio.getFile());
+    }
+
+    private static String speakableText(News news) {
+        String text = text(news);
+        if (text.isEmpty()) {
+            throw new ServiceException(ErrorCode.BUSINESS_ERROR.code, "新闻没有可播报的文本");
+        }
+        return text;
+    }
+
+    /**
+     * 播报文本：标题、摘要、正文依次拼接，缺少句末标点的部分补上句号
+     */
+    static String text(News news) {
+        StringBuilder sb = new StringBuilder();
+        for (String part : new String[] {news.getTitle(), news.getSummary(), news.getContent()}) {
+            if (part == null) {
+                continue;
+            }
+            String cleaned = WHITESPACE.matcher(HTML_TAG.matcher(part).replaceAll(" ")).replaceAll(" ").strip();
+            if (cleaned.isEmpty()) {
+                continue;
+            }
+            sb.append(cleaned);
+            if (SENTENCE_ENDINGS.indexOf(cleaned.charAt(cleaned.length() - 1)) < 0) {
+                sb.append('。');
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * 在句末标点处切分，把相邻的句子合并到不超过 maxChars 的分段中；超长的单句按 maxChars 硬切
+     */
+    static List<String> segments(String text, int maxChars) {
+        List<String> segments = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        int sentenceStart = 0;
+        for (int i = 0; i < text.length(); i++) {
+            boolean end = SENTENCE_ENDINGS.indexOf(text.charAt(i)) >= 0 || i == text.length() - 1;
+            if (!end) {
+                continue;
+            }
+            String sentence = text.substring(sentenceStart, i + 1).strip();
+            sentenceStart = i + 1;
+            if (current.length() + sentence.length() > maxChars && current.length() > 0) {
+                segments.add(current.toString());
+                current.setLength(0);
+            }
+            while (sentence.length() > maxChars) {
+                segments.add(sentence.substring(0, maxChars));
+                sentence = sentence.substring(maxChars);
+            }
+            current.append(sentence);
+        }
+        if (current.length() > 0) {
+            segments.add(current.toString());
+        }
+        return segments;
+    }
+
+    private String resolveVoice(String voice) {
+        if (voice == null || voice.isBlank()) {
+            return engine.getVoices().get(0);
+        }
+        if (!engine.getVoices().contains(voice)) {
+            throw new ServiceException(ErrorCode.PARAM_ERROR.code, "不支持的音色: " + voice);
+        }
+        return voice;
+    }
+
+    private AudioFormat resolveFormat(String format) {
+        AudioFormat audioFormat = AudioFormat.fromExtension(format);
+        if (audioFormat == null || !engine.getFormats().contains(audioFormat)) {
+            throw new ServiceException(ErrorCode.PARAM_ERROR.code, "不支持的音频格式: " + format);
+        }
+        return audioFormat;
+    }
+
+    private static void await(CompletableFuture<Path> running, Long newsId) {
+        try {
+            running.join();
+        } catch (CompletionException e) {
+            logger.debug("Concurrent synthesis for news {} failed", newsId, e.getCause());
+            throw new ServiceException(ErrorCode.SERVER_ERROR.code, "语音合成失败");
+        }
+    }
+}
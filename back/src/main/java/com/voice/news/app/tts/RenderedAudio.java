@@ -0,0 +1,26 @@
+package com.voice.news.app.tts;
+
+import java.nio.file.Path;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * 一篇新闻的合成音频
+ */
+@Data
+@AllArgsConstructor
+public class RenderedAudio {
+
+    /**
+     * 缓存键，即文本、音色、格式与引擎的内容哈希，可直接用作强 ETag
+     */
+    private String key;
+
+    private AudioFormat format;
+
+    /**
+     * 缓存中的音频文件，在 NewsAudioRenderer.release 之前不会被淘汰
+     */
+    private Path file;
+}
@@ -0,0 +1,123 @@
+package com.voice.news.app.tts;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * 本地确定性合成引擎，供开发与测试使用
+ *
+ * 不做真正的语音合成：每个字符输出一段 80ms 的正弦音，频率由音色基频与字符编码决定，标点输出停顿，
+ * 分段之间停顿 300ms。输出 16kHz 单声道 16 位 PCM 的 WAV，相同输入逐字节相同，时长与文本长度成正比。
+ */
+@Component
+public class StubTtsEngine implements TtsEngine {
+
+    public static final String NAME = "stub";
+
+    private static final int SAMPLE_RATE = 16000;
+    private static final int CHAR_SAMPLES = SAMPLE_RATE * 80 / 1000;
+    private static final int PAUSE_SAMPLES = SAMPLE_RATE * 200 / 1000;
+    private static final int SEGMENT_GAP_SAMPLES = SAMPLE_RATE * 300 / 1000;
+    private static final int WAV_HEADER_BYTES = 44;
+    private static final double AMPLITUDE = 0.3 * Short.MAX_VALUE;
+    private static final String FEMALE_VOICE = "zh-CN-female";
+    private static final String MALE_VOICE = "zh-CN-male";
+    private static final byte[] SILENCE = new byte[Math.max(PAUSE_SAMPLES, SEGMENT_GAP_SAMPLES) * 2];
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public List<String> getVoices() {
+        return List.of(FEMALE_VOICE, MALE_VOICE);
+    }
+
+    @Override
+    public Set<AudioFormat> getFormats() {
+        return Set.of(AudioFormat.WAV);
+    }
+
+    @Override
+    public int getMaxSegmentChars() {
+        return 200;
+    }
+
+    @Override
+    public void synthesize(List<String> segments, String voice, AudioFormat format, OutputStream out) throws IOException {
+        if (format != AudioFormat.WAV) {
+            throw new IllegalArgumentException("Stub engine only renders WAV");
+        }
+        double baseFrequency = MALE_VOICE.equals(voice) ? 140 : 220;
+        long samples = 0;
+        for (int i = 0; i < segments.size(); i++) {
+            samples += segmentSamples(segments.get(i)) + (i > 0 ? SEGMENT_GAP_SAMPLES : 0);
+        }
+        out.write(wavHeader(samples * 2));
+
+        ByteBuffer buffer = ByteBuffer.allocate(CHAR_SAMPLES * 2).order(ByteOrder.LITTLE_ENDIAN);
+        for (int i = 0; i < segments.size(); i++) {
+            if (i > 0) {
+                writeSilence(SEGMENT_GAP_SAMPLES, out);
+            }
+            String segment = segments.get(i);
+            for (int offset = 0; offset < segment.length(); ) {
+                int codePoint = segment.codePointAt(offset);
+                offset += Character.charCount(codePoint);
+                if (isPause(codePoint)) {
+                    writeSilence(PAUSE_SAMPLES, out);
+                } else if (!Character.isWhitespace(codePoint)) {
+                    writeTone(buffer, baseFrequency + (codePoint % 24) * 20, out);
+                }
+            }
+        }
+    }
+
+    private static long segmentSamples(String segment) {
+        return segment.codePoints()
+                .mapToLong(c -> isPause(c) ? PAUSE_SAMPLES : Character.isWhitespace(c) ? 0 : CHAR_SAMPLES)
+                .sum();
+    }
+
+    private static boolean isPause(int codePoint) {
+        int type = Character.getType(codePoint);
+        return type == Character.OTHER_PUNCTUATION || type == Character.START_PUNCTUATION
+                || type == Character.END_PUNCTUATION || type == Character.DASH_PUNCTUATION;
+    }
+
+    private static void writeTone(ByteBuffer buffer, double frequency, OutputStream out) throws IOException {
+        buffer.clear();
+        for (int n = 0; n < CHAR_SAMPLES; n++) {
+            // 首尾各 5ms 线性渐变，避免字与字之间的爆音
+            double envelope = Math.min(1.0, Math.min(n, CHAR_SAMPLES - 1 - n) / (SAMPLE_RATE * 0.005));
+            buffer.putShort((short) Math.round(AMPLITUDE * envelope * Math.sin(2 * Math.PI * frequency * n / SAMPLE_RATE)));
+        }
+        out.write(buffer.array(), 0, buffer.position());
+    }
+
+    private static void writeSilence(int samples, OutputStream out) throws IOException {
+        out.write(SILENCE, 0, samples * 2);
+    }
+
+    private static byte[] wavHeader(long dataBytes) {
+        ByteBuffer header = ByteBuffer.allocate(WAV_HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        header.put(new byte[] {'R', 'I', 'F', 'F'}).putInt((int) (36 + dataBytes))
+                .put(new byte[] {'W', 'A', 'V', 'E'})
+                .put(new byte[] {'f', 'm', 't', ' '}).putInt(16)
+                .putShort((short) 1) // PCM
+                .putShort((short) 1) // 单声道
+                .putInt(SAMPLE_RATE)
+                .putInt(SAMPLE_RATE * 2)
+                .putShort((short) 2)
+                .putShort((short) 16)
+                .put(new byte[] {'d', 'a', 't', 'a'}).putInt((int) dataBytes);
+        return header.array();
+    }
+}
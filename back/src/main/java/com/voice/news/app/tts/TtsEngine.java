@@ -0,0 +1,42 @@
+package com.voice.news.app.tts;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 语音合成引擎
+ *
+ * 实现注册为 Spring Bean 即可被 NewsAudioRenderer 按 news.tts.engine 选用。
+ * 文本的清洗与分段由调用方完成，引擎只负责把一组分段合成为一个完整的音频文件（含文件头），
+ * 相同输入必须产生相同的音频，合成结果按输入的哈希长期缓存。
+ */
+public interface TtsEngine {
+
+    /**
+     * 引擎名称，参与缓存键计算；合成结果随引擎版本变化时应同时更换名称
+     */
+    String getName();
+
+    /**
+     * @return 支持的音色，第一个为默认音色
+     */
+    List<String> getVoices();
+
+    Set<AudioFormat> getFormats();
+
+    /**
+     * @return 单个分段的最大字符数
+     */
+    int getMaxSegmentChars();
+
+    /**
+     * 把分段依次合成为一个音频文件并写入 out，分段之间插入停顿
+     * @param segments 非空分段，每段不超过 getMaxSegmentChars()
+     * @param voice 音色，取自 getVoices()
+     * @param format 输出格式，取自 getFormats()
+     * @param out 输出流，调用方负责关闭
+     */
+    void synthesize(List<String> segments, String voice, AudioFormat format, OutputStream out) throws IOException;
+}
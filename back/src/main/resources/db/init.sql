@@ -24,10 +24,14 @@ CREATE TABLE `users` (
 
   `password` VARCHAR(100) NOT NULL COMMENT '密码（BCrypt 加密）',
 
+  `enabled` BIT(1) NOT NULL DEFAULT 1 COMMENT '是否启用',
+  `token_version` INT NOT NULL DEFAULT 0 COMMENT '令牌版本，递增后已签发的访问令牌失效',
+
   `created_at` DATETIME NOT NULL COMMENT '创建时间',
   `updated_at` DATETIME DEFAULT NULL COMMENT '更新时间',
 
-  PRIMARY KEY (`id`)
+  PRIMARY KEY (`id`),
+  INDEX `idx_created_at_id` (`created_at` DESC, `id` DESC)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='用户表';
 
 INSERT INTO users (username, gender, age, height, email, phone, password, created_at, updated_at)
@@ -53,13 +57,54 @@ CREATE TABLE `news` (
   `tags` VARCHAR(200) COMMENT '新闻标签，逗号分隔，例如 "科技,AI"',
   `source` VARCHAR(200) COMMENT '新闻来源',
   `url` VARCHAR(500) COMMENT '新闻原文链接',
-  `published_at` DATETIME COMMENT '新闻实际发布时间',
+  `url_hash` CHAR(64) COMMENT '规范化原文链接的 SHA-256，用于去重',
+  `published_at` DATETIME NOT NULL COMMENT '新闻实际发布时间',
   `created_at` DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '抓取时间',
+  `updated_at` DATETIME(3) COMMENT '最后修改时间',
   PRIMARY KEY (`id`),
-  INDEX `idx_published_at` (`published_at`),
-  INDEX `idx_tags` (`tags`)
+  UNIQUE KEY `uk_url_hash` (`url_hash`),
+  INDEX `idx_published_at_id` (`published_at` DESC, `id` DESC),
+  INDEX `idx_source_published_at_id` (`source`, `published_at` DESC, `id` DESC),
+  INDEX `idx_updated_at_id` (`updated_at`, `id`)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
 
+DROP TABLE IF EXISTS `news_tag`;
+
+-- 标签索引表，由 news.tags 派生，按标签分页走 idx_tag_published_at
+CREATE TABLE `news_tag` (
+  `id` BIGINT NOT NULL AUTO_INCREMENT COMMENT '主键ID',
+  `news_id` BIGINT NOT NULL COMMENT '新闻ID',
+  `tag` VARCHAR(50) NOT NULL COMMENT '标签名称',
+  `published_at` DATETIME NOT NULL COMMENT '新闻发布时间（冗余）',
+  PRIMARY KEY (`id`),
+  UNIQUE KEY `uk_news_tag` (`news_id`, `tag`),
+  INDEX `idx_tag_published_at` (`tag`, `published_at` DESC, `news_id` DESC)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='新闻标签索引表';
+
+
+DROP TABLE IF EXISTS `news_archive`;
+
+-- 冷数据归档表，由 NewsRetentionJob 从 news 迁入；按月分区（p{yyyyMM} 由任务按需从 p_future 拆出），压缩行格式
+CREATE TABLE `news_archive` (
+  `id` BIGINT UNSIGNED NOT NULL COMMENT '原新闻ID',
+  `title` VARCHAR(500) NOT NULL COMMENT '新闻标题',
+  `summary` TEXT COMMENT '新闻摘要',
+  `content` LONGTEXT COMMENT '新闻正文',
+  `tags` VARCHAR(200) COMMENT '新闻标签，逗号分隔',
+  `source` VARCHAR(200) COMMENT '新闻来源',
+  `url` VARCHAR(500) COMMENT '新闻原文链接',
+  `url_hash` CHAR(64) COMMENT '规范化原文链接的 SHA-256',
+  `published_at` DATETIME NOT NULL COMMENT '新闻实际发布时间',
+  `created_at` DATETIME NOT NULL COMMENT '抓取时间',
+  `archived_at` DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '归档时间',
+  PRIMARY KEY (`id`, `published_at`),
+  INDEX `idx_published_at_id` (`published_at` DESC, `id` DESC),
+  INDEX `idx_url_hash` (`url_hash`)
+) ENGINE=InnoDB ROW_FORMAT=COMPRESSED KEY_BLOCK_SIZE=8 DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='新闻归档表'
+PARTITION BY RANGE COLUMNS(`published_at`) (
+  PARTITION p_old VALUES LESS THAN ('2000-01-01'),
+  PARTITION p_future VALUES LESS THAN (MAXVALUE)
+);
 
 INSERT INTO `news` (title, summary, content, tags, source, url, published_at)
 VALUES
@@ -84,3 +129,14 @@ VALUES
 ('东京奥运会场馆改造计划公布', '东京奥运会场馆升级改造。', '日本政府今日公布东京奥运会场馆改造计划，提升设施现代化水平……', '体育,奥运', 'NHK News', 'https://news.example.com/tokyo-olympic', NOW() - INTERVAL 2 DAY),
 ('教育部发布新高考政策', '全国高考政策调整。', '教育部今日发布最新高考政策，包括科目调整和考试时间安排……', '教育,高考', '教育部官网', 'https://news.example.com/gaokao-policy', NOW() - INTERVAL 5 HOUR);
 
+-- 根据 news.tags 回填标签索引（新部署执行一次；存量库也可开启 news.tag-backfill.enabled）
+-- 与 NewsTagIndexer.parseTags 一致：中英文逗号都是分隔符，超长截断为 50 字符，
+-- 不区分大小写的重复标签由 uk_news_tag 去掉（IGNORE 保留先出现的一个）
+INSERT IGNORE INTO `news_tag` (news_id, tag, published_at)
+SELECT n.id, LEFT(TRIM(jt.tag), 50), n.published_at
+FROM `news` n
+JOIN JSON_TABLE(CONCAT('["', REPLACE(REPLACE(n.tags, '，', ','), ',', '","'), '"]'), '$[*]' COLUMNS (ord FOR ORDINALITY, tag VARCHAR(200) PATH '$')) jt
+WHERE n.tags IS NOT NULL AND TRIM(jt.tag) <> ''
+ORDER BY n.id, jt.ord;
+
+-- 种子数据的 url_hash 留空，应用启动时由去重过滤器预热按规范化后的链接回填
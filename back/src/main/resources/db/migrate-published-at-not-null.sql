@@ -0,0 +1,19 @@
+-- 存量库升级：news.published_at / news_tag.published_at 改为 NOT NULL
+--
+-- 列表接口按 (published_at, id) 键集分页，游标谓词 published_at < ? 会排除 published_at 为空的行，
+-- 这些新闻在各个 feed 中都不可见。应用写入时已用抓取时间补齐发布时间，这里按同样规则回填存量数据后加上非空约束。
+-- 新部署直接执行 init.sql 即可，无需本脚本。ALTER 期间会重建表，建议在低峰期执行。
+
+USE `ai_voice_news`;
+
+-- ① 用抓取时间回填发布时间（数据量大时可加 LIMIT 10000 重复执行，直到影响行数为 0）
+UPDATE `news` SET published_at = created_at WHERE published_at IS NULL;
+
+-- ② 标签索引表的冗余发布时间与新闻保持一致
+UPDATE `news_tag` t JOIN `news` n ON n.id = t.news_id
+SET t.published_at = n.published_at
+WHERE t.published_at IS NULL;
+
+-- ③ 加非空约束，此后写入空发布时间会直接失败而不是从列表中消失
+ALTER TABLE `news` MODIFY `published_at` DATETIME NOT NULL COMMENT '新闻实际发布时间';
+ALTER TABLE `news_tag` MODIFY `published_at` DATETIME NOT NULL COMMENT '新闻发布时间（冗余）';
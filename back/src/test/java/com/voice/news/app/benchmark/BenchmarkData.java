@@ -0,0 +1,121 @@
+package com.voice.news.app.benchmark;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.voice.news.app.common.UrlNormalizer;
+import com.voice.news.app.entity.News;
+
+/**
+ * 基准测试的固定数据集
+ *
+ * 所有数据由固定种子的 Random 生成，同一 (count, seed) 每次得到完全相同的内容，
+ * 不同版本之间的基准结果才有可比性。时间以固定基准时刻倒推，不依赖运行时的当前时间。
+ */
+public final class BenchmarkData {
+
+    public static final long DEFAULT_SEED = 20240601L;
+    public static final int SOURCE_COUNT = 20;
+    public static final int TAG_COUNT = 50;
+
+    /**
+     * 数据集的"当前时间"，发布时间在它之前一年内均匀分布
+     */
+    public static final LocalDateTime BASE_TIME = LocalDateTime.of(2024, 6, 1, 0, 0);
+
+    private static final int SUMMARY_WORDS = 60;
+    private static final int CONTENT_WORDS = 800;
+    private static final String[] WORDS = {
+            "人工智能", "经济", "市场", "政策", "科技", "发布", "增长", "城市", "教育", "医疗",
+            "能源", "交通", "数据", "平台", "企业", "研究", "国际", "体育", "文化", "环境",
+            "model", "cloud", "chip", "network", "market", "report", "launch", "update", "security", "energy"
+    };
+
+    private BenchmarkData() {
+    }
+
+    public static String source(int index) {
+        return "source-" + index;
+    }
+
+    public static String tag(int index) {
+        return "tag-" + index;
+    }
+
+    /**
+     * 生成 count 条新闻，id 从 1 开始连续编号
+     */
+    public static List<News> news(int count, long seed) {
+        Random random = new Random(seed);
+        List<News> list = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            list.add(news(i, random));
+        }
+        return list;
+    }
+
+    /**
+     * 向 news / news_tag 表批量写入 count 条新闻及其标签行
+     */
+    public static void seedNews(JdbcTemplate jdbcTemplate, int count, long seed) {
+        Random random = new Random(seed);
+        int batchSize = 1000;
+        for (int from = 1; from <= count; from += batchSize) {
+            List<Object[]> newsRows = new ArrayList<>();
+            List<Object[]> tagRows = new ArrayList<>();
+            for (int id = from; id < Math.min(from + batchSize, count + 1); id++) {
+                News news = news(id, random);
+                Timestamp publishedAt = Timestamp.valueOf(news.getPublishedAt());
+                newsRows.add(new Object[] {news.getId(), news.getTitle(), news.getSummary(), news.getContent(),
+                        news.getTags(), news.getSource(), news.getUrl(), news.getUrlHash(),
+                        publishedAt, Timestamp.valueOf(news.getCreatedAt()), Timestamp.valueOf(news.getUpdatedAt())});
+                for (String tag : news.getTags().split(",")) {
+                    tagRows.add(new Object[] {news.getId(), tag, publishedAt});
+                }
+            }
+            jdbcTemplate.batchUpdate("INSERT INTO news (id, title, summary, content, tags, source, url, url_hash, "
+                    + "published_at, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", newsRows);
+            jdbcTemplate.batchUpdate("INSERT INTO news_tag (news_id, tag, published_at) VALUES (?, ?, ?)", tagRows);
+        }
+    }
+
+    private static News news(long id, Random random) {
+        News news = new News();
+        news.setId(id);
+        news.setSource(source(random.nextInt(SOURCE_COUNT)));
+        Set<String> tags = new LinkedHashSet<>();
+        int tagCount = 1 + random.nextInt(3);
+        while (tags.size() < tagCount) {
+            tags.add(tag(random.nextInt(TAG_COUNT)));
+        }
+        news.setTags(String.join(",", tags));
+        news.setTitle(words(random, 8) + " " + id);
+        news.setSummary(words(random, SUMMARY_WORDS));
+        news.setContent(words(random, CONTENT_WORDS));
+        news.setUrl("https://news.example.com/" + news.getSource() + "/" + id);
+        news.setUrlHash(UrlNormalizer.hash(news.getUrl()));
+        LocalDateTime publishedAt = BASE_TIME.minusSeconds(random.nextInt(365 * 24 * 3600));
+        news.setPublishedAt(publishedAt);
+        news.setCreatedAt(publishedAt.plusMinutes(random.nextInt(60)));
+        news.setUpdatedAt(news.getCreatedAt());
+        return news;
+    }
+
+    private static String words(Random random, int count) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                sb.append(' ');
+            }
+            sb.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return sb.toString();
+    }
+}
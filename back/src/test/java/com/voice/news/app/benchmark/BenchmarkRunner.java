@@ -0,0 +1,35 @@
+package com.voice.news.app.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * 运行请求热点路径的全部 JMH 基准，结果写入 target/jmh-result.json
+ *
+ * 覆盖：JwtUtil 签发与解析、JwtAuthenticationFilter（security 包下）、响应包装与序列化、BCrypt、
+ * NewsRepository 查询。附带 GC profiler，JSON 中每个基准的 secondaryMetrics 含
+ * gc.alloc.rate.norm（每次调用分配的字节数），可与 primaryMetric 的吞吐一起作为发布门禁。
+ * 固定堆大小与 fork 数，数据集由 BenchmarkData 以固定种子生成，保证不同版本的结果可比。
+ *
+ * 运行：mvn test-compile 后执行
+ *   java -cp target/test-classes:target/classes:$(mvn -q dependency:build-classpath -Dmdep.outputFile=/dev/stdout) \
+ *       com.voice.news.app.benchmark.BenchmarkRunner [基准名正则，默认全部]
+ */
+public class BenchmarkRunner {
+
+    public static void main(String[] args) throws RunnerException {
+        ChainedOptionsBuilder options = new OptionsBuilder()
+                .jvmArgs("-Xms1g", "-Xmx1g")
+                .addProfiler(GCProfiler.class)
+                .resultFormat(ResultFormatType.JSON)
+                .result("target/jmh-result.json");
+        if (args.length > 0) {
+            options.include(args[0]);
+        }
+        new Runner(options.build()).run();
+    }
+}
@@ -0,0 +1,251 @@
+package com.voice.news.app.benchmark;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.Random;
+import java.util.Set;
+
+import javax.sql.DataSource;
+
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import com.voice.news.app.common.UrlNormalizer;
+
+/**
+ * 可复现的大规模新闻语料生成器，向 news / news_tag 表批量写入百万级数据
+ *
+ * 分布尽量贴近线上：
+ * - 来源与标签的热度服从 Zipf 分布（少数来源、标签占大多数文章），每篇 1~5 个标签，越多越少见；
+ * - 发布时间覆盖最近 days 天，越近的日子文章越多（线性增长），一天内集中在 7~23 点；
+ * - 标题、摘要、正文由中文常用词与标点拼成，正文长度服从对数正态分布（中位数 contentChars，上限 20 倍）。
+ * 主键按发布时间先后连续分配，与抓取顺序一致。同一 (rows, seed, days, contentChars) 生成的数据逐字节相同。
+ *
+ * H2 数据库没有 news 表时先按 benchmark/news-schema-h2.sql 建表；MySQL 需事先执行 db/init.sql。两者都要求表为空。
+ *
+ * 运行：mvn test-compile 后执行
+ *   java -cp target/test-classes:target/classes:$(mvn -q dependency:build-classpath -Dmdep.outputFile=/dev/stdout) \
+ *       com.voice.news.app.benchmark.NewsCorpusGenerator <jdbcUrl> <user> <password> [rows=1000000] [seed]
+ * 例如 jdbc:h2:file:./target/corpus/news;MODE=MySQL;DATABASE_TO_LOWER=TRUE 或
+ * jdbc:mysql://localhost:3306/news_bench?rewriteBatchedStatements=true。
+ * 正文以 UTF-8 计每个汉字 3 字节，1000 万条默认长度约需 50GB 磁盘。
+ */
+public class NewsCorpusGenerator {
+
+    public static final int SOURCE_COUNT = 200;
+    public static final int TAG_COUNT = 2000;
+
+    private static final int BATCH_SIZE = 2000;
+    private static final DateTimeFormatter URL_DATE = DateTimeFormatter.ofPattern("yyyy/MMdd");
+
+    /**
+     * 一天 24 小时的相对发稿量，凌晨最少、上午与晚间两个高峰
+     */
+    private static final double[] HOURLY_WEIGHTS = {
+            1, 0.6, 0.4, 0.3, 0.3, 0.5, 1.5, 4, 7, 9, 9, 8,
+            7, 6, 7, 8, 8, 7, 6, 6, 7, 6, 4, 2
+    };
+
+    private static final String[] WORDS = {
+            "记者", "近日", "表示", "发展", "经济", "市场", "企业", "政策", "科技", "创新",
+            "人工智能", "数据", "平台", "服务", "城市", "乡村", "教育", "医疗", "健康", "能源",
+            "交通", "环境", "文化", "体育", "国际", "合作", "项目", "投资", "增长", "消费",
+            "产业", "数字化", "转型", "研究", "专家", "认为", "未来", "推动", "提升", "质量",
+            "安全", "监管", "改革", "开放", "居民", "就业", "收入", "价格", "出口", "制造业",
+            "新能源", "汽车", "芯片", "算力", "模型", "网络", "用户", "应用", "标准", "试点",
+            "地方", "部门", "会议", "发布", "通知", "数据显示", "同比", "环比", "上涨", "下降",
+            "今年", "去年", "第一季度", "上半年", "全年", "目标", "任务", "措施", "落实", "加快"
+    };
+    private static final String[] PUNCTUATION = {"，", "，", "，", "。", "；", "、"};
+
+    private final long seed;
+    private final int days;
+    private final int contentChars;
+    private final double[] sourceCdf;
+    private final double[] tagCdf;
+    private final double[] hourCdf;
+
+    public NewsCorpusGenerator(long seed, int days, int contentChars) {
+        this.seed = seed;
+        this.days = days;
+        this.contentChars = contentChars;
+        this.sourceCdf = zipfCdf(SOURCE_COUNT, 1.1);
+        this.tagCdf = zipfCdf(TAG_COUNT, 1.0);
+        this.hourCdf = cdf(HOURLY_WEIGHTS);
+    }
+
+    public static NewsCorpusGenerator defaults(long seed) {
+        return new NewsCorpusGenerator(seed, 730, 1500);
+    }
+
+    public static String source(int rank) {
+        return "来源" + rank;
+    }
+
+    public static String tag(int rank) {
+        return "标签" + rank;
+    }
+
+    public static void main(String[] args) throws SQLException {
+        if (args.length < 3) {
+            System.err.println("usage: NewsCorpusGenerator <jdbcUrl> <user> <password> [rows] [seed]");
+            System.exit(2);
+        }
+        DataSource dataSource = new DriverManagerDataSource(args[0], args[1], args[2]);
+        long rows = args.length > 3 ? Long.parseLong(args[3]) : 1_000_000L;
+        long seed = args.length > 4 ? Long.parseLong(args[4]) : BenchmarkData.DEFAULT_SEED;
+        defaults(seed).load(dataSource, rows);
+    }
+
+    /**
+     * 按需建表（仅 H2）并写入 rows 条新闻
+     */
+    public void load(DataSource dataSource, long rows) throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            if (connection.getMetaData().getDatabaseProductName().toLowerCase().contains("h2") && !tableExists(connection)) {
+                new ResourceDatabasePopulator(new ClassPathResource("benchmark/news-schema-h2.sql")).populate(connection);
+            }
+            requireEmpty(connection);
+            connection.setAutoCommit(false);
+            long start = System.nanoTime();
+            try (PreparedStatement newsInsert = connection.prepareStatement("INSERT INTO news (id, title, summary, "
+                    + "content, tags, source, url, url_hash, published_at, created_at, updated_at) "
+                    + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)");
+                 PreparedStatement tagInsert = connection.prepareStatement(
+                         "INSERT INTO news_tag (news_id, tag, published_at) VALUES (?, ?, ?)")) {
+                Random random = new Random(seed);
+                LocalDateTime end = BenchmarkData.BASE_TIME;
+                for (long id = 1; id <= rows; id++) {
+                    writeRow(newsInsert, tagInsert, random, id, publishedAt(random, id, rows, end));
+                    if (id % BATCH_SIZE == 0 || id == rows) {
+                        newsInsert.executeBatch();
+                        tagInsert.executeBatch();
+                        connection.commit();
+                    }
+                    if (id % 100_000 == 0) {
+                        double seconds = (System.nanoTime() - start) / 1e9;
+                        System.out.printf("%,d rows loaded, %.0f rows/s%n", id, id / seconds);
+                    }
+                }
+            }
+            System.out.printf("Loaded %,d rows in %.1f s%n", rows, (System.nanoTime() - start) / 1e9);
+        }
+    }
+
+    private void writeRow(PreparedStatement newsInsert, PreparedStatement tagInsert, Random random,
+                          long id, LocalDateTime publishedAt) throws SQLException {
+        String source = source(sample(sourceCdf, random));
+        Set<String> tags = new LinkedHashSet<>();
+        int tagCount = 1;
+        while (tagCount < 5 && random.nextDouble() < 0.5) {
+            tagCount++;
+        }
+        while (tags.size() < tagCount) {
+            tags.add(tag(sample(tagCdf, random)));
+        }
+        String url = "https://news.example.com/" + source + "/" + publishedAt.format(URL_DATE) + "/" + id + ".html";
+        Timestamp published = Timestamp.valueOf(publishedAt);
+        Timestamp created = Timestamp.valueOf(publishedAt.plusMinutes(random.nextInt(30)));
+        int length = (int) Math.min(contentChars * 20L,
+                Math.max(100, Math.round(contentChars * Math.exp(random.nextGaussian() * 0.6))));
+
+        newsInsert.setLong(1, id);
+        newsInsert.setString(2, text(random, 15 + random.nextInt(16), false));
+        newsInsert.setString(3, text(random, 80 + random.nextInt(71), true));
+        newsInsert.setString(4, text(random, length, true));
+        newsInsert.setString(5, String.join(",", tags));
+        newsInsert.setString(6, source);
+        newsInsert.setString(7, url);
+        newsInsert.setString(8, UrlNormalizer.hash(url));
+        newsInsert.setTimestamp(9, published);
+        newsInsert.setTimestamp(10, created);
+        newsInsert.setTimestamp(11, created);
+        newsInsert.addBatch();
+        for (String tag : tags) {
+            tagInsert.setLong(1, id);
+            tagInsert.setString(2, tag);
+            tagInsert.setTimestamp(3, published);
+            tagInsert.addBatch();
+        }
+    }
+
+    /**
+     * 第 id 条（共 rows 条）的发布时间：日期按线性增长的发稿量取逆 CDF，使主键随时间递增；小时按日内分布抽样
+     */
+    private LocalDateTime publishedAt(Random random, long id, long rows, LocalDateTime end) {
+        // 发稿量从 1 线性增长到 3，累计分布 F(x) = (x + x^2) / 2，x 为时间跨度内的相对位置
+        double u = (double) id / (rows + 1);
+        double x = (-1 + Math.sqrt(1 + 8 * u)) / 2;
+        LocalDateTime day = end.minusDays(days).plusSeconds((long) (x * days * 86400L)).toLocalDate().atStartOfDay();
+        int hour = sample(hourCdf, random);
+        return day.plusHours(hour).plusSeconds(random.nextInt(3600));
+    }
+
+    private static String text(Random random, int chars, boolean punctuated) {
+        StringBuilder sb = new StringBuilder(chars + 8);
+        int sinceBreak = 0;
+        while (sb.length() < chars) {
+            sb.append(WORDS[random.nextInt(WORDS.length)]);
+            sinceBreak++;
+            if (punctuated && sinceBreak >= 4 && random.nextInt(3) == 0) {
+                sb.append(PUNCTUATION[random.nextInt(PUNCTUATION.length)]);
+                sinceBreak = 0;
+            }
+        }
+        sb.setLength(chars);
+        return sb.toString();
+    }
+
+    private static boolean tableExists(Connection connection) throws SQLException {
+        try (ResultSet rs = connection.getMetaData().getTables(null, null, "news", new String[] {"TABLE"})) {
+            return rs.next();
+        }
+    }
+
+    private static void requireEmpty(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT COUNT(*) FROM news")) {
+            rs.next();
+            if (rs.getLong(1) > 0) {
+                throw new IllegalStateException("news table is not empty, refusing to load a corpus into it");
+            }
+        }
+    }
+
+    /**
+     * 按 CDF 抽样，返回从 1 开始的排名
+     */
+    static int sample(double[] cdf, Random random) {
+        int index = Arrays.binarySearch(cdf, random.nextDouble());
+        return (index >= 0 ? index : -index - 1) + 1;
+    }
+
+    static double[] zipfCdf(int n, double exponent) {
+        double[] weights = new double[n];
+        for (int k = 1; k <= n; k++) {
+            weights[k - 1] = 1 / Math.pow(k, exponent);
+        }
+        return cdf(weights);
+    }
+
+    private static double[] cdf(double[] weights) {
+        double total = Arrays.stream(weights).sum();
+        double[] cdf = new double[weights.length];
+        double acc = 0;
+        for (int i = 0; i < weights.length; i++) {
+            acc += weights[i] / total;
+            cdf[i] = acc;
+        }
+        cdf[cdf.length - 1] = 1.0;
+        return cdf;
+    }
+}
@@ -0,0 +1,430 @@
+package com.voice.news.app.benchmark;
+
+import java.io.File;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.jpa.repository.support.JpaRepositoryFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.voice.news.app.common.KeysetCursor;
+import com.voice.news.app.dto.NewsDeleteFilter;
+import com.voice.news.app.entity.News;
+import com.voice.news.app.repository.NewsJdbcRepository;
+import com.voice.news.app.repository.NewsRepository;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * NewsRepository / NewsJdbcRepository 全部读查询在不同数据量下的延迟与扫描行数
+ *
+ * NewsService 的列表、详情、删除、清理、去重等读路径最终都落到这些查询上（缓存命中时不查库），
+ * 这里绕过缓存直接测量查询本身。每个用例先预热，再以固定种子抽取参数（随机游标、热门/冷门标签与来源、
+ * 随机主键等）执行 samples 次，报告 p50/p95/p99/max 延迟，以及单次执行读取的行数：
+ * - H2：捕获用例实际执行的 SQL 与绑定参数，以 EXPLAIN ANALYZE 重放并累加各表的 scanCount；
+ * - MySQL：执行前后 SHOW SESSION STATUS LIKE 'Handler_read%' 之差（扣除 SHOW 本身的开销）。
+ * 扫描行数远大于返回行数的用例即为缺索引或索引未生效。
+ *
+ * 默认每个规模一个 H2 文件库 target/corpus/news-{rows}（MySQL 模式），不存在时用 NewsCorpusGenerator 生成，
+ * 之后重复运行直接复用；指定 --url 时测量该库中的现有数据（MySQL 需先用生成器导入）。
+ * H2 上的绝对耗时不代表 MySQL，扫描行数与随数据量的增长趋势可比。流式导出查询依赖 MySQL 驱动的流式结果集，只在 MySQL 上测量。
+ *
+ * 运行：mvn test-compile 后执行
+ *   java -Xmx4g -cp target/test-classes:target/classes:$(mvn -q dependency:build-classpath -Dmdep.outputFile=/dev/stdout) \
+ *       com.voice.news.app.benchmark.NewsQueryBenchmark [--scales=10000,1000000,10000000] [--samples=200] [--warmup=20]
+ *       [--content-chars=1500] [--seed=20240601] [--url=jdbc:mysql://... --user=... --password=...]
+ * 结果打印为表格并写入 target/query-benchmark.json。
+ */
+public class NewsQueryBenchmark {
+
+    private static final Pattern SCAN_COUNT = Pattern.compile("scanCount: (\\d+)");
+    private static final String[] KEYWORDS = {"人工智能", "芯片", "新能源", "数据显示", "改革"};
+    private static final int ROWS_SCANNED_RUNS = 5;
+
+    private final Map<String, String> options;
+    private final int samples;
+    private final int warmup;
+    private final long seed;
+
+    private NewsQueryBenchmark(Map<String, String> options) {
+        this.options = options;
+        this.samples = Integer.parseInt(options.getOrDefault("samples", "200"));
+        this.warmup = Integer.parseInt(options.getOrDefault("warmup", "20"));
+        this.seed = Long.parseLong(options.getOrDefault("seed", String.valueOf(BenchmarkData.DEFAULT_SEED)));
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (!arg.startsWith("--") || eq < 0) {
+                throw new IllegalArgumentException("Unrecognized argument: " + arg);
+            }
+            options.put(arg.substring(2, eq), arg.substring(eq + 1));
+        }
+        new NewsQueryBenchmark(options).run();
+    }
+
+    private void run() throws Exception {
+        List<Map<String, Object>> results = new ArrayList<>();
+        if (options.containsKey("url")) {
+            results.addAll(runScale(options.get("url"), options.getOrDefault("user", "root"),
+                    options.getOrDefault("password", ""), -1));
+        } else {
+            for (String scale : options.getOrDefault("scales", "10000,1000000,10000000").split(",")) {
+                long rows = Long.parseLong(scale.trim());
+                String path = new File("target/corpus/news-" + rows).getAbsolutePath();
+                results.addAll(runScale("jdbc:h2:file:" + path + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE", "sa", "", rows));
+            }
+        }
+        ObjectMapper objectMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+        File output = new File("target/query-benchmark.json");
+        output.getParentFile().mkdirs();
+        objectMapper.writeValue(output, results);
+        System.out.println("Results written to " + output.getPath());
+    }
+
+    private List<Map<String, Object>> runScale(String url, String user, String password, long rows) throws Exception {
+        Recorder recorder = new Recorder();
+        try (Connection raw = DriverManager.getConnection(url, user, password)) {
+            boolean h2 = raw.getMetaData().getDatabaseProductName().toLowerCase().contains("h2");
+            Connection connection = recorder.wrap(raw);
+            SingleConnectionDataSource dataSource = new SingleConnectionDataSource(connection, true);
+            rows = prepareCorpus(dataSource, rows);
+
+            LocalContainerEntityManagerFactoryBean factoryBean = new LocalContainerEntityManagerFactoryBean();
+            factoryBean.setDataSource(dataSource);
+            factoryBean.setPackagesToScan("com.voice.news.app.entity");
+            factoryBean.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+            factoryBean.afterPropertiesSet();
+            EntityManager entityManager = factoryBean.getObject().createEntityManager();
+            try {
+                NewsRepository repository = new JpaRepositoryFactory(entityManager).getRepository(NewsRepository.class);
+                NewsJdbcRepository jdbcRepository = new NewsJdbcRepository(
+                        new JdbcTemplate(dataSource), new NamedParameterJdbcTemplate(dataSource));
+
+                List<Map<String, Object>> results = new ArrayList<>();
+                System.out.printf("%n== %,d rows (%s) ==%n", rows, h2 ? "H2" : raw.getMetaData().getDatabaseProductName());
+                System.out.printf("%-34s %10s %10s %10s %10s %14s%n", "query", "p50 ms", "p95 ms", "p99 ms", "max ms", "rows scanned");
+                for (Map.Entry<String, Function<Random, Object>> entry
+                        : cases(repository, jdbcRepository, entityManager, rows, h2).entrySet()) {
+                    Map<String, Object> result = measure(entry.getKey(), entry.getValue(), entityManager, raw, recorder, h2);
+                    result.put("rows", rows);
+                    results.add(result);
+                }
+                return results;
+            } finally {
+                entityManager.close();
+                factoryBean.destroy();
+            }
+        }
+    }
+
+    /**
+     * 新库先生成语料；已有数据时核对条数，--url 模式下以实际条数为准
+     */
+    private long prepareCorpus(SingleConnectionDataSource dataSource, long rows) throws SQLException {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        Long existing;
+        try {
+            existing = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM news", Long.class);
+        } catch (Exception e) {
+            existing = null;
+        }
+        if (rows < 0) {
+            return existing == null ? 0 : existing;
+        }
+        if (existing == null || existing == 0) {
+            System.out.printf("Generating %,d rows ...%n", rows);
+            int contentChars = Integer.parseInt(options.getOrDefault("content-chars", "1500"));
+            new NewsCorpusGenerator(seed, 730, contentChars).load(dataSource, rows);
+            dataSource.getConnection().setAutoCommit(true);
+        } else if (existing != rows) {
+            throw new IllegalStateException("Corpus has " + existing + " rows, expected " + rows + "; delete it to regenerate");
+        }
+        return rows;
+    }
+
+    private Map<String, Function<Random, Object>> cases(NewsRepository repository, NewsJdbcRepository jdbcRepository,
+                                                        EntityManager entityManager, long rows, boolean h2) {
+        LocalDateTime oldest = jdbcRepository.findOldestPublishedAt();
+        long spanSeconds = oldest.until(BenchmarkData.BASE_TIME, ChronoUnit.SECONDS);
+        Function<Random, LocalDateTime> randomTime = r -> oldest.plusSeconds((long) (r.nextDouble() * spanSeconds));
+        Function<Random, Long> randomId = r -> 1 + (long) (r.nextDouble() * rows);
+        Function<Random, String> popularTag = r -> NewsCorpusGenerator.tag(1 + r.nextInt(10));
+        Function<Random, String> rareTag = r -> NewsCorpusGenerator.tag(1000 + r.nextInt(1000));
+        Function<Random, String> popularSource = r -> NewsCorpusGenerator.source(1 + r.nextInt(5));
+        Function<Random, String> rareSource = r -> NewsCorpusGenerator.source(100 + r.nextInt(100));
+        KeysetCursor first = KeysetCursor.FIRST;
+        PageRequest page = PageRequest.ofSize(21);
+
+        List<String> urlHashes = new ArrayList<>();
+        Random setup = new Random(seed);
+        for (int i = 0; i < 10; i++) {
+            jdbcRepository.findUrlPage(randomId.apply(setup), 100).forEach(row -> urlHashes.add((String) row[2]));
+        }
+
+        Map<String, Function<Random, Object>> cases = new LinkedHashMap<>();
+        cases.put("findLatestBefore(first page)", r -> repository.findLatestBefore(first.getPublishedAt(), first.getId(), page));
+        cases.put("findLatestBefore(deep page)", r -> repository.findLatestBefore(randomTime.apply(r), Long.MAX_VALUE, page));
+        cases.put("findByTagBefore(popular)", r -> repository.findByTagBefore(popularTag.apply(r),
+                first.getPublishedAt(), first.getId(), page));
+        cases.put("findByTagBefore(rare)", r -> repository.findByTagBefore(rareTag.apply(r),
+                first.getPublishedAt(), first.getId(), page));
+        cases.put("findByTitleContainingBefore", r -> repository.findByTitleContainingBefore(
+                KEYWORDS[r.nextInt(KEYWORDS.length)], first.getPublishedAt(), first.getId(), page));
+        cases.put("findByPublishedAtBetweenBefore", r -> {
+            LocalDateTime start = randomTime.apply(r);
+            return repository.findByPublishedAtBetweenBefore(start, start.plusDays(7),
+                    first.getPublishedAt(), first.getId(), page);
+        });
+        cases.put("findBySourceBefore(popular)", r -> repository.findBySourceBefore(popularSource.apply(r),
+                first.getPublishedAt(), first.getId(), page));
+        cases.put("findBySourceBefore(rare)", r -> repository.findBySourceBefore(rareSource.apply(r),
+                randomTime.apply(r), Long.MAX_VALUE, page));
+        cases.put("findPageAfterId", r -> repository.findPageAfterId(randomId.apply(r), PageRequest.ofSize(200)));
+        cases.put("findByIdGreaterThanOrderByIdAsc", r -> repository.findByIdGreaterThanOrderByIdAsc(
+                randomId.apply(r), PageRequest.ofSize(200)));
+        cases.put("findById", r -> repository.findById(randomId.apply(r)));
+        if (!h2) {
+            cases.put("streamBySource(rare)", r -> {
+                try (Stream<News> stream = repository.streamBySource(rareSource.apply(r))) {
+                    return stream.peek(entityManager::detach).count();
+                }
+            });
+            cases.put("streamByPublishedAtBetween(1h)", r -> {
+                LocalDateTime start = randomTime.apply(r);
+                try (Stream<News> stream = repository.streamByPublishedAtBetween(start, start.plusHours(1))) {
+                    return stream.peek(entityManager::detach).count();
+                }
+            });
+        }
+        cases.put("jdbc.findIdsByUrlHash(100)", r -> {
+            List<String> batch = new ArrayList<>();
+            for (int i = 0; i < 100; i++) {
+                batch.add(urlHashes.get(r.nextInt(urlHashes.size())));
+            }
+            return jdbcRepository.findIdsByUrlHash(batch);
+        });
+        cases.put("jdbc.findExistingIds(500)", r -> {
+            List<Long> ids = new ArrayList<>();
+            for (int i = 0; i < 500; i++) {
+                ids.add(randomId.apply(r));
+            }
+            return jdbcRepository.findExistingIds(ids);
+        });
+        cases.put("jdbc.findIdsByFilter(source)", r -> {
+            NewsDeleteFilter filter = new NewsDeleteFilter();
+            filter.setSource(rareSource.apply(r));
+            return jdbcRepository.findIdsByFilter(filter, 0, 1000);
+        });
+        cases.put("jdbc.countByFilter(source+30d)", r -> {
+            NewsDeleteFilter filter = new NewsDeleteFilter();
+            filter.setSource(popularSource.apply(r));
+            filter.setStart(randomTime.apply(r));
+            filter.setEnd(filter.getStart().plusDays(30));
+            return jdbcRepository.countByFilter(filter);
+        });
+        cases.put("jdbc.countByFilter(tag)", r -> {
+            NewsDeleteFilter filter = new NewsDeleteFilter();
+            filter.setTag(rareTag.apply(r));
+            return jdbcRepository.countByFilter(filter);
+        });
+        cases.put("jdbc.findLastModified", r -> jdbcRepository.findLastModified(randomId.apply(r)));
+        cases.put("jdbc.findIdsPublishedBefore", r -> jdbcRepository.findIdsPublishedBefore(oldest.plusDays(30), 1000));
+        cases.put("jdbc.findOldestPublishedAt", r -> jdbcRepository.findOldestPublishedAt());
+        cases.put("jdbc.findUrlPage", r -> jdbcRepository.findUrlPage(randomId.apply(r), 1000));
+        return cases;
+    }
+
+    private Map<String, Object> measure(String name, Function<Random, Object> query, EntityManager entityManager,
+                                        Connection raw, Recorder recorder, boolean h2) throws SQLException {
+        Random random = new Random(seed);
+        for (int i = 0; i < warmup; i++) {
+            entityManager.clear();
+            query.apply(random);
+        }
+        long[] nanos = new long[samples];
+        random = new Random(seed ^ name.hashCode());
+        for (int i = 0; i < samples; i++) {
+            entityManager.clear();
+            long start = System.nanoTime();
+            query.apply(random);
+            nanos[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(nanos);
+
+        long scanned = 0;
+        random = new Random(seed ^ name.hashCode());
+        for (int i = 0; i < ROWS_SCANNED_RUNS; i++) {
+            entityManager.clear();
+            scanned += h2 ? h2RowsScanned(query, random, raw, recorder) : mysqlRowsRead(query, random, raw);
+        }
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("query", name);
+        result.put("samples", samples);
+        result.put("p50Ms", percentile(nanos, 0.50));
+        result.put("p95Ms", percentile(nanos, 0.95));
+        result.put("p99Ms", percentile(nanos, 0.99));
+        result.put("maxMs", nanos[nanos.length - 1] / 1e6);
+        result.put("rowsScanned", scanned / ROWS_SCANNED_RUNS);
+        System.out.printf("%-34s %10.3f %10.3f %10.3f %10.3f %,14d%n", name, result.get("p50Ms"), result.get("p95Ms"),
+                result.get("p99Ms"), result.get("maxMs"), result.get("rowsScanned"));
+        return result;
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        int index = (int) Math.ceil(p * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))] / 1e6;
+    }
+
+    private static long h2RowsScanned(Function<Random, Object> query, Random random, Connection raw,
+                                      Recorder recorder) throws SQLException {
+        recorder.start();
+        query.apply(random);
+        long scanned = 0;
+        for (Recorder.Execution execution : recorder.stop()) {
+            try (PreparedStatement ps = raw.prepareStatement("EXPLAIN ANALYZE " + execution.sql())) {
+                for (int i = 0; i < execution.parameters().size(); i++) {
+                    ps.setObject(i + 1, execution.parameters().get(i));
+                }
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        Matcher matcher = SCAN_COUNT.matcher(rs.getString(1));
+                        while (matcher.find()) {
+                            scanned += Long.parseLong(matcher.group(1));
+                        }
+                    }
+                }
+            }
+        }
+        return scanned;
+    }
+
+    private static long mysqlRowsRead(Function<Random, Object> query, Random random, Connection raw) throws SQLException {
+        long baseline = handlerReads(raw);
+        long overhead = handlerReads(raw) - baseline;
+        long before = handlerReads(raw);
+        query.apply(random);
+        return Math.max(0, handlerReads(raw) - before - overhead);
+    }
+
+    private static long handlerReads(Connection connection) throws SQLException {
+        long total = 0;
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SHOW SESSION STATUS LIKE 'Handler_read%'")) {
+            while (rs.next()) {
+                total += rs.getLong(2);
+            }
+        }
+        return total;
+    }
+
+    /**
+     * 包装 JDBC 连接，记录开始录制后执行的每条 SQL 及其绑定参数
+     */
+    private static final class Recorder {
+
+        record Execution(String sql, List<Object> parameters) {}
+
+        private List<Execution> executions;
+
+        void start() {
+            executions = new ArrayList<>();
+        }
+
+        List<Execution> stop() {
+            List<Execution> recorded = executions;
+            executions = null;
+            return recorded;
+        }
+
+        Connection wrap(Connection connection) {
+            return proxy(Connection.class, connection, (method, args) -> {
+                Object result = invoke(connection, method, args);
+                if (result instanceof PreparedStatement ps && method.getName().equals("prepareStatement")) {
+                    return preparedStatement(ps, (String) args[0]);
+                }
+                if (result instanceof Statement statement && method.getName().equals("createStatement")) {
+                    return statement(statement);
+                }
+                return result;
+            });
+        }
+
+        private PreparedStatement preparedStatement(PreparedStatement target, String sql) {
+            List<Object> parameters = new ArrayList<>();
+            return proxy(PreparedStatement.class, target, (method, args) -> {
+                String name = method.getName();
+                if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                    while (parameters.size() < index) {
+                        parameters.add(null);
+                    }
+                    parameters.set(index - 1, name.equals("setNull") ? null : args[1]);
+                } else if (name.equals("clearParameters")) {
+                    parameters.clear();
+                } else if (executions != null && name.startsWith("execute")) {
+                    executions.add(new Execution(sql, new ArrayList<>(parameters)));
+                }
+                return invoke(target, method, args);
+            });
+        }
+
+        private Statement statement(Statement target) {
+            return proxy(Statement.class, target, (method, args) -> {
+                if (executions != null && method.getName().startsWith("execute") && args != null
+                        && args.length > 0 && args[0] instanceof String sql) {
+                    executions.add(new Execution(sql, List.of()));
+                }
+                return invoke(target, method, args);
+            });
+        }
+
+        private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+
+        private interface Handler {
+            Object handle(Method method, Object[] args) throws Throwable;
+        }
+
+        private static <T> T proxy(Class<T> type, T target, Handler handler) {
+            InvocationHandler invocationHandler = (proxy, method, args) -> handler.handle(method, args);
+            return type.cast(Proxy.newProxyInstance(NewsQueryBenchmark.class.getClassLoader(),
+                    new Class<?>[] {type}, invocationHandler));
+        }
+    }
+}
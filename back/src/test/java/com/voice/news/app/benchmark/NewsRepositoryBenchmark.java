@@ -0,0 +1,133 @@
+package com.voice.news.app.benchmark;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.support.JpaRepositoryFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+
+import com.voice.news.app.common.KeysetCursor;
+import com.voice.news.app.dto.NewsListItem;
+import com.voice.news.app.entity.News;
+import com.voice.news.app.repository.NewsRepository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * NewsRepository 列表与详情查询，H2（MySQL 模式）内存库
+ *
+ * 只启动 Hibernate 与 Spring Data 仓库，不加载应用上下文，避免缓存、索引重建等后台任务干扰测量。
+ * 表结构见 benchmark/news-schema-h2.sql，数据由 BenchmarkData 以固定种子生成。
+ * 结果反映查询构造、JDBC 与结果映射的开销以及索引是否生效，绝对耗时不代表 MySQL 上的表现。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class NewsRepositoryBenchmark {
+
+    private static final Pageable PAGE = PageRequest.ofSize(20);
+
+    @Param({"50000"})
+    private int newsCount;
+
+    private LocalContainerEntityManagerFactoryBean factoryBean;
+    private EntityManager entityManager;
+    private NewsRepository repository;
+    private long[] ids;
+    private int next;
+    /**
+     * 数据集时间跨度中点处的游标，代表翻到中间页的请求
+     */
+    private KeysetCursor middle;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:news-benchmark;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1", "sa", "");
+        new ResourceDatabasePopulator(new ClassPathResource("benchmark/news-schema-h2.sql")).execute(dataSource);
+        BenchmarkData.seedNews(new JdbcTemplate(dataSource), newsCount, BenchmarkData.DEFAULT_SEED);
+
+        factoryBean = new LocalContainerEntityManagerFactoryBean();
+        factoryBean.setDataSource(dataSource);
+        factoryBean.setPackagesToScan("com.voice.news.app.entity");
+        factoryBean.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        factoryBean.afterPropertiesSet();
+        EntityManagerFactory entityManagerFactory = factoryBean.getObject();
+        entityManager = entityManagerFactory.createEntityManager();
+        repository = new JpaRepositoryFactory(entityManager).getRepository(NewsRepository.class);
+
+        Random random = new Random(BenchmarkData.DEFAULT_SEED);
+        ids = random.longs(1024, 1, newsCount + 1).toArray();
+        middle = new KeysetCursor(BenchmarkData.BASE_TIME.minusDays(182), Long.MAX_VALUE);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        entityManager.close();
+        factoryBean.destroy();
+    }
+
+    @Benchmark
+    public List<NewsListItem> latestFirstPage() {
+        return repository.findLatestBefore(KeysetCursor.FIRST.getPublishedAt(), KeysetCursor.FIRST.getId(), PAGE);
+    }
+
+    @Benchmark
+    public List<NewsListItem> latestMiddlePage() {
+        return repository.findLatestBefore(middle.getPublishedAt(), middle.getId(), PAGE);
+    }
+
+    @Benchmark
+    public List<NewsListItem> bySource() {
+        return repository.findBySourceBefore(BenchmarkData.source(3),
+                KeysetCursor.FIRST.getPublishedAt(), KeysetCursor.FIRST.getId(), PAGE);
+    }
+
+    @Benchmark
+    public List<NewsListItem> byTag() {
+        return repository.findByTagBefore(BenchmarkData.tag(7),
+                KeysetCursor.FIRST.getPublishedAt(), KeysetCursor.FIRST.getId(), PAGE);
+    }
+
+    @Benchmark
+    public List<NewsListItem> byPublishedAtRange() {
+        LocalDateTime end = BenchmarkData.BASE_TIME.minusDays(30);
+        return repository.findByPublishedAtBetweenBefore(end.minusDays(7), end,
+                KeysetCursor.FIRST.getPublishedAt(), KeysetCursor.FIRST.getId(), PAGE);
+    }
+
+    @Benchmark
+    public Optional<News> findById() {
+        // 清空一级缓存，每次都真正查库并映射含正文的实体
+        entityManager.clear();
+        long id = ids[next++ & (ids.length - 1)];
+        return repository.findById(id);
+    }
+}
@@ -0,0 +1,55 @@
+package com.voice.news.app.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.voice.news.app.security.ConfigurableBCryptPasswordEncoder;
+
+/**
+ * BCrypt 加密与校验的单次耗时，strength 对应 security.password.bcrypt-strength
+ *
+ * 结果用于估算 PasswordHashingExecutor 的线程数与排队上限：单核每秒可完成的登录数约为 1000 / 平均耗时(ms)。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+@Fork(1)
+public class PasswordEncoderBenchmark {
+
+    private static final String PASSWORD = "benchmark-password";
+
+    @Param({"10", "12"})
+    private int strength;
+
+    private ConfigurableBCryptPasswordEncoder encoder;
+    private String encoded;
+
+    @Setup
+    public void setUp() {
+        encoder = new ConfigurableBCryptPasswordEncoder(strength);
+        encoded = encoder.encode(PASSWORD);
+    }
+
+    @Benchmark
+    public String encode() {
+        return encoder.encode(PASSWORD);
+    }
+
+    @Benchmark
+    public boolean matches() {
+        return encoder.matches(PASSWORD, encoded);
+    }
+}
@@ -0,0 +1,63 @@
+package com.voice.news.app.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.voice.news.app.entity.News;
+import com.voice.news.app.exception.ResponseWrapAdvice;
+
+/**
+ * 响应包装与 JSON 序列化：ResponseWrapAdvice.beforeBodyWrite 以及 R&lt;List&lt;News&gt;&gt; 的 Jackson 序列化
+ *
+ * ObjectMapper 由 Jackson2ObjectMapperBuilder 构造，与 Spring Boot 默认配置一致（含 JavaTimeModule）。
+ * 新闻含完整正文（约 800 词），size 覆盖常见分页大小与较大的列表。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResponseSerializationBenchmark {
+
+    @Param({"20", "100"})
+    private int size;
+
+    private final ResponseWrapAdvice advice = new ResponseWrapAdvice();
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private List<News> news;
+
+    @Setup
+    public void setUp() {
+        news = BenchmarkData.news(size, BenchmarkData.DEFAULT_SEED);
+    }
+
+    @Benchmark
+    public Object wrap() {
+        return advice.beforeBodyWrite(news, null, MediaType.APPLICATION_JSON,
+                MappingJackson2HttpMessageConverter.class, null, null);
+    }
+
+    @Benchmark
+    public byte[] wrapAndSerialize() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(advice.beforeBodyWrite(news, null, MediaType.APPLICATION_JSON,
+                MappingJackson2HttpMessageConverter.class, null, null));
+    }
+}
@@ -0,0 +1,23 @@
+package com.voice.news.app.common;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import org.junit.jupiter.api.Test;
+
+class UrlNormalizerTests {
+
+	@Test
+	void equivalentUrlsShareHash() {
+		String hash = UrlNormalizer.hash("https://news.example.com/a/b?id=1&page=2");
+		assertEquals(hash, UrlNormalizer.hash("HTTPS://News.Example.com:443/a/b/?page=2&id=1&utm_source=feed#top"));
+		assertNotEquals(hash, UrlNormalizer.hash("https://news.example.com/a/b?id=2&page=2"));
+	}
+
+	@Test
+	void blankUrlHasNoHash() {
+		assertNull(UrlNormalizer.hash(null));
+		assertNull(UrlNormalizer.hash("  "));
+	}
+}
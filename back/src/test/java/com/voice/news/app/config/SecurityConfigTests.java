@@ -0,0 +1,123 @@
+package com.voice.news.app.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.voice.news.app.security.JwtUtil;
+import com.voice.news.app.security.UserRoles;
+
+// 使用内存 H2（MySQL 模式），不依赖本地 MySQL，mvn test 即可运行；Redis 不可用时各缓存自行降级。
+// 属性不同会新建一个上下文，索引目录需与默认上下文分开，否则 Lucene 写锁冲突；
+// 测试令牌对应的用户不在库中，关闭用户状态缓存，否则令牌会被判为已作废
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:security-tests;MODE=MySQL;DATABASE_TO_LOWER=TRUE",
+		"spring.datasource.driver-class-name=org.h2.Driver",
+		"spring.datasource.username=sa",
+		"spring.datasource.password=",
+		"security.admin-usernames=admin",
+		"jwt.user-state-cache-enabled=false",
+		"news.search.index-dir=target/security-tests-index"
+})
+@AutoConfigureMockMvc
+class SecurityConfigTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private JwtUtil jwtUtil;
+
+	@Autowired
+	private UserRoles userRoles;
+
+	@Test
+	void adminRoleComesFromConfiguredUsernames() {
+		assertEquals(List.of(UserRoles.USER, UserRoles.ADMIN), userRoles.rolesOf("admin"));
+		assertEquals(List.of(UserRoles.USER), userRoles.rolesOf("alice"));
+	}
+
+	@Test
+	void importRequiresAdmin() throws Exception {
+		mockMvc.perform(post("/api/users/import").contentType(MediaType.APPLICATION_JSON).content("[]"))
+				.andExpect(status().isUnauthorized());
+		mockMvc.perform(post("/api/users/import").contentType(MediaType.APPLICATION_JSON).content("[]")
+						.header(HttpHeaders.AUTHORIZATION, bearer("alice", UserRoles.USER)))
+				.andExpect(status().isForbidden());
+		mockMvc.perform(post("/api/users/import").contentType(MediaType.APPLICATION_JSON).content("[]")
+						.header(HttpHeaders.AUTHORIZATION, bearer("admin", UserRoles.USER, UserRoles.ADMIN)))
+				.andExpect(status().isOk());
+	}
+
+	@Test
+	void exportRequiresAdmin() throws Exception {
+		mockMvc.perform(get("/api/users/export"))
+				.andExpect(status().isUnauthorized());
+		mockMvc.perform(get("/api/users/export")
+						.header(HttpHeaders.AUTHORIZATION, bearer("alice", UserRoles.USER)))
+				.andExpect(status().isForbidden());
+	}
+
+	@Test
+	void listUsersRequiresAdmin() throws Exception {
+		mockMvc.perform(get("/api/users"))
+				.andExpect(status().isUnauthorized());
+		mockMvc.perform(get("/api/users")
+						.header(HttpHeaders.AUTHORIZATION, bearer("alice", UserRoles.USER)))
+				.andExpect(status().isForbidden());
+		mockMvc.perform(get("/api/users")
+						.header(HttpHeaders.AUTHORIZATION, bearer("admin", UserRoles.USER, UserRoles.ADMIN)))
+				.andExpect(status().isOk());
+	}
+
+	@Test
+	void slowQueriesRequireAdmin() throws Exception {
+		mockMvc.perform(get("/actuator/slowqueries")
+						.header(HttpHeaders.AUTHORIZATION, bearer("alice", UserRoles.USER)))
+				.andExpect(status().isForbidden());
+		mockMvc.perform(delete("/actuator/slowqueries")
+						.header(HttpHeaders.AUTHORIZATION, bearer("alice", UserRoles.USER)))
+				.andExpect(status().isForbidden());
+		mockMvc.perform(get("/actuator/slowqueries")
+						.header(HttpHeaders.AUTHORIZATION, bearer("admin", UserRoles.USER, UserRoles.ADMIN)))
+				.andExpect(status().isOk());
+	}
+
+	@Test
+	void actuatorRequiresAdminExceptHealth() throws Exception {
+		mockMvc.perform(get("/actuator/jfr")
+						.header(HttpHeaders.AUTHORIZATION, bearer("alice", UserRoles.USER)))
+				.andExpect(status().isForbidden());
+		mockMvc.perform(post("/actuator/jfr").contentType(MediaType.APPLICATION_JSON).content("{}")
+						.header(HttpHeaders.AUTHORIZATION, bearer("alice", UserRoles.USER)))
+				.andExpect(status().isForbidden());
+		mockMvc.perform(get("/actuator/metrics")
+						.header(HttpHeaders.AUTHORIZATION, bearer("alice", UserRoles.USER)))
+				.andExpect(status().isForbidden());
+		mockMvc.perform(get("/actuator/jfr")
+						.header(HttpHeaders.AUTHORIZATION, bearer("admin", UserRoles.USER, UserRoles.ADMIN)))
+				.andExpect(status().isOk());
+		mockMvc.perform(get("/actuator/health"))
+				.andExpect(status().isUnauthorized());
+	}
+
+	private String bearer(String username, String... roles) {
+		return "Bearer " + jwtUtil.generateAccessToken(username, Map.of(
+				JwtUtil.CLAIM_USER_ID, 1L,
+				JwtUtil.CLAIM_ROLES, List.of(roles),
+				JwtUtil.CLAIM_TOKEN_VERSION, 0));
+	}
+}
@@ -0,0 +1,151 @@
+package com.voice.news.app.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 高并发连接下的吞吐对比压测
+ *
+ * 以闭环方式模拟 concurrency 个并发连接：每个连接收到响应后立刻发出下一个请求，持续 duration 秒，
+ * 统计吞吐、错误数与延迟分位。HTTP 客户端全部异步发送，压测端自身不需要几千个线程。
+ *
+ * 对比平台线程与虚拟线程模式：分别以 spring.threads.virtual.enabled=false / true（Java 21+，
+ * 或 mvn -Pvirtual-threads spring-boot:run）启动服务，各跑一次，比较 target/loadtest-*.json。
+ * 目标接口应访问数据库或 Redis（默认的按来源查询首页读取 Redis feed），才能体现阻塞等待对线程池的占用。
+ *
+ * 运行：mvn test-compile 后执行
+ *   java -cp target/test-classes com.voice.news.app.loadtest.ConcurrencyLoadHarness \
+ *       [url] [concurrency=5000] [durationSeconds=60] [label=run]
+ * /api/news 需要登录，访问令牌通过环境变量 LOADTEST_TOKEN 传入（登录接口返回的 accessToken）。
+ * 5000 个并发连接需要压测机与服务端的文件句柄上限（ulimit -n）都高于该值。
+ */
+public class ConcurrencyLoadHarness {
+
+    private static final String DEFAULT_URL = "http://localhost:8083/api/news/by-source?source=xinhua&limit=20";
+
+    /**
+     * 延迟直方图按毫秒分桶，超过上限的计入最后一个桶
+     */
+    private static final int MAX_LATENCY_MS = 60_000;
+
+    private final HttpClient client;
+    private final ExecutorService callbacks;
+    private final HttpRequest request;
+    private final int concurrency;
+    private final long deadlineNanos;
+    private final AtomicLongArray histogram = new AtomicLongArray(MAX_LATENCY_MS + 1);
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final CountDownLatch finished;
+
+    private ConcurrencyLoadHarness(HttpClient client, ExecutorService callbacks, URI uri, String token,
+                                   int concurrency, long durationSeconds) {
+        this.client = client;
+        this.callbacks = callbacks;
+        HttpRequest.Builder builder = HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(30)).GET();
+        if (token != null && !token.isEmpty()) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        this.request = builder.build();
+        this.concurrency = concurrency;
+        this.deadlineNanos = System.nanoTime() + TimeUnit.SECONDS.toNanos(durationSeconds);
+        this.finished = new CountDownLatch(concurrency);
+    }
+
+    public static void main(String[] args) throws InterruptedException, IOException {
+        URI uri = URI.create(args.length > 0 ? args[0] : DEFAULT_URL);
+        int concurrency = args.length > 1 ? Integer.parseInt(args[1]) : 5000;
+        long durationSeconds = args.length > 2 ? Long.parseLong(args[2]) : 60;
+        String label = args.length > 3 ? args[3] : "run";
+
+        ExecutorService callbacks = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .executor(callbacks)
+                .build();
+        try {
+            ConcurrencyLoadHarness test = new ConcurrencyLoadHarness(client, callbacks, uri, System.getenv("LOADTEST_TOKEN"), concurrency, durationSeconds);
+            long start = System.nanoTime();
+            test.run();
+            double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+            test.report(uri, label, elapsedSeconds);
+        } finally {
+            callbacks.shutdownNow();
+        }
+    }
+
+    private void run() throws InterruptedException {
+        for (int i = 0; i < concurrency; i++) {
+            send();
+        }
+        finished.await();
+    }
+
+    private void send() {
+        if (System.nanoTime() >= deadlineNanos) {
+            finished.countDown();
+            return;
+        }
+        long sentAt = System.nanoTime();
+        // 回调切到线程池执行，请求同步失败时也不会在同一调用栈上无限递归
+        client.sendAsync(request, HttpResponse.BodyHandlers.discarding()).whenCompleteAsync((response, error) -> {
+            if (error != null || response.statusCode() >= 400) {
+                errors.increment();
+            } else {
+                long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - sentAt);
+                histogram.incrementAndGet((int) Math.min(millis, MAX_LATENCY_MS));
+                completed.increment();
+            }
+            send();
+        }, callbacks);
+    }
+
+    private void report(URI uri, String label, double elapsedSeconds) throws IOException {
+        long ok = completed.sum();
+        long failed = errors.sum();
+        double throughput = ok / elapsedSeconds;
+        long p50 = percentile(ok, 0.50);
+        long p99 = percentile(ok, 0.99);
+        long p999 = percentile(ok, 0.999);
+        System.out.printf("%s: %d connections, %.1f s, %d ok, %d errors, %.1f req/s, p50=%d ms, p99=%d ms, p99.9=%d ms%n",
+                label, concurrency, elapsedSeconds, ok, failed, throughput, p50, p99, p999);
+
+        String json = String.format(
+                "{\"label\":\"%s\",\"url\":\"%s\",\"concurrency\":%d,\"seconds\":%.1f,\"ok\":%d,\"errors\":%d,"
+                        + "\"throughput\":%.1f,\"p50Ms\":%d,\"p99Ms\":%d,\"p999Ms\":%d}%n",
+                label, uri, concurrency, elapsedSeconds, ok, failed, throughput, p50, p99, p999);
+        Path out = Paths.get("target", "loadtest-" + label + ".json");
+        Files.createDirectories(out.getParent());
+        Files.writeString(out, json, StandardCharsets.UTF_8);
+    }
+
+    private long percentile(long total, double quantile) {
+        if (total == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(total * quantile);
+        long seen = 0;
+        for (int ms = 0; ms <= MAX_LATENCY_MS; ms++) {
+            seen += histogram.get(ms);
+            if (seen >= rank) {
+                return ms;
+            }
+        }
+        return MAX_LATENCY_MS;
+    }
+}
@@ -0,0 +1,91 @@
+package com.voice.news.app.monitoring;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Recording;
+
+class JfrRecordingsTests {
+
+	@TempDir
+	Path dumpDir;
+
+	private JfrRecordings recordings() {
+		return new JfrRecordings(dumpDir.toString(), 10, 100, false, "default", 6, 250);
+	}
+
+	@AfterEach
+	void closeRecordings() {
+		// 只清理本测试开启的记录
+		for (Recording recording : FlightRecorder.getFlightRecorder().getRecordings()) {
+			if (recording.getName().startsWith("test-")) {
+				recording.close();
+			}
+		}
+	}
+
+	@Test
+	void rejectsNamesOutsideTheAllowedCharacters() {
+		for (String name : List.of("../../etc/cron.d/x", "a/b", "..", "", "name with space", "continuous")) {
+			assertThrows(InvalidEndpointRequestException.class,
+					() -> recordings().start(name, "default", null, null, null, null), name);
+		}
+	}
+
+	@Test
+	void appliesDefaultDurationAndCapsMaxSize() {
+		Recording defaults = recordings().start("test-defaults", "default", null, null, null, null);
+		assertEquals(Duration.ofMinutes(10), defaults.getDuration());
+		assertEquals(100L * 1024 * 1024, defaults.getMaxSize());
+
+		Recording capped = recordings().start("test-capped", "default", null, Duration.ofSeconds(30), null, 10_000L);
+		assertEquals(Duration.ofSeconds(30), capped.getDuration());
+		assertEquals(100L * 1024 * 1024, capped.getMaxSize());
+
+		Recording smaller = recordings().start("test-smaller", "default", null, null, null, 5L);
+		assertEquals(5L * 1024 * 1024, smaller.getMaxSize());
+	}
+
+	@Test
+	void dumpLeavesNoFileBehind() throws IOException {
+		Recording recording = recordings().start("test-dump", "default", 0L, null, null, null);
+		byte[] content;
+		try (InputStream in = recordings().openDump(recording.getId())) {
+			content = in.readAllBytes();
+		}
+		// .jfr 文件以 FLR\0 开头
+		assertArrayEquals(new byte[] {'F', 'L', 'R', 0}, Arrays.copyOf(content, 4));
+		try (Stream<Path> files = Files.list(dumpDir)) {
+			assertEquals(0, files.count());
+		}
+	}
+
+	@Test
+	void stopClosesTheRecordingWithoutWritingFiles() throws IOException {
+		Recording recording = recordings().start("test-stop", "default", null, null, null, null);
+		recordings().stop(recording.getId());
+		assertFalse(FlightRecorder.getFlightRecorder().getRecordings().stream()
+				.anyMatch(r -> r.getId() == recording.getId()));
+		try (Stream<Path> files = Files.list(dumpDir)) {
+			assertEquals(0, files.count());
+		}
+		assertThrows(InvalidEndpointRequestException.class, () -> recordings().openDump(recording.getId()));
+	}
+}
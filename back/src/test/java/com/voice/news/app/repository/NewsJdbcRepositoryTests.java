@@ -0,0 +1,127 @@
+package com.voice.news.app.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.voice.news.app.dto.IngestMode;
+import com.voice.news.app.entity.News;
+
+class NewsJdbcRepositoryTests {
+
+	private static final int ROUNDS = 20;
+
+	private DriverManagerDataSource dataSource;
+
+	private JdbcTemplate jdbcTemplate;
+
+	private NewsJdbcRepository repository;
+
+	private TransactionTemplate transactionTemplate;
+
+	private ExecutorService executor;
+
+	@BeforeEach
+	void setUp() {
+		dataSource = new DriverManagerDataSource(
+				"jdbc:h2:mem:news-jdbc-tests;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1", "sa", "");
+		new ResourceDatabasePopulator(new ClassPathResource("benchmark/news-schema-h2.sql")).execute(dataSource);
+		jdbcTemplate = new JdbcTemplate(dataSource);
+		repository = new NewsJdbcRepository(jdbcTemplate, new NamedParameterJdbcTemplate(jdbcTemplate));
+		transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+		executor = Executors.newFixedThreadPool(2);
+	}
+
+	@AfterEach
+	void tearDown() {
+		executor.shutdownNow();
+		jdbcTemplate.execute("DROP ALL OBJECTS");
+	}
+
+	@Test
+	void concurrentMergeOfTheSameUrlCreatesOnce() throws Exception {
+		for (int round = 0; round < ROUNDS; round++) {
+			String urlHash = String.format("%064d", round);
+			CyclicBarrier start = new CyclicBarrier(2);
+			List<Future<Boolean>> results = new ArrayList<>();
+			for (int writer = 0; writer < 2; writer++) {
+				results.add(executor.submit(() -> {
+					News news = news(urlHash);
+					start.await();
+					return ingest(news);
+				}));
+			}
+			int created = 0;
+			for (Future<Boolean> result : results) {
+				created += result.get() ? 1 : 0;
+			}
+			assertEquals(1, created, "round " + round);
+			assertEquals(1, jdbcTemplate.queryForObject(
+					"SELECT COUNT(*) FROM news WHERE url_hash = ?", Integer.class, urlHash));
+			assertEquals(2, jdbcTemplate.queryForObject(
+					"SELECT COUNT(*) FROM news_tag t JOIN news n ON n.id = t.news_id WHERE n.url_hash = ?",
+					Integer.class, urlHash));
+		}
+	}
+
+	@Test
+	void insertTagsIgnoresRowsThatAlreadyExist() {
+		News news = news(String.format("%064d", 1));
+		transactionTemplate.executeWithoutResult(status -> repository.upsertBatch(List.of(news), IngestMode.SKIP));
+		repository.insertTags(List.of(news));
+		repository.insertTags(List.of(news));
+		assertEquals(2, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM news_tag", Integer.class));
+	}
+
+	/**
+	 * 与 NewsServiceImpl 的批量导入相同：一个事务内 upsert 并写入标签，并发冲突时整批重试
+	 * @return 本次是否新插入
+	 */
+	private boolean ingest(News news) {
+		while (true) {
+			try {
+				return transactionTemplate.execute(status -> {
+					Set<String> existing = repository.upsertBatch(List.of(news), IngestMode.MERGE);
+					if (!existing.isEmpty()) {
+						repository.deleteTags(List.of(news.getId()));
+					}
+					repository.insertTags(List.of(news));
+					return existing.isEmpty();
+				});
+			} catch (ConcurrencyFailureException e) {
+				// 重试
+			}
+		}
+	}
+
+	private static News news(String urlHash) {
+		News news = new News();
+		news.setTitle("并发导入");
+		news.setTags("AI,科技");
+		news.setUrl("https://example.com/" + urlHash);
+		news.setUrlHash(urlHash);
+		news.setPublishedAt(LocalDateTime.of(2025, 1, 1, 8, 0));
+		news.setCreatedAt(LocalDateTime.of(2025, 1, 1, 8, 0));
+		news.setUpdatedAt(LocalDateTime.of(2025, 1, 1, 8, 0));
+		return news;
+	}
+}
@@ -0,0 +1,123 @@
+package com.voice.news.app.search;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import com.voice.news.app.config.RedisSubscriptions;
+
+import com.voice.news.app.dto.NewsSearchHit;
+import com.voice.news.app.entity.News;
+import com.voice.news.app.event.NewsChangedEvent;
+import com.voice.news.app.repository.NewsJdbcRepository;
+import com.voice.news.app.repository.NewsRepository;
+
+class NewsSearchIndexTests {
+
+	@TempDir
+	Path indexDir;
+
+	private NewsRepository newsRepository;
+
+	private NewsSearchIndex index;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		newsRepository = mock(NewsRepository.class);
+		index = open();
+		index.onNewsChanged(NewsChangedEvent.created(news(1L, "百度发布新一代大模型", "文心一言升级", "提升中文理解和生成能力，人工智能应用加速落地")));
+		index.onNewsChanged(NewsChangedEvent.created(news(2L, "智能手机出货量回升", "市场回暖", "多家厂商的智能终端销量增长")));
+		index.onNewsChanged(NewsChangedEvent.created(news(3L, "人工智能监管框架讨论", "多国讨论 AI 版权", "AI 生成音乐引发版权争议")));
+		index.refresh();
+	}
+
+	@AfterEach
+	void tearDown() throws Exception {
+		index.close();
+	}
+
+	@Test
+	void cjkPhraseMatchesOnlyWholeWord() {
+		List<NewsSearchHit> hits = index.search("人工智能", 0, 10);
+		assertEquals(2, hits.size());
+		// 标题命中权重更高
+		assertEquals(3L, hits.get(0).getId());
+		assertTrue(hits.get(1).getSnippet().contains("<em>"));
+	}
+
+	@Test
+	void deletedNewsIsNoLongerSearchable() throws Exception {
+		index.onNewsChanged(NewsChangedEvent.deleted(List.of(3L)));
+		index.refresh();
+		List<NewsSearchHit> hits = index.search("人工智能", 0, 10);
+		assertEquals(1, hits.size());
+		assertEquals(1L, hits.get(0).getId());
+	}
+
+	@Test
+	void catchUpIndexesChangedNewsAndPersistsTheMark() throws Exception {
+		LocalDateTime updatedAt = LocalDateTime.of(2025, 3, 1, 12, 0);
+		News changed = news(4L, "人工智能芯片量产", "国产芯片", "新一代芯片进入量产");
+		changed.setUpdatedAt(updatedAt);
+		when(newsRepository.findUpdatedAfter(any(), anyLong(), any(Pageable.class)))
+				.thenReturn(List.of(changed), List.of());
+		index.catchUp();
+		index.refresh();
+		assertEquals(3, index.search("人工智能", 0, 10).size());
+		assertEquals(updatedAt, index.getUpdatedAtMark());
+
+		// 重新打开后从提交数据恢复位置，下次追平从位置减去重叠窗口开始
+		index.close();
+		index = open();
+		assertEquals(updatedAt, index.getUpdatedAtMark());
+		when(newsRepository.findUpdatedAfter(eq(updatedAt.minusSeconds(300)), eq(0L), any(Pageable.class)))
+				.thenReturn(List.of());
+		index.catchUp();
+		assertEquals(updatedAt, index.getUpdatedAtMark());
+	}
+
+	@Test
+	void remoteChangeReloadsFromDatabaseAndDeletesMissing() throws Exception {
+		News updated = news(1L, "百度发布新一代大模型", "文心一言升级", "语音合成能力提升");
+		when(newsRepository.findAllById(Set.of(1L, 3L))).thenReturn(List.of(updated));
+		index.onMessage(new DefaultMessage(NewsSearchIndex.CHANGED_CHANNEL.getBytes(StandardCharsets.UTF_8),
+				"other-node:1,3".getBytes(StandardCharsets.UTF_8)), null);
+		index.refresh();
+		assertEquals(0, index.search("人工智能", 0, 10).size());
+		assertEquals(1L, index.search("语音合成", 0, 10).get(0).getId());
+	}
+
+	private NewsSearchIndex open() throws Exception {
+		return new NewsSearchIndex(newsRepository, mock(NewsJdbcRepository.class), mock(StringRedisTemplate.class),
+				mock(RedisSubscriptions.class), indexDir.toString(), 300);
+	}
+
+	private static News news(Long id, String title, String summary, String content) {
+		News news = new News();
+		news.setId(id);
+		news.setTitle(title);
+		news.setSummary(summary);
+		news.setContent(content);
+		news.setSource("test");
+		news.setPublishedAt(LocalDateTime.of(2025, 1, 1, 8, 0).plusHours(id));
+		return news;
+	}
+}
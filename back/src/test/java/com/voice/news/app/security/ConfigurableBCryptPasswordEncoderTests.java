@@ -0,0 +1,76 @@
+package com.voice.news.app.security;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import com.voice.news.app.model.User;
+import com.voice.news.app.repository.UserRepository;
+
+class ConfigurableBCryptPasswordEncoderTests {
+
+	@Test
+	void upgradesOnlyWhenCostDiffers() {
+		ConfigurableBCryptPasswordEncoder encoder = new ConfigurableBCryptPasswordEncoder(5);
+		assertFalse(encoder.upgradeEncoding(encoder.encode("secret")));
+		assertTrue(encoder.upgradeEncoding(new BCryptPasswordEncoder(4).encode("secret")));
+		assertTrue(encoder.upgradeEncoding(new BCryptPasswordEncoder(6).encode("secret")));
+		assertFalse(encoder.upgradeEncoding(null));
+		assertFalse(encoder.upgradeEncoding("plain-text"));
+	}
+
+	@Test
+	void loginRehashesStoredPasswordAtConfiguredCost() {
+		User user = user(new BCryptPasswordEncoder(4).encode("secret"));
+		UserRepository repository = mock(UserRepository.class);
+		when(repository.findByUsername("alice")).thenReturn(Optional.of(user));
+		CustomUserDetailsService userDetailsService = new CustomUserDetailsService(repository, new UserRoles(""));
+		ConfigurableBCryptPasswordEncoder encoder = new ConfigurableBCryptPasswordEncoder(5);
+
+		provider(userDetailsService, encoder).authenticate(new UsernamePasswordAuthenticationToken("alice", "secret"));
+
+		ArgumentCaptor<User> saved = ArgumentCaptor.forClass(User.class);
+		verify(repository).save(saved.capture());
+		assertTrue(saved.getValue().getPassword().startsWith("$2a$05$"));
+		assertTrue(encoder.matches("secret", saved.getValue().getPassword()));
+	}
+
+	@Test
+	void loginKeepsPasswordAtCurrentCost() {
+		ConfigurableBCryptPasswordEncoder encoder = new ConfigurableBCryptPasswordEncoder(5);
+		UserRepository repository = mock(UserRepository.class);
+		when(repository.findByUsername("alice")).thenReturn(Optional.of(user(encoder.encode("secret"))));
+
+		provider(new CustomUserDetailsService(repository, new UserRoles("")), encoder)
+				.authenticate(new UsernamePasswordAuthenticationToken("alice", "secret"));
+
+		verify(repository, never()).save(any());
+	}
+
+	private static DaoAuthenticationProvider provider(CustomUserDetailsService userDetailsService,
+			ConfigurableBCryptPasswordEncoder encoder) {
+		DaoAuthenticationProvider provider = new DaoAuthenticationProvider(userDetailsService);
+		provider.setPasswordEncoder(encoder);
+		provider.setUserDetailsPasswordService(userDetailsService);
+		return provider;
+	}
+
+	private static User user(String passwordHash) {
+		User user = new User();
+		user.setUsername("alice");
+		user.setPassword(passwordHash);
+		return user;
+	}
+}
@@ -0,0 +1,145 @@
+package com.voice.news.app.security;
+
+import java.io.IOException;
+import java.security.Key;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+
+import com.voice.news.app.config.RedisSubscriptions;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jws;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+
+/**
+ * JWT 签发、解析与认证过滤器吞吐对比
+ *
+ * legacy* 复现改造前的写法：每次调用新建 JwtParser、逐请求验签，并通过 UserDetailsService 构造主体
+ * （这里用内存实现，不含真实的数据库往返，结果是旧路径的上限）。
+ *
+ * 运行：mvn test-compile 后执行
+ *   java -cp target/test-classes:target/classes:$(mvn -q dependency:build-classpath -Dmdep.outputFile=/dev/stdout) \
+ *       com.voice.news.app.security.JwtAuthenticationFilterBenchmark
+ * 结果同时写入 target/jmh-jwt.json。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class JwtAuthenticationFilterBenchmark {
+
+    private static final String SECRET = "benchmark-secret-0123456789abcdef0123456789abcdef0123456789abcdef0123456789ab";
+
+    private Key key;
+    private JwtUtil jwtUtil;
+    private String token;
+    private JwtAuthenticationFilter filter;
+    private UserDetailsService userDetailsService;
+    private final FilterChain chain = (req, res) -> {};
+
+    @Setup
+    public void setUp() {
+        JwtProperties properties = new JwtProperties();
+        properties.setSecret(SECRET);
+        properties.setIssuer("benchmark");
+        properties.setAccessTokenExpireSeconds(3600);
+        properties.setUserStateCacheEnabled(false);
+        key = Keys.hmacShaKeyFor(SECRET.getBytes());
+        jwtUtil = new JwtUtil(properties);
+        token = jwtUtil.generateAccessToken("alice", Map.of(
+                JwtUtil.CLAIM_USER_ID, 1L,
+                JwtUtil.CLAIM_ROLES, List.of("USER"),
+                JwtUtil.CLAIM_TOKEN_VERSION, 0));
+        UserDetails user = User.withUsername("alice").password("{noop}secret").authorities(List.of()).build();
+        userDetailsService = username -> user;
+        filter = new JwtAuthenticationFilter(jwtUtil, userDetailsService, properties, new UserStateCache(null, properties),
+                new AccessTokenDenylist(null, Mockito.mock(RedisSubscriptions.class)));
+    }
+
+    @Benchmark
+    public String generateAccessToken() {
+        return jwtUtil.generateAccessToken("alice", Map.of(
+                JwtUtil.CLAIM_USER_ID, 1L,
+                JwtUtil.CLAIM_ROLES, List.of("USER"),
+                JwtUtil.CLAIM_TOKEN_VERSION, 0));
+    }
+
+    @Benchmark
+    public Jws<Claims> legacyParse() {
+        return Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token);
+    }
+
+    @Benchmark
+    public Jws<Claims> sharedParser() {
+        return jwtUtil.parseToken(token);
+    }
+
+    @Benchmark
+    public Jws<Claims> verifiedTokenCache() {
+        return jwtUtil.parseAccessToken(token);
+    }
+
+    @Benchmark
+    public Object legacyFilter() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(HttpHeaders.AUTHORIZATION, "Bearer " + token);
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        Jws<Claims> claims = Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(header.substring(7));
+        UserDetails userDetails = userDetailsService.loadUserByUsername(claims.getBody().getSubject());
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities()));
+        Object principal = SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        SecurityContextHolder.clearContext();
+        return principal;
+    }
+
+    @Benchmark
+    public Object currentFilter() throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(HttpHeaders.AUTHORIZATION, "Bearer " + token);
+        filter.doFilterInternal(request, new MockHttpServletResponse(), chain);
+        Object principal = SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        SecurityContextHolder.clearContext();
+        return principal;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JwtAuthenticationFilterBenchmark.class.getSimpleName())
+                .resultFormat(ResultFormatType.JSON)
+                .result("target/jmh-jwt.json")
+                .build()).run();
+    }
+}
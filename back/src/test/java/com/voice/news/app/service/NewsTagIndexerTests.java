@@ -0,0 +1,22 @@
+package com.voice.news.app.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class NewsTagIndexerTests {
+
+	@Test
+	void removesDuplicatesIgnoringCaseAndKeepsFirstSpelling() {
+		assertEquals(List.of("AI", "科技"), List.copyOf(NewsTagIndexer.parseTags("AI, ai ,科技，Ai")));
+	}
+
+	@Test
+	void splitsOnBothCommasAndTruncatesLongTags() {
+		String longTag = "x".repeat(60);
+		assertEquals(List.of("财经", "股市", "x".repeat(50)),
+				List.copyOf(NewsTagIndexer.parseTags(" 财经，股市,," + longTag + "," + longTag.toUpperCase())));
+	}
+}
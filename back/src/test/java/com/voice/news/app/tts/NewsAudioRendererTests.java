@@ -0,0 +1,147 @@
+package com.voice.news.app.tts;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.voice.news.app.entity.News;
+import com.voice.news.app.exception.ErrorCode;
+import com.voice.news.app.exception.ServiceException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class NewsAudioRendererTests {
+
+	@TempDir
+	Path cacheDir;
+
+	private CountingEngine engine;
+	private AudioCache cache;
+	private NewsAudioRenderer renderer;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		engine = new CountingEngine();
+		cache = new AudioCache(new SimpleMeterRegistry(), cacheDir.toString(), 1);
+		renderer = new NewsAudioRenderer(List.of(engine), cache, new SimpleMeterRegistry(), StubTtsEngine.NAME);
+	}
+
+	@Test
+	void synthesizesOncePerText() throws Exception {
+		News news = news(1L, "央行宣布降准", "释放长期资金约一万亿元");
+		RenderedAudio first = renderer.render(news, null, "wav");
+		RenderedAudio second = renderer.render(news, null, "wav");
+
+		assertEquals(1, engine.calls.get());
+		assertEquals(first.getFile(), second.getFile());
+		assertEquals(first.getKey(), renderer.key(news, null, "wav"));
+		byte[] audio = Files.readAllBytes(first.getFile());
+		assertEquals("RIFF", new String(audio, 0, 4));
+
+		// 文本变化后换用新键重新合成
+		news.setSummary("释放长期资金约五千亿元");
+		RenderedAudio updated = renderer.render(news, null, "wav");
+		assertEquals(2, engine.calls.get());
+		assertNotEquals(first.getKey(), updated.getKey());
+	}
+
+	@Test
+	void stubEngineIsDeterministic(@TempDir Path otherDir) throws Exception {
+		News news = news(2L, "新能源汽车销量增长", "上半年同比增长三成");
+		NewsAudioRenderer other = new NewsAudioRenderer(List.of(new StubTtsEngine()),
+				new AudioCache(new SimpleMeterRegistry(), otherDir.toString(), 1), new SimpleMeterRegistry(), StubTtsEngine.NAME);
+		assertArrayEquals(Files.readAllBytes(renderer.render(news, "zh-CN-male", "wav").getFile()),
+				Files.readAllBytes(other.render(news, "zh-CN-male", "wav").getFile()));
+	}
+
+	@Test
+	void evictsLeastRecentlyUsedBeyondLimit() throws Exception {
+		// 每篇约 0.4MB，上限 1MB 最多保留两篇
+		String body = "记者近日从有关部门获悉相关政策将加快落实。".repeat(6);
+		RenderedAudio a = served(news(1L, "甲", body));
+		RenderedAudio b = served(news(2L, "乙", body));
+		served(news(1L, "甲", body));
+		RenderedAudio c = served(news(3L, "丙", body));
+
+		assertTrue(Files.exists(a.getFile()));
+		assertFalse(Files.exists(b.getFile()));
+		assertTrue(Files.exists(c.getFile()));
+		assertTrue(cache.getTotalBytes() <= 1024 * 1024);
+	}
+
+	@Test
+	void keepsFilesBeingServedUntilReleased() throws Exception {
+		String body = "记者近日从有关部门获悉相关政策将加快落实。".repeat(6);
+		RenderedAudio a = renderer.render(news(1L, "甲", body), null, "wav");
+		RenderedAudio b = served(news(2L, "乙", body));
+		served(news(3L, "丙", body));
+
+		// a 最久未使用但仍在发送，淘汰跳过它，改为淘汰 b
+		assertTrue(Files.exists(a.getFile()));
+		assertFalse(Files.exists(b.getFile()));
+		assertTrue(cache.getTotalBytes() <= 1024 * 1024);
+
+		// 释放后 a 恢复为普通条目，下一次淘汰即被删除
+		renderer.release(a);
+		served(news(4L, "丁", body));
+		assertFalse(Files.exists(a.getFile()));
+		assertTrue(cache.getTotalBytes() <= 1024 * 1024);
+	}
+
+	@Test
+	void rejectsNewsWithoutTextBeforeComputingKey() {
+		News empty = news(5L, " ", "<p></p>");
+		ServiceException e = assertThrows(ServiceException.class, () -> renderer.key(empty, null, "wav"));
+		assertEquals(ErrorCode.BUSINESS_ERROR.code, e.getCode());
+	}
+
+	@Test
+	void segmentsSplitAtSentenceEndings() {
+		String text = "第一句。第二句比较长一些！第三句？";
+		assertEquals(List.of("第一句。", "第二句比较长一些！", "第三句？"), NewsAudioRenderer.segments(text, 10));
+		assertEquals(List.of(text), NewsAudioRenderer.segments(text, 50));
+		assertTrue(NewsAudioRenderer.segments(text, 4).stream().allMatch(segment -> segment.length() <= 4));
+	}
+
+	/**
+	 * 模拟一次完整的请求：取得音频后立即释放占用
+	 */
+	private RenderedAudio served(News news) {
+		RenderedAudio audio = renderer.render(news, null, "wav");
+		renderer.release(audio);
+		return audio;
+	}
+
+	private static News news(Long id, String title, String summary) {
+		News news = new News();
+		news.setId(id);
+		news.setTitle(title);
+		news.setSummary(summary);
+		return news;
+	}
+
+	private static class CountingEngine extends StubTtsEngine {
+
+		final AtomicInteger calls = new AtomicInteger();
+
+		@Override
+		public void synthesize(List<String> segments, String voice, AudioFormat format, OutputStream out) throws IOException {
+			calls.incrementAndGet();
+			super.synthesize(segments, voice, format, out);
+		}
+	}
+}
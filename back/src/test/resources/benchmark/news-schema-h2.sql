@@ -0,0 +1,26 @@
+-- 基准测试用的 news / news_tag 表（H2 MySQL 模式），索引与 db/init.sql 保持一致
+CREATE TABLE news (
+  id BIGINT AUTO_INCREMENT PRIMARY KEY,
+  title VARCHAR(500) NOT NULL,
+  summary TEXT,
+  content LONGTEXT,
+  tags VARCHAR(200),
+  source VARCHAR(200),
+  url VARCHAR(500),
+  url_hash CHAR(64),
+  published_at DATETIME,
+  created_at DATETIME NOT NULL,
+  updated_at DATETIME(3)
+);
+CREATE UNIQUE INDEX uk_url_hash ON news (url_hash);
+CREATE INDEX idx_published_at_id ON news (published_at DESC, id DESC);
+CREATE INDEX idx_source_published_at_id ON news (source, published_at DESC, id DESC);
+
+CREATE TABLE news_tag (
+  id BIGINT AUTO_INCREMENT PRIMARY KEY,
+  news_id BIGINT NOT NULL,
+  tag VARCHAR(50) NOT NULL,
+  published_at DATETIME
+);
+CREATE UNIQUE INDEX uk_news_tag ON news_tag (news_id, tag);
+CREATE INDEX idx_tag_published_at ON news_tag (tag, published_at DESC, news_id DESC);